@@ -150,10 +150,7 @@ public class Main {
         JoinRoomRequest joinRequest = new JoinRoomRequest.Builder(roomId)
             .setDisplay("JavaSDKUser")
             .build();
-        videoRoomHandle.join(joinRequest).get(); // join() is async, the onJoined event will fire
-
-        // Give Janus time to process and send the 'joined' event
-        Thread.sleep(1000);
+        videoRoomHandle.join(joinRequest).get(); // completes with the 'joined' event, which also fires onJoined
 
         // 5. List participants (should include us)
         System.out.println("Listing participants in room " + roomId + "...");
@@ -26,6 +26,13 @@ import io.github.kinsleykajiva.janus.admin.messages.StartText2Pcap;
 import io.github.kinsleykajiva.janus.admin.messages.StopPcap;
 import io.github.kinsleykajiva.janus.admin.messages.StopText2Pcap;
 import io.github.kinsleykajiva.janus.admin.messages.TestStun;
+import io.github.kinsleykajiva.janus.client.transport.HttpLongPollTransport;
+import io.github.kinsleykajiva.janus.client.transport.JanusTransport;
+import io.github.kinsleykajiva.janus.client.transport.JanusTransportListener;
+import io.github.kinsleykajiva.janus.client.transport.JanusTransports;
+import io.github.kinsleykajiva.janus.client.transport.WebSocketTransport;
+import io.github.kinsleykajiva.janus.utils.HashedTimingWheel;
+import io.github.kinsleykajiva.janus.utils.JanusEnvelope;
 import io.github.kinsleykajiva.janus.utils.JanusException;
 import io.github.kinsleykajiva.janus.utils.TransactionManager;
 import org.json.JSONException;
@@ -34,29 +41,32 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.http.HttpClient;
-import java.net.http.WebSocket;
 import java.util.concurrent.*;
 
 import static io.github.kinsleykajiva.janus.utils.JanusUtils.convertToServerInfo;
 
-public class JanusAdminClient implements WebSocket.Listener {
+public class JanusAdminClient implements JanusTransportListener {
     private static final Logger logger = LoggerFactory.getLogger(JanusAdminClient.class);
     private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 10_000; // 10 seconds
 
     private final JanusAdminConfiguration config;
     private final HttpClient httpClient;
-    private WebSocket webSocket;
+    private final JanusTransport transport;
     private final ExecutorService executor;
     private final TransactionManager transactionManager;
-    private final StringBuilder messageBuffer = new StringBuilder();
+    private final HashedTimingWheel timer;
     private final JanusAdminMonitor adminMonitor;
 
     public JanusAdminClient(JanusAdminConfiguration config) {
         this.config = config;
-        this.transactionManager = new TransactionManager();
+        this.timer = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 512);
+        this.transactionManager = new TransactionManager(timer, TransactionManager.DEFAULT_TIMEOUT_MS,
+                TransactionManager.DEFAULT_MAX_IN_FLIGHT);
         this.executor = Executors.newVirtualThreadPerTaskExecutor();
         this.httpClient = HttpClient.newBuilder().executor(this.executor).build();
         this.adminMonitor = new JanusAdminMonitor();
+        this.transport = JanusTransports.create(config.uri(), WebSocketTransport.ADMIN_PROTOCOL, this.httpClient,
+                config.codec(), HttpLongPollTransport.DEFAULT_MAX_EVENTS);
 
         try {
             logger.info("Starting admin connection attempt...");
@@ -72,12 +82,7 @@ public class JanusAdminClient implements WebSocket.Listener {
 
     public CompletableFuture<Void> connect() {
         logger.info("Connecting to Janus Admin Gateway at {}", config.uri());
-        CompletableFuture<Void> connectionFuture = httpClient.newWebSocketBuilder()
-                .subprotocols("janus-admin-protocol")
-                .buildAsync(config.uri(), this)
-                .thenAccept(ws -> this.webSocket = ws);
-
-        return connectionFuture.orTimeout(DEFAULT_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+        return transport.connect(this).orTimeout(DEFAULT_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
                 .exceptionally(throwable -> {
                     logger.error("Failed to connect to Janus Admin Gateway at {}: {}", config.uri(), throwable.getMessage(), throwable);
                     throw new JanusException("Admin connection failed", throwable);
@@ -85,14 +90,15 @@ public class JanusAdminClient implements WebSocket.Listener {
     }
 
     public void disconnect() {
-        if (webSocket != null && !webSocket.isOutputClosed()) {
+        if (transport.isConnected()) {
             try {
-                webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "Client requested disconnect").get(5, TimeUnit.SECONDS);
+                transport.close().get(5, TimeUnit.SECONDS);
                 logger.info("Disconnected from Janus Admin Gateway at {}", config.uri());
             } catch (Exception e) {
-                logger.warn("Error during graceful WebSocket disconnect: {}", e.getMessage());
+                logger.warn("Error during graceful disconnect: {}", e.getMessage());
             }
         }
+        timer.close();
         executor.shutdown();
         try {
             if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -105,31 +111,21 @@ public class JanusAdminClient implements WebSocket.Listener {
     }
 
     @Override
-    public void onOpen(WebSocket webSocket) {
-        logger.info("Successfully connected to Janus Admin Gateway at {}", config.uri());
-        webSocket.request(1);
-    }
-
-    @Override
-    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
-        messageBuffer.append(data);
-        if (last) {
-            String completeMessage = messageBuffer.toString();
-            executor.submit(() -> processMessage(completeMessage));
-            messageBuffer.setLength(0);
-        }
-        webSocket.request(1);
-        return CompletableFuture.completedFuture(null);
+    public CompletionStage<?> onMessage(CharSequence message) {
+        return CompletableFuture.runAsync(() -> processMessage(message), executor);
     }
 
-    private void processMessage(String message) {
+    private void processMessage(CharSequence message) {
         try {
-            JSONObject json = new JSONObject(message);
-            String transactionId = json.optString("transaction", null);
-            if (transactionId != null && !transactionId.isEmpty()) {
-                transactionManager.completeTransaction(transactionId, json);
+            JanusEnvelope envelope = JanusEnvelope.scan(message, config.codec());
+            if (envelope == null) {
+                logger.warn("Received empty or invalid JSON message, skipping.");
+                return;
+            }
+            if (envelope.hasTransaction()) {
+                transactionManager.completeTransaction(envelope);
             } else {
-                adminMonitor.dispatchEvent(json);
+                adminMonitor.dispatchEvent(envelope.json());
             }
         } catch (JSONException e) {
             logger.error("Error parsing JSON message: {}", e.getMessage(), e);
@@ -139,27 +135,25 @@ public class JanusAdminClient implements WebSocket.Listener {
     }
 
     @Override
-    public void onError(WebSocket webSocket, Throwable error) {
-        logger.error("WebSocket error at {}: {}", config.uri(), error.getMessage(), error);
+    public void onError(Throwable error) {
+        logger.error("Transport error at {}: {}", config.uri(), error.getMessage(), error);
     }
 
     @Override
-    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
-        logger.warn("WebSocket closed for {}: {} - {}", config.uri(), statusCode, reason);
-        return CompletableFuture.completedFuture(null);
+    public void onClose(int statusCode, String reason) {
+        logger.warn("Connection closed for {}: {} - {}", config.uri(), statusCode, reason);
     }
 
-    public void sendMessage(JSONObject message) {
-        if (webSocket == null || webSocket.isOutputClosed()) {
-            logger.error("Cannot send message: WebSocket is not connected to {}", config.uri());
-            throw new IllegalStateException("WebSocket is not connected.");
+    public CompletableFuture<Void> sendMessage(JSONObject message) {
+        if (!transport.isConnected()) {
+            logger.error("Cannot send message: not connected to {}", config.uri());
+            throw new IllegalStateException("Transport is not connected.");
         }
         if (!message.has("admin_secret")) {
             message.put("admin_secret", config.adminSecret());
         }
-        String msgStr = message.toString();
-        logger.debug("Sending admin message: {}", msgStr);
-        webSocket.sendText(msgStr, true);
+        logger.debug("Sending admin message: {}", message);
+        return transport.send(message);
     }
 
     public TransactionManager getTransactionManager() {
@@ -1,11 +1,26 @@
 package io.github.kinsleykajiva.janus.admin;
 
+import io.github.kinsleykajiva.janus.utils.JanusCodec;
+
 import java.net.URI;
 
 /**
  * Configuration for the Janus Admin API client.
  *
- * @param uri          The URI of the Janus Admin WebSocket endpoint.
+ * @param uri          The URI of the Janus Admin endpoint: a WebSocket ({@code ws://host:7188/admin}) or REST
+ *                     ({@code http://host:7088/admin}) URI.
  * @param adminSecret  The secret required to authenticate with the Admin API.
+ * @param codec        The codec used to serialize requests and parse responses.
  */
-public record JanusAdminConfiguration(URI uri, String adminSecret) {}
+public record JanusAdminConfiguration(URI uri, String adminSecret, JanusCodec codec) {
+
+    /**
+     * Creates a configuration that uses the default {@link JanusCodec}.
+     *
+     * @param uri         The URI of the Janus Admin WebSocket endpoint.
+     * @param adminSecret The secret required to authenticate with the Admin API.
+     */
+    public JanusAdminConfiguration(URI uri, String adminSecret) {
+        this(uri, adminSecret, JanusCodec.defaultCodec());
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.kinsleykajiva.janus.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispatches inbound work onto lightweight serial lanes keyed by session id.
+ * <p>
+ * Work for the same key always runs in submission order and never concurrently, while different keys are
+ * drained in parallel on the shared executor. A lane only occupies an executor task while it has work queued,
+ * and drains a bounded batch per task so one busy session cannot starve the others.
+ */
+final class InboundDispatcher {
+	private static final Logger logger    = LoggerFactory.getLogger(InboundDispatcher.class);
+	private static final int DRAIN_BATCH  = 64;
+	private final Map<Long, Lane> lanes   = new ConcurrentHashMap<>();
+	private final Executor executor;
+
+	InboundDispatcher(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Queues a task on the lane for the given key.
+	 *
+	 * @param key  The lane key, usually the Janus session id.
+	 * @param task The work to run after everything previously queued for the same key.
+	 */
+	void dispatch(long key, Runnable task) {
+		lanes.computeIfAbsent(key, k -> new Lane()).offer(task);
+	}
+
+	/**
+	 * Forgets the lane for a key. Work already queued on it still runs.
+	 */
+	void removeLane(long key) {
+		lanes.remove(key);
+	}
+
+	private final class Lane implements Runnable {
+		private final Queue<Runnable> tasks     = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean scheduled   = new AtomicBoolean(false);
+
+		void offer(Runnable task) {
+			tasks.offer(task);
+			if (scheduled.compareAndSet(false, true)) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < DRAIN_BATCH; i++) {
+				Runnable task = tasks.poll();
+				if (task == null) {
+					break;
+				}
+				try {
+					task.run();
+				} catch (Exception e) {
+					logger.error("Unexpected error dispatching inbound message: {}", e.getMessage(), e);
+				}
+			}
+			scheduled.set(false);
+			// Re-arm if work is left over or arrived after the last poll.
+			if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+				executor.execute(this);
+			}
+		}
+	}
+}
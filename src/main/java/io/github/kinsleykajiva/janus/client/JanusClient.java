@@ -1,58 +1,65 @@
 package io.github.kinsleykajiva.janus.client;
 
+import io.github.kinsleykajiva.janus.client.event.EventPublisher;
+import io.github.kinsleykajiva.janus.client.handle.PluginQuery;
+import io.github.kinsleykajiva.janus.client.handle.impl.VideoRoomHandle;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.JoinAndConfigureRequest;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.JoinRoomRequest;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.VideoRoomJoin;
+import io.github.kinsleykajiva.janus.utils.HashedTimingWheel;
 import io.github.kinsleykajiva.janus.utils.JanusException;
 import io.github.kinsleykajiva.janus.utils.JanusUtils;
 import io.github.kinsleykajiva.janus.utils.ServerInfo;
+import io.github.kinsleykajiva.janus.utils.SingleFlight;
 import io.github.kinsleykajiva.janus.utils.TransactionManager;
-import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.http.HttpClient;
-import java.net.http.WebSocket;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
 
-public class JanusClient implements WebSocket.Listener {
+/**
+ * A client for the Janus Gateway API.
+ * <p>
+ * By default the client uses a single connection. With {@link JanusConfiguration.Builder#setConnectionCount(int)}
+ * it opens several connections to the same gateway and spreads new sessions across them; each session then lives
+ * on its connection for its whole lifetime, with keep-alives, transactions and inbound dispatch handled per
+ * connection.
+ * <p>
+ * {@link #connectAsync(JanusConfiguration)} starts a client without blocking the caller, so many clients (e.g. one
+ * per gateway) can start concurrently.
+ */
+public class JanusClient {
 	private static final Logger logger                           = LoggerFactory.getLogger(JanusClient.class);
 	private static final long DEFAULT_CONNECTION_TIMEOUT_MS      = 10_000;                                                                  // 10 seconds
 	private static final long SERVER_INFO_TIMEOUT_MS             = 20_000;                                                                  // 20 seconds for server info
-	private static final long KEEP_ALIVE_INTERVAL_SECONDS        = 45;                                                                      // 45 seconds for keep-alive
-	private final Map<Long , JanusSession> sessions              = new ConcurrentHashMap<>();
-	private final Map<Long , ScheduledFuture<?>> keepAliveTasks  = new ConcurrentHashMap<>();
-	private final StringBuilder messageBuffer                    = new StringBuilder();
+	private static final long TIMER_TICK_MS                      = 100;
+	private static final int TIMER_WHEEL_SIZE                    = 512;                                                                     // ~51s per revolution, covers the keep-alive interval
 	private final JanusConfiguration config;
 	private final HttpClient httpClient;
-	private WebSocket webSocket;
+	private final List<JanusConnection> connections;
 	private final ExecutorService executor;
+	private volatile ServerInfo serverInfo;
 	
-	private final ScheduledExecutorService keepAliveScheduler;
-	
-	private final TransactionManager transactionManager;
+	private final HashedTimingWheel timer;
+	private final SingleFlight<PluginQuery, JSONObject> pluginQueries;
+	private final EventPublisher events = new EventPublisher();
 	
 	
+	/**
+	 * Creates a client and blocks until it is connected and has retrieved the server info. Failures are logged and
+	 * leave the client disconnected; use {@link #connectAsync(JanusConfiguration)} to observe them instead.
+	 */
 	public JanusClient(JanusConfiguration config) {
-		this.config             = config;
-		this.transactionManager = new TransactionManager();
-		this.executor           = Executors.newVirtualThreadPerTaskExecutor();
-		this.httpClient         = HttpClient.newBuilder().executor(this.executor).build();
-		this.keepAliveScheduler = Executors.newScheduledThreadPool(1);
-		
+		this(config, Executors.newVirtualThreadPerTaskExecutor());
 		try {
 			logger.info("Starting connection attempt...");
-			connect().get();
-			logger.info("Connection established, retrieving server info...");
-			ServerInfo serverInfo = getServerInfo().get();
-			if (config.isLogEnabled()) {
-				logger.info("Server Info:\n Janus={}, \nVersion={}, \nPlugins={}",
-						serverInfo.janus(),
-						serverInfo.versionString(),
-						serverInfo.plugins().keySet());
-			}
-			
+			start().get();
 		} catch (InterruptedException e) {
 			logger.info("Program interrupted, shutting down.");
 			Thread.currentThread().interrupt(); // Restore interrupted status
@@ -61,179 +68,182 @@ public class JanusClient implements WebSocket.Listener {
 		}
 	}
 	
+	private JanusClient(JanusConfiguration config, ExecutorService executor) {
+		this.config             = config;
+		this.executor           = executor;
+		this.httpClient         = HttpClient.newBuilder().executor(this.executor).build();
+		this.timer              = new HashedTimingWheel(TIMER_TICK_MS, TimeUnit.MILLISECONDS, TIMER_WHEEL_SIZE);
+		this.pluginQueries      = new SingleFlight<>(config.getQueryCacheTtlMs(), TimeUnit.MILLISECONDS);
+		List<JanusConnection> shards = new ArrayList<>(config.getConnectionCount());
+		for (int i = 0; i < config.getConnectionCount(); i++) {
+			shards.add(new JanusConnection(i, this, config, httpClient, executor, timer));
+		}
+		this.connections = Collections.unmodifiableList(shards);
+	}
+	
+	/**
+	 * Creates and starts a client without blocking.
+	 * <p>
+	 * The server info is requested as soon as the first connection is open, while the remaining connections are
+	 * still being established, and is cached on the client (see {@link #getCachedServerInfo()}).
+	 *
+	 * @param config The client configuration.
+	 * @return A future that completes with the connected client, or fails (after releasing the client's resources)
+	 *         if a connection cannot be opened or the server info cannot be retrieved.
+	 */
+	public static CompletableFuture<JanusClient> connectAsync(JanusConfiguration config) {
+		JanusClient client = new JanusClient(config, Executors.newVirtualThreadPerTaskExecutor());
+		return client.start().handle((serverInfo, throwable) -> {
+			if (throwable != null) {
+				// disconnect() waits for the executor, so it must not run on one of its threads
+				Thread.startVirtualThread(client::disconnect);
+				throw throwable instanceof CompletionException completion ? completion : new CompletionException(throwable);
+			}
+			return client;
+		});
+	}
+	
+	/**
+	 * Opens every connection and retrieves the server info over the first one as soon as it is open.
+	 */
+	private CompletableFuture<ServerInfo> start() {
+		CompletableFuture<ServerInfo> info = connections.getFirst().connect()
+				                                     .orTimeout(DEFAULT_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+				                                     .thenCompose(ignored -> getServerInfo());
+		CompletableFuture<?>[] others = connections.stream().skip(1).map(JanusConnection::connect).toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(others).orTimeout(DEFAULT_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+				       .thenCombine(info, (ignored, serverInfo) -> {
+					       if (config.isLogEnabled()) {
+						       logger.info("Server Info:\n Janus={}, \nVersion={}, \nPlugins={}",
+								       serverInfo.janus(),
+								       serverInfo.versionString(),
+								       serverInfo.plugins().keySet());
+					       }
+					       return serverInfo;
+				       });
+	}
+	
+	/**
+	 * Opens every connection.
+	 *
+	 * @return A future that completes once all connections are open.
+	 */
 	public CompletableFuture<Void> connect() {
-		logger.info("Connecting to Janus Gateway at {}", config.getUri());
-		CompletableFuture<Void> connectionFuture = httpClient.newWebSocketBuilder()
-				                                           .subprotocols("janus-protocol")
-				                                           .buildAsync(config.getUri(), this)
-				                                           .thenAccept(ws -> this.webSocket = ws);
-		
-		return connectionFuture.orTimeout(DEFAULT_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+		logger.info("Connecting to Janus Gateway at {} with {} connection(s)", config.getUri(), connections.size());
+		CompletableFuture<?>[] opened = connections.stream().map(JanusConnection::connect).toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(opened).orTimeout(DEFAULT_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
 				       .exceptionally(throwable -> {
 					       logger.error("Failed to connect to Janus Gateway at {}: {}", config.getUri(), throwable.getMessage(), throwable);
 					       throw new JanusException("Connection failed", throwable);
 				       });
 	}
 	
-	private void scheduleKeepAlive(long sessionId) {
-		ScheduledFuture<?> keepAliveTask = keepAliveScheduler.scheduleAtFixedRate(() -> {
-			try {
-				JSONObject keepAlive = new JSONObject();
-				keepAlive.put("janus", "keepalive");
-				keepAlive.put("session_id", sessionId);
-				keepAlive.put("transaction", transactionManager.createTransaction());
-				sendMessage(keepAlive);
-				if (config.isLogEnabled()) {
-					logger.info("Sent keep-alive for session {}", sessionId);
-				}
-			} catch (Exception e) {
-				logger.error("Failed to send keep-alive for session {}: {}", sessionId, e.getMessage(), e);
-			}
-		}, KEEP_ALIVE_INTERVAL_SECONDS, KEEP_ALIVE_INTERVAL_SECONDS, TimeUnit.SECONDS);
-		keepAliveTasks.put(sessionId, keepAliveTask);
-		logger.debug("Scheduled keep-alive task for session {}", sessionId);
-	}
-	
 	public void disconnect() {
-		// 1. Stop keep-alive tasks and shut down the scheduler
-		logger.info("Shutting down keep-alive scheduler...");
-		keepAliveTasks.values().forEach(task -> task.cancel(false));
-		keepAliveTasks.clear();
-		keepAliveScheduler.shutdown();
+		// 1. Stop keep-alives, close every connection and stop the timer
+		logger.info("Shutting down keep-alive timer...");
+		connections.forEach(connection -> connection.close(5, TimeUnit.SECONDS));
+		timer.close();
+		events.close();
 		
-		// 2. Close WebSocket connection
-		if (webSocket != null && !webSocket.isOutputClosed()) {
-			try {
-				webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "Client requested disconnect").get(5, TimeUnit.SECONDS);
-				logger.info("Disconnected from Janus Gateway at {}", config.getUri());
-			} catch (Exception e) {
-				logger.warn("Error during graceful WebSocket disconnect: {}", e.getMessage());
-			}
-		}
 		if (config.isLogEnabled()) {
-			// 3. Shut down the main executor
+			// 2. Shut down the main executor
 			logger.info("Shutting down main executor...");
 		}
 		executor.shutdown();
 		
-		// 4. Await termination of both schedulers
+		// 3. Await termination of the executor
 		try {
 			if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
 				executor.shutdownNow();
 			}
-			if (!keepAliveScheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-				keepAliveScheduler.shutdownNow();
-			}
 		} catch (InterruptedException e) {
 			executor.shutdownNow();
-			keepAliveScheduler.shutdownNow();
 			Thread.currentThread().interrupt();
 		}
 	}
 	
-	@Override
-	public void onOpen(WebSocket webSocket) {
-		logger.info("Successfully connected to Janus Gateway at {}", config.getUri());
-		webSocket.request(1);
-	}
-	
-	@Override
-	public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
-		if (config.isLogEnabled()) {
-			logger.info("Received WebSocket message fragment: length={}, last={}", data.length(), last);
-		}
-		messageBuffer.append(data);
-		
-		if (last) {
-			String completeMessage = messageBuffer.toString();
-			if (config.isLogEnabled()) {
-				logger.debug("Message From Janus: {}", completeMessage);
+	/**
+	 * Creates a session on the least loaded connection.
+	 * <p>
+	 * Janus only assigns the session id in its reply, and delivers the session's events on the connection that
+	 * created it, so the connection is chosen up front and the session stays there.
+	 *
+	 * @return A future that completes with the new session.
+	 */
+	public CompletableFuture<JanusSession> createSession() {
+		JanusConnection target = connections.getFirst();
+		for (JanusConnection connection : connections) {
+			if (connection.isConnected() && (connection.load() < target.load() || !target.isConnected())) {
+				target = connection;
 			}
-			executor.submit(() -> processMessage(completeMessage));
-			messageBuffer.setLength(0); // Clear buffer after processing
-		} else {
-			logger.debug("Waiting for more fragments, current buffer length: {}", messageBuffer.length());
 		}
-		
-		webSocket.request(1);
-		return CompletableFuture.completedFuture(null);
+		return target.createSession();
 	}
 	
-	private void processMessage(String message) {
-		try {
-			if (message == null || message.trim().isEmpty()) {
-				logger.warn("Received empty or null message, skipping.");
-				return;
-			}
-			if (!message.trim().startsWith("{")) {
-				logger.warn("Received invalid JSON message, does not start with '{{': {}", message);
-				return;
-			}
-			
-			JSONObject json = new JSONObject(message);
-			//	logger.info("Processing JSON: {}", json.toString(2));
-			
-			String transactionId = json.optString("transaction", null);
-			if (transactionId != null && !transactionId.isEmpty()) {
-				logger.info("Found transaction ID: {}", transactionId);
-				transactionManager.completeTransaction(transactionId, json);
-				
+	/**
+	 * Creates a session, attaches the VideoRoom plugin and joins a room as a publisher, as one operation.
+	 * <p>
+	 * Each step is sent the moment the id it depends on arrives, on this client's executor rather than the
+	 * caller's or the transport's thread, so the caller waits on a single future. If {@code jsep} is given the join
+	 * is a {@code joinandconfigure} and the result carries the SDP answer. If a step fails, the session created for
+	 * the join is destroyed.
+	 *
+	 * @param room    The room id.
+	 * @param display The participant's display name, or {@code null}.
+	 * @param jsep    An SDP offer to publish right away, or {@code null} to only join.
+	 * @return A future completing with the session, handle, joined event and per-step timings.
+	 */
+	public CompletableFuture<VideoRoomJoin> joinVideoRoom(long room, String display, JSONObject jsep) {
+		JSONObject body;
+		if (jsep != null) {
+			JoinAndConfigureRequest.Builder builder = new JoinAndConfigureRequest.Builder(room);
+			if (display != null) {
+				builder.setDisplay(display);
 			}
-			
-			long sessionId = json.optLong("session_id", -1);
-			if (sessionId != -1) {
-				Optional.ofNullable(sessions.get(sessionId)).ifPresent(session -> session.handleEvent(json));
-			} else {
-				logger.info("Received message with no transaction ID or session ID: {}", message);
+			body = builder.build().toJson();
+		} else {
+			JoinRoomRequest.Builder builder = new JoinRoomRequest.Builder(room);
+			if (display != null) {
+				builder.setDisplay(display);
 			}
-		} catch (JSONException e) {
-			logger.error("Error parsing JSON message: {}", e.getMessage(), e);
-			logger.debug("Problematic message: {}", message);
-		} catch (Exception e) {
-			logger.error("Unexpected error processing message: {}", e.getMessage(), e);
+			body = builder.build().toJson();
 		}
-	}
-	
-	@Override
-	public void onError(WebSocket webSocket, Throwable error) {
-		logger.error("WebSocket error at {}: {}", config.getUri(), error.getMessage(), error);
-		sessions.values().forEach(JanusSession::destroy);
-		sessions.clear();
-	}
-	
-	@Override
-	public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
-		logger.warn("WebSocket closed for {}: {} - {}", config.getUri(), statusCode, reason);
-		sessions.values().forEach(JanusSession::destroy);
-		sessions.clear();
-		return CompletableFuture.completedFuture(null);
-	}
-	
-	public CompletableFuture<JanusSession> createSession() {
-		String transactionId = transactionManager.createTransaction();
-		var future = transactionManager.registerTransaction(transactionId);
-		
-		JSONObject request = new JSONObject();
-		request.put("janus", "create");
-		request.put("transaction", transactionId);
-		
-		sendMessage(request);
 		
-		return future.thenApply(response -> {
-			long sessionId = response.getJSONObject("data").getLong("id");
-			JanusSession session = new JanusSession(this, sessionId);
-			sessions.put(sessionId, session);
+		long[] marks = new long[4];
+		marks[0] = System.nanoTime();
+		CompletableFuture<JanusSession> session = CompletableFuture.supplyAsync(this::createSession, executor)
+				                                          .thenCompose(created -> created);
+		CompletableFuture<VideoRoomHandle> handle = session.thenComposeAsync(created -> {
+			marks[1] = System.nanoTime();
+			return created.attachToVideoRoom();
+		}, executor);
+		CompletableFuture<JSONObject> joined = handle.thenComposeAsync(attached -> {
+			marks[2] = System.nanoTime();
+			return attached.sendMessage(body, jsep);
+		}, executor);
+		return joined.handle((event, throwable) -> {
+			if (throwable != null) {
+				session.thenAccept(JanusSession::destroy);
+				throw throwable instanceof CompletionException completion ? completion : new CompletionException(throwable);
+			}
+			marks[3] = System.nanoTime();
+			JSONObject data = event.optJSONObject("plugindata") == null ? null : event.getJSONObject("plugindata").optJSONObject("data");
+			if (data == null || !"joined".equals(data.optString("videoroom"))) {
+				session.thenAccept(JanusSession::destroy);
+				throw new JanusException("Failed to join room " + room + ": " + event);
+			}
+			JoinTimings timings = new JoinTimings(marks[1] - marks[0], marks[2] - marks[1], marks[3] - marks[2]);
 			if (config.isLogEnabled()) {
-				logger.info("Session created, session ID={}", sessionId);
+				logger.info("Joined video room {}: {}", room, timings);
 			}
-			scheduleKeepAlive(sessionId);
-			return session;
+			return new VideoRoomJoin(session.join(), handle.join(), event, timings);
 		});
 	}
 	
 	public CompletableFuture<ServerInfo> getServerInfo() {
-		String transactionId = transactionManager.createTransaction();
-		var future = transactionManager.registerTransaction(transactionId);
+		JanusConnection connection = connections.getFirst();
+		String transactionId = connection.getTransactionManager().createTransaction();
+		var future = connection.getTransactionManager().registerTransaction(transactionId);
 		
 		JSONObject request = new JSONObject();
 		request.put("janus", "info");
@@ -241,9 +251,13 @@ public class JanusClient implements WebSocket.Listener {
 		if(config.isLogEnabled()) {
 			logger.info("Sending server info request: {}", request.toString());
 		}
-		sendMessage(request);
+		connection.sendMessage(request).exceptionally(throwable -> connection.getTransactionManager().failTransaction(transactionId, throwable));
 		return future.orTimeout(SERVER_INFO_TIMEOUT_MS, TimeUnit.MILLISECONDS)
-				       .thenApply(JanusUtils::convertToServerInfo)
+				       .thenApply(response -> {
+					       ServerInfo info = JanusUtils.convertToServerInfo(response);
+					       this.serverInfo = info;
+					       return info;
+				       })
 				       .exceptionally(throwable -> {
 					       if (throwable instanceof TimeoutException) {
 						       logger.error("Server info request timed out after {}ms. Server may not be responding.", SERVER_INFO_TIMEOUT_MS);
@@ -256,23 +270,126 @@ public class JanusClient implements WebSocket.Listener {
 	
 	
 	
-	public void sendMessage(JSONObject message) {
-		if (webSocket == null || webSocket.isOutputClosed()) {
-			logger.error("Cannot send message: WebSocket is not connected to {}", config.getUri());
-			throw new IllegalStateException("WebSocket is not connected.");
-		}
-		String msgStr = message.toString();
-		if(config.isLogEnabled()) {
-			logger.info("Sending message: {}", msgStr);
-		}
-		webSocket.sendText(msgStr, true);
+	/**
+	 * Sends a message on the connection owning its {@code session_id}, or on the first connection for messages
+	 * without one. Safe to call from any number of threads.
+	 * <p>
+	 * Sessions and handles send through {@link JanusSession#sendMessage(JSONObject)}, which skips the lookup.
+	 *
+	 * @param message The message to send.
+	 * @return A future that completes once the message has been handed to the gateway.
+	 * @throws IllegalStateException if the connection is not open.
+	 */
+	public CompletableFuture<Void> sendMessage(JSONObject message) {
+		long sessionId = message.optLong("session_id", -1);
+		return connectionFor(sessionId).sendMessage(message);
 	}
 	
+	/**
+	 * @return The transaction manager of the first connection. Each session uses the one of its own connection,
+	 *         see {@link JanusSession#getTransactionManager()}.
+	 */
 	public TransactionManager getTransactionManager() {
-		return transactionManager;
+		return connections.getFirst().getTransactionManager();
 	}
 	
-	void removeSession(long sessionId) {
-		sessions.remove(sessionId);
+	/**
+	 * Returns the stream of asynchronous events of every session on this client, as a {@link java.util.concurrent.Flow.Publisher}
+	 * with a bounded buffer per subscriber. Use {@link JanusSession#events()} or
+	 * {@link io.github.kinsleykajiva.janus.client.handle.JanusHandle#events()} for a narrower stream. The stream
+	 * completes when the client disconnects.
+	 *
+	 * @return The client's event publisher.
+	 */
+	public EventPublisher events() {
+		return events;
+	}
+	
+	/**
+	 * @return The coalescer shared by this client's handles for read-only plugin queries, see
+	 *         {@link JanusConfiguration.Builder#setQueryCacheTtlMs(long)}.
+	 */
+	public SingleFlight<PluginQuery, JSONObject> getPluginQueries() {
+		return pluginQueries;
+	}
+	
+	/**
+	 * @param sessionId The Janus session id.
+	 * @return The session, if it is alive on any of this client's connections.
+	 */
+	public Optional<JanusSession> getSession(long sessionId) {
+		for (JanusConnection connection : connections) {
+			Optional<JanusSession> session = connection.getSession(sessionId);
+			if (session.isPresent()) {
+				return session;
+			}
+		}
+		return Optional.empty();
+	}
+	
+	/**
+	 * @return A snapshot of the live sessions across all connections.
+	 */
+	public List<JanusSession> getSessions() {
+		List<JanusSession> all = new ArrayList<>();
+		connections.forEach(connection -> all.addAll(connection.getSessions()));
+		return all;
+	}
+	
+	/**
+	 * @return true if at least one connection to the gateway is open.
+	 */
+	public boolean isConnected() {
+		return connections.stream().anyMatch(JanusConnection::isConnected);
+	}
+	
+	/**
+	 * @return The number of connections this client keeps to the gateway.
+	 */
+	public int getConnectionCount() {
+		return connections.size();
+	}
+	
+	public JanusConfiguration getConfig() {
+		return config;
+	}
+	
+	/**
+	 * @return The server info retrieved when the client started (or by the latest {@link #getServerInfo()}), or
+	 *         {@code null} if it has not been retrieved.
+	 */
+	public ServerInfo getCachedServerInfo() {
+		return serverInfo;
+	}
+	
+	/**
+	 * Checks the cached server info for a plugin, without a round trip.
+	 *
+	 * @param plugin The plugin package, e.g. {@code "janus.plugin.videoroom"}.
+	 * @return true if the gateway reported the plugin as loaded.
+	 */
+	public boolean supportsPlugin(String plugin) {
+		ServerInfo info = serverInfo;
+		return info != null && info.plugins().containsKey(plugin);
+	}
+	
+	/**
+	 * @return The gateway's {@code reclaim_session_timeout} in milliseconds, or -1 if server info was never
+	 *         retrieved.
+	 */
+	long reclaimSessionTimeoutMillis() {
+		ServerInfo info = serverInfo;
+		return info == null ? -1 : info.reclaimSessionTimeout() * 1000L;
+	}
+	
+	private JanusConnection connectionFor(long sessionId) {
+		if (sessionId != -1) {
+			for (JanusConnection connection : connections) {
+				if (connection.getSession(sessionId).isPresent()) {
+					return connection;
+				}
+			}
+		}
+		return connections.getFirst();
 	}
-}
\ No newline at end of file
+}
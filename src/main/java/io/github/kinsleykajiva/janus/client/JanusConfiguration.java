@@ -1,5 +1,11 @@
 package io.github.kinsleykajiva.janus.client;
 
+import io.github.kinsleykajiva.janus.client.batch.BatchPipeline;
+import io.github.kinsleykajiva.janus.client.transport.HttpLongPollTransport;
+import io.github.kinsleykajiva.janus.utils.JanusCodec;
+import io.github.kinsleykajiva.janus.utils.TransactionManager;
+import io.github.kinsleykajiva.janus.utils.TransientJanusException;
+
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Objects;
@@ -10,11 +16,28 @@ import static org.slf4j.simple.SimpleLogger.DEFAULT_LOG_LEVEL_KEY;
  * A configuration class for the JanusClient.
  * It provides multiple constructors for flexible setup of the Janus Gateway WebSocket URL
  * and allows for programmatic control over the SDK's logging.
+ * Less common settings (such as the wire codec) are available through {@link Builder}.
+ * <p>
+ * The URL scheme selects the transport: {@code ws://} and {@code wss://} use the Janus WebSocket API, while
+ * {@code http://} and {@code https://} (e.g. "http://localhost:8088/janus") use the REST API with long polling.
+ * Janus's Unix socket transport is not supported, see
+ * {@link io.github.kinsleykajiva.janus.client.transport.JanusTransports}.
  */
 public class JanusConfiguration {
 	
 	private final URI uri;
 	private final boolean logEnabled;
+	private final JanusCodec codec;
+	private final int longPollMaxEvents;
+	private final int connectionCount;
+	private final boolean reconnectEnabled;
+	private final long reconnectInitialDelayMs;
+	private final long reconnectMaxDelayMs;
+	private final int maxReconnectAttempts;
+	private final long transactionTimeoutMs;
+	private final int maxInFlightTransactions;
+	private final long queryCacheTtlMs;
+	private final int batchWindow;
 	
 	/**
 	 * The most direct constructor, taking a full WebSocket URL.
@@ -24,17 +47,32 @@ public class JanusConfiguration {
 	 * @throws IllegalArgumentException if the websocketUrl is not a valid URI.
 	 */
 	public JanusConfiguration(String websocketUrl, boolean logEnabled) {
-		Objects.requireNonNull(websocketUrl, "WebSocket URL cannot be null");
+		this(new Builder(websocketUrl).setLogEnabled(logEnabled));
+	}
+	
+	private JanusConfiguration(Builder builder) {
+		Objects.requireNonNull(builder.websocketUrl, "WebSocket URL cannot be null");
 		try {
-			this.uri = new URI(websocketUrl);
+			this.uri = new URI(builder.websocketUrl);
 		} catch (URISyntaxException e) {
-			throw new IllegalArgumentException("Invalid WebSocket URL provided: " + websocketUrl, e);
+			throw new IllegalArgumentException("Invalid WebSocket URL provided: " + builder.websocketUrl, e);
 		}
-		this.logEnabled = logEnabled;
+		this.logEnabled = builder.logEnabled;
+		this.codec      = Objects.requireNonNull(builder.codec, "Codec cannot be null");
+		this.longPollMaxEvents = builder.longPollMaxEvents;
+		this.connectionCount   = builder.connectionCount;
+		this.reconnectEnabled        = builder.reconnectEnabled;
+		this.reconnectInitialDelayMs = builder.reconnectInitialDelayMs;
+		this.reconnectMaxDelayMs     = builder.reconnectMaxDelayMs;
+		this.maxReconnectAttempts    = builder.maxReconnectAttempts;
+		this.transactionTimeoutMs    = builder.transactionTimeoutMs;
+		this.maxInFlightTransactions = builder.maxInFlightTransactions;
+		this.queryCacheTtlMs         = builder.queryCacheTtlMs;
+		this.batchWindow             = builder.batchWindow;
 		
 		// Programmatically configure the SLF4J SimpleLogger shipped with the SDK.
 		// A user can override this by providing their own SLF4J implementation (e.g., Logback).
-		if (logEnabled) {
+		if (builder.logEnabled) {
 			System.setProperty(DEFAULT_LOG_LEVEL_KEY, "INFO");
 		} else {
 			System.setProperty(DEFAULT_LOG_LEVEL_KEY, "OFF");
@@ -100,4 +138,247 @@ public class JanusConfiguration {
 	public boolean isLogEnabled() {
 		return logEnabled;
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * Returns the codec used to serialize requests and parse responses.
+	 * @return The configured {@link JanusCodec}.
+	 */
+	public JanusCodec getCodec() {
+		return codec;
+	}
+	
+	/**
+	 * Returns the maximum number of events fetched by one long poll when using the HTTP transport.
+	 * @return The {@code maxev} value.
+	 */
+	public int getLongPollMaxEvents() {
+		return longPollMaxEvents;
+	}
+	
+	/**
+	 * Returns how many connections a {@link JanusClient} opens to the gateway.
+	 * @return The connection count, 1 unless configured otherwise.
+	 */
+	public int getConnectionCount() {
+		return connectionCount;
+	}
+	
+	/**
+	 * Returns whether a lost connection is re-established and its sessions reclaimed.
+	 * @return true unless disabled through the builder.
+	 */
+	public boolean isReconnectEnabled() {
+		return reconnectEnabled;
+	}
+	
+	/**
+	 * Returns the delay before the first reconnect attempt, before jitter.
+	 * @return The delay in milliseconds.
+	 */
+	public long getReconnectInitialDelayMs() {
+		return reconnectInitialDelayMs;
+	}
+	
+	/**
+	 * Returns the cap on the exponentially growing reconnect delay, before jitter.
+	 * @return The delay in milliseconds.
+	 */
+	public long getReconnectMaxDelayMs() {
+		return reconnectMaxDelayMs;
+	}
+	
+	/**
+	 * Returns how many reconnect attempts are made before giving up.
+	 * @return The attempt limit, or 0 for no limit.
+	 */
+	public int getMaxReconnectAttempts() {
+		return maxReconnectAttempts;
+	}
+	
+	/**
+	 * Returns how long a request waits for its response before failing with a timeout.
+	 * @return The timeout in milliseconds.
+	 */
+	public long getTransactionTimeoutMs() {
+		return transactionTimeoutMs;
+	}
+	
+	/**
+	 * Returns the maximum number of requests awaiting a response per connection.
+	 * @return The in-flight cap.
+	 */
+	public int getMaxInFlightTransactions() {
+		return maxInFlightTransactions;
+	}
+	
+	/**
+	 * Returns how long the results of read-only plugin queries are reused; 0 means they are only shared while in flight.
+	 * @return The TTL in milliseconds.
+	 */
+	public long getQueryCacheTtlMs() {
+		return queryCacheTtlMs;
+	}
+	
+	/**
+	 * Returns how many requests of a batch operation (such as creating many rooms) are in flight at once.
+	 * @return The batch window.
+	 */
+	public int getBatchWindow() {
+		return batchWindow;
+	}
+	
+	/**
+	 * A builder for creating {@link JanusConfiguration} instances with non-default settings.
+	 */
+	public static class Builder {
+		private final String websocketUrl;
+		private boolean logEnabled = true;
+		private JanusCodec codec   = JanusCodec.defaultCodec();
+		private int longPollMaxEvents = HttpLongPollTransport.DEFAULT_MAX_EVENTS;
+		private int connectionCount   = 1;
+		private boolean reconnectEnabled     = true;
+		private long reconnectInitialDelayMs = 500;
+		private long reconnectMaxDelayMs     = 30_000;
+		private int maxReconnectAttempts     = 0;
+		private long transactionTimeoutMs    = TransactionManager.DEFAULT_TIMEOUT_MS;
+		private int maxInFlightTransactions  = TransactionManager.DEFAULT_MAX_IN_FLIGHT;
+		private long queryCacheTtlMs         = 0;
+		private int batchWindow              = BatchPipeline.DEFAULT_WINDOW;
+		
+		/**
+		 * @param websocketUrl The complete WebSocket URL (e.g., "ws://localhost:8188/janus"), or a REST URL
+		 *                     (e.g., "http://localhost:8088/janus") to use the HTTP transport.
+		 */
+		public Builder(String websocketUrl) {
+			this.websocketUrl = websocketUrl;
+		}
+		
+		public Builder setLogEnabled(boolean logEnabled) {
+			this.logEnabled = logEnabled;
+			return this;
+		}
+		
+		/**
+		 * Sets the wire codec, e.g. {@link io.github.kinsleykajiva.janus.utils.StreamingJanusCodec#INSTANCE}.
+		 * Defaults to {@link JanusCodec#defaultCodec()}.
+		 */
+		public Builder setCodec(JanusCodec codec) {
+			this.codec = codec;
+			return this;
+		}
+		
+		/**
+		 * Sets how many events a single long poll may return when using an {@code http(s)://} URL.
+		 * Defaults to {@link HttpLongPollTransport#DEFAULT_MAX_EVENTS}.
+		 */
+		public Builder setLongPollMaxEvents(int longPollMaxEvents) {
+			if (longPollMaxEvents < 1) {
+				throw new IllegalArgumentException("longPollMaxEvents must be at least 1");
+			}
+			this.longPollMaxEvents = longPollMaxEvents;
+			return this;
+		}
+		
+		/**
+		 * Sets how many connections the client opens to the gateway. New sessions go to the least loaded
+		 * connection, so one slow frame or huge event only holds up the sessions sharing its connection.
+		 * Defaults to 1.
+		 */
+		public Builder setConnectionCount(int connectionCount) {
+			if (connectionCount < 1) {
+				throw new IllegalArgumentException("connectionCount must be at least 1");
+			}
+			this.connectionCount = connectionCount;
+			return this;
+		}
+		
+		/**
+		 * Enables or disables automatic reconnects. When enabled (the default), a lost connection is re-opened
+		 * with exponential backoff and each of its sessions is claimed back, keeping handles and listeners intact.
+		 */
+		public Builder setReconnectEnabled(boolean reconnectEnabled) {
+			this.reconnectEnabled = reconnectEnabled;
+			return this;
+		}
+		
+		/**
+		 * Sets the reconnect backoff. The delay starts at {@code initialDelayMs}, doubles on every failed attempt up
+		 * to {@code maxDelayMs}, and is randomized between half and all of that value. Defaults to 500ms and 30s.
+		 */
+		public Builder setReconnectBackoff(long initialDelayMs, long maxDelayMs) {
+			if (initialDelayMs < 1 || maxDelayMs < initialDelayMs) {
+				throw new IllegalArgumentException("Reconnect delays must satisfy 1 <= initialDelayMs <= maxDelayMs");
+			}
+			this.reconnectInitialDelayMs = initialDelayMs;
+			this.reconnectMaxDelayMs     = maxDelayMs;
+			return this;
+		}
+		
+		/**
+		 * Sets how many reconnect attempts are made before the connection's sessions are given up.
+		 * Defaults to 0, meaning no limit.
+		 */
+		public Builder setMaxReconnectAttempts(int maxReconnectAttempts) {
+			if (maxReconnectAttempts < 0) {
+				throw new IllegalArgumentException("maxReconnectAttempts cannot be negative");
+			}
+			this.maxReconnectAttempts = maxReconnectAttempts;
+			return this;
+		}
+		
+		/**
+		 * Sets how long a request waits for its response before its future fails with a
+		 * {@link java.util.concurrent.TimeoutException}. Defaults to {@link TransactionManager#DEFAULT_TIMEOUT_MS}.
+		 */
+		public Builder setTransactionTimeoutMs(long transactionTimeoutMs) {
+			if (transactionTimeoutMs < 1) {
+				throw new IllegalArgumentException("transactionTimeoutMs must be positive");
+			}
+			this.transactionTimeoutMs = transactionTimeoutMs;
+			return this;
+		}
+		
+		/**
+		 * Caps the requests awaiting a response per connection. Once reached, new requests fail straight away with a
+		 * {@link TransientJanusException} instead of being sent. Defaults to
+		 * {@link TransactionManager#DEFAULT_MAX_IN_FLIGHT}.
+		 */
+		public Builder setMaxInFlightTransactions(int maxInFlightTransactions) {
+			if (maxInFlightTransactions < 1) {
+				throw new IllegalArgumentException("maxInFlightTransactions must be at least 1");
+			}
+			this.maxInFlightTransactions = maxInFlightTransactions;
+			return this;
+		}
+		
+		/**
+		 * Keeps the results of read-only plugin queries (room lists, participant lists, existence checks) for a short
+		 * time. Concurrent identical queries always share one request; with a TTL, later ones within it are answered
+		 * locally too. Cached results are dropped when this client sees a plugin event that changes them. Defaults
+		 * to 0 (no caching).
+		 */
+		public Builder setQueryCacheTtlMs(long queryCacheTtlMs) {
+			if (queryCacheTtlMs < 0) {
+				throw new IllegalArgumentException("queryCacheTtlMs must not be negative");
+			}
+			this.queryCacheTtlMs = queryCacheTtlMs;
+			return this;
+		}
+		
+		/**
+		 * Sets how many requests of a batch operation are in flight at once. Larger windows hide more round-trip
+		 * latency but put more concurrent load on the gateway. Defaults to {@link BatchPipeline#DEFAULT_WINDOW}.
+		 */
+		public Builder setBatchWindow(int batchWindow) {
+			if (batchWindow < 1) {
+				throw new IllegalArgumentException("batchWindow must be at least 1");
+			}
+			this.batchWindow = batchWindow;
+			return this;
+		}
+		
+		public JanusConfiguration build() {
+			return new JanusConfiguration(this);
+		}
+	}
+}
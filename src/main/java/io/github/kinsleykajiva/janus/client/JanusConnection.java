@@ -0,0 +1,388 @@
+package io.github.kinsleykajiva.janus.client;
+
+import io.github.kinsleykajiva.janus.client.transport.JanusTransport;
+import io.github.kinsleykajiva.janus.client.transport.JanusTransportListener;
+import io.github.kinsleykajiva.janus.client.transport.JanusTransports;
+import io.github.kinsleykajiva.janus.client.transport.WebSocketTransport;
+import io.github.kinsleykajiva.janus.utils.HashedTimingWheel;
+import io.github.kinsleykajiva.janus.utils.JanusEnvelope;
+import io.github.kinsleykajiva.janus.utils.TransactionManager;
+import io.github.kinsleykajiva.janus.utils.TransientJanusException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * One connection of a {@link JanusClient} to the gateway, together with everything that is scoped to it.
+ * <p>
+ * Janus delivers a session's events on the connection that created it, so each connection owns its sessions,
+ * their keep-alives, its own {@link TransactionManager} and its own inbound lanes. A slow or oversized frame on
+ * one connection therefore never holds up sessions living on another.
+ * <p>
+ * When the transport drops, the sessions are kept: the connection is re-opened with exponential backoff and
+ * jitter, and every session is claimed back on it (Janus keeps them for {@code reclaim_session_timeout}), so
+ * handles and their listeners survive a network blip without renegotiating. Sessions the gateway no longer knows
+ * are forgotten locally.
+ */
+final class JanusConnection implements JanusTransportListener {
+	private static final Logger logger                           = LoggerFactory.getLogger(JanusConnection.class);
+	static final long KEEP_ALIVE_INTERVAL_SECONDS                = 45;                                                                      // 45 seconds for keep-alive
+	private static final long RECONNECT_TIMEOUT_MS               = 10_000;                                                                  // 10 seconds per attempt
+	private final Map<Long , JanusSession> sessions              = new ConcurrentHashMap<>();
+	private final AtomicInteger pendingSessions                  = new AtomicInteger();
+	private final TransactionManager transactionManager;
+	private final int index;
+	private final JanusClient client;
+	private final JanusConfiguration config;
+	private final JanusTransport transport;
+	private final InboundDispatcher inboundDispatcher;
+	private final HashedTimingWheel timer;
+	private final KeepAliveEngine keepAlives;
+	private final ExecutorService executor;
+	private final AtomicBoolean reconnecting                     = new AtomicBoolean(false);
+	private volatile boolean closing;
+	private volatile long disconnectedAtNanos;
+	
+	JanusConnection(int index, JanusClient client, JanusConfiguration config, HttpClient httpClient,
+	                ExecutorService executor, HashedTimingWheel timer) {
+		this.index              = index;
+		this.client             = client;
+		this.config             = config;
+		this.timer              = timer;
+		this.executor           = executor;
+		this.transactionManager = new TransactionManager(timer, config.getTransactionTimeoutMs(), config.getMaxInFlightTransactions(),
+				executor);
+		this.keepAlives         = new KeepAliveEngine(timer, KEEP_ALIVE_INTERVAL_SECONDS, TimeUnit.SECONDS, this::sendMessage,
+				config.isLogEnabled());
+		this.inboundDispatcher  = new InboundDispatcher(executor);
+		this.transport          = JanusTransports.create(config.getUri(), WebSocketTransport.JANUS_PROTOCOL, httpClient,
+				config.getCodec(), config.getLongPollMaxEvents());
+	}
+	
+	int getIndex() {
+		return index;
+	}
+	
+	JanusClient getClient() {
+		return client;
+	}
+	
+	TransactionManager getTransactionManager() {
+		return transactionManager;
+	}
+	
+	JanusTransport getTransport() {
+		return transport;
+	}
+	
+	CompletableFuture<Void> connect() {
+		closing = false;
+		return transport.connect(this);
+	}
+	
+	boolean isConnected() {
+		return transport.isConnected();
+	}
+	
+	/**
+	 * @return The number of sessions living on, or being created on, this connection.
+	 */
+	int load() {
+		return sessions.size() + pendingSessions.get();
+	}
+	
+	/**
+	 * Sends a message over this connection. Safe to call from any number of threads.
+	 *
+	 * @param message The message to send.
+	 * @return A future that completes once the message has been handed to the gateway.
+	 * @throws IllegalStateException if the transport is not connected.
+	 */
+	CompletableFuture<Void> sendMessage(JSONObject message) {
+		if (!transport.isConnected()) {
+			logger.error("Cannot send message: connection {} is not connected to {}", index, config.getUri());
+			throw new IllegalStateException("Transport is not connected.");
+		}
+		if (config.isLogEnabled()) {
+			logger.info("Sending message on connection {}: {}", index, message);
+		}
+		return transport.send(message).whenComplete((ignored, throwable) -> {
+			if (throwable != null) {
+				logger.error("Failed to send message to {}: {}", config.getUri(), throwable.getMessage());
+			}
+		});
+	}
+	
+	CompletableFuture<JanusSession> createSession() {
+		String transactionId = transactionManager.createTransaction();
+		var future = transactionManager.registerTransaction(transactionId);
+		
+		JSONObject request = new JSONObject();
+		request.put("janus", "create");
+		request.put("transaction", transactionId);
+		
+		pendingSessions.incrementAndGet();
+		// Registered before sending, so the session is known by the time the response has been handled: the HTTP
+		// transport only starts polling for its events then
+		var registered = future.whenComplete((response, throwable) -> pendingSessions.decrementAndGet()).thenApply(response -> {
+			long sessionId = response.getJSONObject("data").getLong("id");
+			JanusSession session = new JanusSession(this, sessionId);
+			sessions.put(sessionId, session);
+			if (config.isLogEnabled()) {
+				logger.info("Session created on connection {}, session ID={}", index, sessionId);
+			}
+			keepAlives.start(session);
+			return session;
+		});
+		try {
+			sendMessage(request).exceptionally(throwable -> transactionManager.failTransaction(transactionId, throwable));
+		} catch (RuntimeException e) {
+			transactionManager.failTransaction(transactionId, e);
+			throw e;
+		}
+		
+		// The caller's stages run as a separate task, so they never hold up that handling
+		return registered.thenApplyAsync(Function.identity(), executor);
+	}
+	
+	Optional<JanusSession> getSession(long sessionId) {
+		return Optional.ofNullable(sessions.get(sessionId));
+	}
+	
+	Collection<JanusSession> getSessions() {
+		return Collections.unmodifiableCollection(sessions.values());
+	}
+	
+	void removeSession(long sessionId) {
+		sessions.remove(sessionId);
+		inboundDispatcher.removeLane(sessionId);
+		keepAlives.stop(sessionId);
+	}
+	
+	/**
+	 * Stops keep-alives, closes the transport and forgets all sessions.
+	 */
+	void close(long timeout, TimeUnit unit) {
+		closing = true;
+		keepAlives.stopAll();
+		if (transport.isConnected()) {
+			try {
+				transport.close().get(timeout, unit);
+				logger.info("Connection {} disconnected from Janus Gateway at {}", index, config.getUri());
+			} catch (Exception e) {
+				logger.warn("Error during graceful disconnect of connection {}: {}", index, e.getMessage());
+			}
+		}
+		invalidateSessions();
+	}
+	
+	@Override
+	public CompletionStage<?> onMessage(CharSequence message) {
+		if (config.isLogEnabled()) {
+			logger.debug("Message From Janus: {}", message);
+		}
+		return processMessage(message);
+	}
+	
+	/**
+	 * Routes a complete message. Runs on the transport's delivery thread: transaction responses are matched
+	 * immediately and their futures completed on the client's executor, while session events are queued on that
+	 * session's lane so they are handled in arrival order.
+	 *
+	 * @return A stage that completes once nothing will read {@code message} any more and its transaction, if any,
+	 *         has been completed.
+	 */
+	private CompletionStage<?> processMessage(CharSequence message) {
+		try {
+			JanusEnvelope envelope = JanusEnvelope.scan(message, config.getCodec());
+			if (envelope == null) {
+				logger.warn("Received empty or invalid JSON message, skipping.");
+				logger.debug("Problematic message: {}", message);
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			if (envelope.isTransaction(KeepAliveEngine.KEEPALIVE_TRANSACTION) && envelope.isJanus("ack")) {
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			CompletionStage<Void> completed = null;
+			if (envelope.hasTransaction()) {
+				logger.debug("Found transaction ID: {}", envelope.transactionId());
+				completed = transactionManager.completeTransaction(envelope);
+			}
+			
+			long sessionId = envelope.sessionId();
+			if (sessionId != -1) {
+				CompletableFuture<Void> routed = new CompletableFuture<>();
+				inboundDispatcher.dispatch(sessionId, () -> {
+					try {
+						Optional.ofNullable(sessions.get(sessionId)).ifPresent(session -> session.handleEvent(envelope));
+					} finally {
+						routed.complete(null);
+					}
+				});
+				return completed == null ? routed : routed.runAfterBoth(completed, () -> {});
+			} else if (completed != null) {
+				return completed;
+			} else {
+				logger.info("Received message with no transaction ID or session ID: {}", message);
+			}
+		} catch (JSONException e) {
+			logger.error("Error parsing JSON message: {}", e.getMessage(), e);
+			logger.debug("Problematic message: {}", message);
+		} catch (Exception e) {
+			logger.error("Unexpected error processing message: {}", e.getMessage(), e);
+		}
+		return CompletableFuture.completedFuture(null);
+	}
+	
+	@Override
+	public void onError(Throwable error) {
+		logger.error("Transport error on connection {} at {}: {}", index, config.getUri(), error.getMessage(), error);
+		handleDisconnect(error.getMessage());
+	}
+	
+	@Override
+	public void onClose(int statusCode, String reason) {
+		logger.warn("Connection {} closed for {}: {} - {}", index, config.getUri(), statusCode, reason);
+		handleDisconnect(statusCode + " " + reason);
+	}
+	
+	private void handleDisconnect(String reason) {
+		keepAlives.stopAll();
+		// Responses to anything in flight were lost with the connection
+		transactionManager.failAll(new TransientJanusException("Connection lost: " + reason));
+		if (closing || !config.isReconnectEnabled()) {
+			invalidateSessions();
+			return;
+		}
+		if (reconnecting.compareAndSet(false, true)) {
+			disconnectedAtNanos = System.nanoTime();
+			scheduleReconnect(0);
+		}
+	}
+	
+	private void scheduleReconnect(int attempt) {
+		long delay = reconnectDelay(attempt);
+		logger.info("Reconnecting connection {} to {} in {}ms (attempt {})", index, config.getUri(), delay, attempt + 1);
+		try {
+			timer.schedule(() -> attemptReconnect(attempt), delay, TimeUnit.MILLISECONDS);
+		} catch (IllegalStateException e) {
+			// The client is shutting down
+			reconnecting.set(false);
+		}
+	}
+	
+	/**
+	 * Exponential backoff with equal jitter: a random delay between half and all of the capped exponential delay,
+	 * so clients that lost the same gateway do not all come back at the same instant.
+	 */
+	private long reconnectDelay(int attempt) {
+		long exponential = Math.min(config.getReconnectMaxDelayMs(), config.getReconnectInitialDelayMs() << Math.min(attempt, 20));
+		long half = exponential / 2;
+		return half + ThreadLocalRandom.current().nextLong(exponential - half + 1);
+	}
+	
+	private void attemptReconnect(int attempt) {
+		if (closing) {
+			reconnecting.set(false);
+			return;
+		}
+		CompletableFuture<Void> connected;
+		try {
+			connected = transport.connect(this).orTimeout(RECONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		} catch (RuntimeException e) {
+			connected = CompletableFuture.failedFuture(e);
+		}
+		connected.whenComplete((ignored, throwable) -> {
+			if (throwable == null) {
+				reconnecting.set(false);
+				logger.info("Connection {} re-established to {}, reclaiming {} session(s)", index, config.getUri(), sessions.size());
+				reclaimSessions();
+				return;
+			}
+			logger.warn("Reconnect attempt {} for connection {} failed: {}", attempt + 1, index, throwable.getMessage());
+			if (reclaimWindowExpired()) {
+				invalidateSessions();
+			}
+			int maxAttempts = config.getMaxReconnectAttempts();
+			if (closing || (maxAttempts > 0 && attempt + 1 >= maxAttempts)) {
+				logger.error("Giving up reconnecting connection {} to {}", index, config.getUri());
+				invalidateSessions();
+				reconnecting.set(false);
+				return;
+			}
+			scheduleReconnect(attempt + 1);
+		});
+	}
+	
+	private void reclaimSessions() {
+		if (reclaimWindowExpired()) {
+			logger.warn("Reclaim window of connection {} has passed, its sessions are gone", index);
+			invalidateSessions();
+			return;
+		}
+		for (JanusSession session : sessions.values()) {
+			long sessionId = session.getSessionId();
+			String transactionId = transactionManager.createTransaction();
+			var future = transactionManager.registerTransaction(transactionId);
+			
+			JSONObject claim = new JSONObject();
+			claim.put("janus", "claim");
+			claim.put("session_id", sessionId);
+			claim.put("transaction", transactionId);
+			try {
+				sendMessage(claim).exceptionally(throwable -> transactionManager.failTransaction(transactionId, throwable));
+			} catch (IllegalStateException e) {
+				// Dropped again already; the next reconnect will retry
+				transactionManager.failTransaction(transactionId, e);
+			}
+			
+			future.whenComplete((response, throwable) -> {
+				if (throwable == null) {
+					if (config.isLogEnabled()) {
+						logger.info("Reclaimed session {} on connection {}", sessionId, index);
+					}
+					keepAlives.start(session);
+				} else if (transport.isConnected()) {
+					logger.warn("Could not reclaim session {}: {}", sessionId, throwable.getMessage());
+					session.invalidate();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Janus destroys sessions whose transport has been gone for longer than its {@code reclaim_session_timeout};
+	 * a timeout of 0 means sessions are destroyed as soon as the transport goes away.
+	 */
+	private boolean reclaimWindowExpired() {
+		long reclaimMillis = client.reclaimSessionTimeoutMillis();
+		if (reclaimMillis < 0) {
+			return false; // unknown, let the claim decide
+		}
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - disconnectedAtNanos) > reclaimMillis;
+	}
+	
+	private void invalidateSessions() {
+		sessions.values().forEach(JanusSession::invalidate);
+		sessions.clear();
+	}
+
+}
@@ -1,25 +1,29 @@
 package io.github.kinsleykajiva.janus.client;
 
+import io.github.kinsleykajiva.janus.client.event.EventPublisher;
 import io.github.kinsleykajiva.janus.client.handle.HandleType;
 import io.github.kinsleykajiva.janus.client.handle.JanusHandle;
 import io.github.kinsleykajiva.janus.client.handle.impl.AudioBridgeHandle;
 import io.github.kinsleykajiva.janus.client.handle.impl.SipHandle;
 import io.github.kinsleykajiva.janus.client.handle.impl.VideoRoomHandle;
+import io.github.kinsleykajiva.janus.utils.JanusEnvelope;
+import io.github.kinsleykajiva.janus.utils.TransactionManager;
 import org.json.JSONObject;
 
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 public class JanusSession {
-	private final JanusClient client;
+	private final JanusConnection connection;
 	private final long sessionId;
 	private final Map<Long, JanusHandle> handles = new ConcurrentHashMap<>();
+	private final EventPublisher events = new EventPublisher();
+	private volatile long lastOutboundNanos = System.nanoTime();
 
-	public JanusSession(JanusClient client, long sessionId) {
-		this.client = client;
+	JanusSession(JanusConnection connection, long sessionId) {
+		this.connection = connection;
 		this.sessionId = sessionId;
 	}
 
@@ -30,8 +34,8 @@ public class JanusSession {
 	public <T extends JanusHandle> CompletableFuture<T> attachPlugin(
 		String pluginName, BiFunction<JanusSession, Long, T> handleFactory) {
 
-		String transactionId = client.getTransactionManager().createTransaction();
-		var future = client.getTransactionManager().registerTransaction(transactionId);
+		String transactionId = getTransactionManager().createTransaction();
+		var future = getTransactionManager().registerTransaction(transactionId);
 
 		JSONObject request = new JSONObject();
 		request.put("janus", "attach");
@@ -39,7 +43,8 @@ public class JanusSession {
 		request.put("session_id", sessionId);
 		request.put("transaction", transactionId);
 
-		client.sendMessage(request);
+		sendMessage(request)
+			.exceptionally(throwable -> getTransactionManager().failTransaction(transactionId, throwable));
 
 		return future.thenApply(response -> {
 			long handleId = response.getJSONObject("data").getLong("id");
@@ -65,18 +70,133 @@ public class JanusSession {
 
 	public void handleEvent(JSONObject event) {
 		long handleId = event.optLong("sender", -1);
-		Optional.ofNullable(handles.get(handleId)).ifPresent(handle -> handle.fireEvent(event));
+		JanusHandle handle = handles.get(handleId);
+		String janus = event.optString("janus");
+		if (!"ack".equals(janus) && !"success".equals(janus) && !"error".equals(janus)) {
+			publish(handle, event);
+		}
+		if (handle != null) {
+			handle.fireEvent(event);
+		}
 	}
 
-	public void destroy() {
-		handles.values().forEach(JanusHandle::detach);
+	/**
+	 * Routes a scanned event to its handle and to the event streams. The message is only parsed if a handle for
+	 * its sender exists or someone is subscribed.
+	 *
+	 * @param envelope The scanned inbound message.
+	 */
+	public void handleEvent(JanusEnvelope envelope) {
+		JanusHandle handle = handles.get(envelope.sender());
+		// Responses to requests are not events
+		boolean asynchronous = !envelope.isJanus("ack") && !envelope.isJanus("success") && !envelope.isJanus("error");
+		EventPublisher clientEvents = getClient().events();
+		boolean streamed = asynchronous && (events.hasSubscribers() || clientEvents.hasSubscribers()
+				                                    || (handle != null && handle.events().hasSubscribers()));
+		if (handle == null && !streamed) {
+			return;
+		}
+		JSONObject event = envelope.json();
+		if (streamed) {
+			publish(handle, event);
+		}
+		if (handle != null) {
+			handle.fireEvent(event);
+		}
+	}
+
+	/**
+	 * Returns the stream of asynchronous events for this session and all its handles. Subscribers get their own
+	 * bounded buffers, see {@link EventPublisher}. The stream completes when the session is destroyed.
+	 *
+	 * @return The session's event publisher.
+	 */
+	public EventPublisher events() {
+		return events;
+	}
+
+	private void publish(JanusHandle handle, JSONObject event) {
+		if (handle != null) {
+			handle.events().publish(event);
+		}
+		events.publish(event);
+		getClient().events().publish(event);
+	}
+
+	/**
+	 * Destroys this session on the gateway, which also detaches its handles, and forgets it locally.
+	 *
+	 * @return A future completed once the gateway has confirmed; it fails if the request could not be sent or was
+	 *         refused. The session is forgotten locally either way.
+	 */
+	public CompletableFuture<Void> destroy() {
+		invalidate();
+		String transactionId;
+		CompletableFuture<JSONObject> future;
+		try {
+			transactionId = getTransactionManager().createTransaction();
+			future = getTransactionManager().registerTransaction(transactionId);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		JSONObject request = new JSONObject();
+		request.put("janus", "destroy");
+		request.put("session_id", sessionId);
+		request.put("transaction", transactionId);
+
+		try {
+			sendMessage(request)
+				.exceptionally(throwable -> getTransactionManager().failTransaction(transactionId, throwable));
+		} catch (RuntimeException e) {
+			getTransactionManager().failTransaction(transactionId, e);
+		}
+		return future.thenAccept(response -> {
+		});
+	}
+
+	/**
+	 * Forgets this session locally without sending anything, e.g. once the gateway has dropped it or the
+	 * connection it lived on is gone for good.
+	 */
+	void invalidate() {
+		handles.values().forEach(handle -> handle.events().close());
 		handles.clear();
-		client.removeSession(sessionId);
-		// A 'destroy' message to Janus could also be sent here if desired.
+		events.close();
+		connection.removeSession(sessionId);
 	}
 
-	// Package-private for internal use by handles
 	public JanusClient getClient() {
-		return client;
+		return connection.getClient();
+	}
+
+	/**
+	 * @return The transaction manager of the connection this session lives on.
+	 */
+	public TransactionManager getTransactionManager() {
+		return connection.getTransactionManager();
+	}
+
+	/**
+	 * Sends a message on the connection this session lives on.
+	 *
+	 * @param message The message to send.
+	 * @return A future that completes once the message has been handed to the gateway.
+	 * @throws IllegalStateException if the connection is not open.
+	 */
+	public CompletableFuture<Void> sendMessage(JSONObject message) {
+		markOutbound();
+		return connection.sendMessage(message);
+	}
+
+	/**
+	 * Records outbound traffic; Janus treats any request on the session as activity, so keep-alives can be skipped.
+	 */
+	void markOutbound() {
+		lastOutboundNanos = System.nanoTime();
+	}
+
+	long lastOutboundNanos() {
+		return lastOutboundNanos;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package io.github.kinsleykajiva.janus.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long each step of a composite join took, measured from the previous step's completion.
+ *
+ * @param createSessionNanos The {@code create} round trip.
+ * @param attachNanos        The {@code attach} round trip.
+ * @param joinNanos          The plugin join request, up to its final event.
+ */
+public record JoinTimings(long createSessionNanos, long attachNanos, long joinNanos) {
+	
+	public long totalNanos() {
+		return createSessionNanos + attachNanos + joinNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return "JoinTimings[createSession=" + millis(createSessionNanos) + "ms, attach=" + millis(attachNanos)
+				       + "ms, join=" + millis(joinNanos) + "ms, total=" + millis(totalNanos()) + "ms]";
+	}
+	
+	private static double millis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,133 @@
+package io.github.kinsleykajiva.janus.client;
+
+import io.github.kinsleykajiva.janus.utils.HashedTimingWheel;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps the sessions of one connection alive using a shared {@link HashedTimingWheel}.
+ * <p>
+ * Each session has a single wheel entry. When it fires, a session that has sent anything within the interval is
+ * simply re-armed for the rest of the interval, since Janus already counts that traffic as activity; only idle
+ * sessions get a keep-alive. Every delay is shortened by a random amount (sessions created in a burst, e.g. after
+ * a reconnect, start anywhere in the first interval) so the gateway sees a steady trickle instead of a herd.
+ * <p>
+ * Keep-alives are fire-and-forget: they carry the fixed {@link #KEEPALIVE_TRANSACTION} and are never registered
+ * with the {@link io.github.kinsleykajiva.janus.utils.TransactionManager}, so their acks can be dropped on sight.
+ */
+final class KeepAliveEngine {
+	private static final Logger logger       = LoggerFactory.getLogger(KeepAliveEngine.class);
+	static final String KEEPALIVE_TRANSACTION = "keepalive";
+	private static final int JITTER_DIVISOR   = 10;                                                                     // up to 10% earlier
+	
+	private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+	private final HashedTimingWheel timer;
+	private final long intervalNanos;
+	private final Function<JSONObject, CompletableFuture<Void>> sender;
+	private final boolean logEnabled;
+	
+	KeepAliveEngine(HashedTimingWheel timer, long interval, TimeUnit unit, Function<JSONObject, CompletableFuture<Void>> sender,
+	                boolean logEnabled) {
+		this.timer         = timer;
+		this.intervalNanos = unit.toNanos(interval);
+		this.sender        = sender;
+		this.logEnabled    = logEnabled;
+	}
+	
+	/**
+	 * Starts (or restarts) keep-alives for a session.
+	 */
+	void start(JanusSession session) {
+		JSONObject keepAlive = new JSONObject();
+		keepAlive.put("janus", "keepalive");
+		keepAlive.put("session_id", session.getSessionId());
+		keepAlive.put("transaction", KEEPALIVE_TRANSACTION);
+		
+		Entry entry = new Entry(session, keepAlive);
+		Entry previous = entries.put(session.getSessionId(), entry);
+		if (previous != null) {
+			previous.cancel();
+		}
+		long half = intervalNanos / 2;
+		schedule(entry, half + ThreadLocalRandom.current().nextLong(intervalNanos - half + 1));
+		logger.debug("Scheduled keep-alive for session {}", session.getSessionId());
+	}
+	
+	void stop(long sessionId) {
+		Entry entry = entries.remove(sessionId);
+		if (entry != null) {
+			entry.cancel();
+		}
+	}
+	
+	void stopAll() {
+		entries.values().forEach(Entry::cancel);
+		entries.clear();
+	}
+	
+	int size() {
+		return entries.size();
+	}
+	
+	private void schedule(Entry entry, long delayNanos) {
+		try {
+			entry.timeout = timer.schedule(() -> fire(entry), delayNanos, TimeUnit.NANOSECONDS);
+		} catch (IllegalStateException e) {
+			// The client is shutting down
+			entries.remove(entry.session.getSessionId(), entry);
+		}
+	}
+	
+	private void fire(Entry entry) {
+		long sessionId = entry.session.getSessionId();
+		if (entries.get(sessionId) != entry) {
+			return;
+		}
+		long idle = System.nanoTime() - entry.session.lastOutboundNanos();
+		if (idle < intervalNanos) {
+			schedule(entry, intervalNanos - idle - jitter());
+			return;
+		}
+		try {
+			entry.session.markOutbound();
+			sender.apply(entry.message);
+			if (logEnabled) {
+				logger.info("Sent keep-alive for session {}", sessionId);
+			}
+		} catch (Exception e) {
+			logger.error("Failed to send keep-alive for session {}: {}", sessionId, e.getMessage(), e);
+		}
+		schedule(entry, intervalNanos - jitter());
+	}
+	
+	private long jitter() {
+		return ThreadLocalRandom.current().nextLong(intervalNanos / JITTER_DIVISOR + 1);
+	}
+	
+	private static final class Entry {
+		private final JanusSession session;
+		// Never modified after construction, so it is safe to encode from any thread
+		private final JSONObject message;
+		private volatile HashedTimingWheel.Timeout timeout;
+		
+		private Entry(JanusSession session, JSONObject message) {
+			this.session = session;
+			this.message = message;
+		}
+		
+		private void cancel() {
+			HashedTimingWheel.Timeout current = timeout;
+			if (current != null) {
+				current.cancel();
+			}
+		}
+	}
+}
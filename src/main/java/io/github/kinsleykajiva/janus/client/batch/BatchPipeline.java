@@ -0,0 +1,249 @@
+package io.github.kinsleykajiva.janus.client.batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a batch of asynchronous requests with a bounded number in flight.
+ * <p>
+ * Up to {@code window} requests are sent at once; each completion immediately sends the next one, so the
+ * connection stays full without flooding the gateway or the transaction table. A request that fails in a way its
+ * {@link RetryPolicy} considers retryable is sent again after a backoff, keeping its place in the window. Every
+ * request gets an outcome, whether it succeeds or fails, and the batch completes once all of them have.
+ */
+public final class BatchPipeline {
+	/**
+	 * The default number of requests in flight per batch.
+	 */
+	public static final int DEFAULT_WINDOW = 32;
+	
+	private BatchPipeline() {
+	}
+	
+	/**
+	 * Runs a batch.
+	 *
+	 * @param requests  The requests, sent in iteration order.
+	 * @param window    The maximum number of requests in flight.
+	 * @param operation Sends one request.
+	 * @return A future completed with every request's outcome; it never completes exceptionally.
+	 */
+	public static <I, R> CompletableFuture<BatchResult<I, R>> run(Collection<? extends I> requests, int window,
+	                                                             Function<? super I, ? extends CompletableFuture<? extends R>> operation) {
+		return run(requests, window, RetryPolicy.NONE, operation);
+	}
+	
+	/**
+	 * Runs a batch, retrying failed requests.
+	 *
+	 * @param requests  The requests, sent in iteration order.
+	 * @param window    The maximum number of requests in flight, retries included.
+	 * @param retry     Which failures to retry, and how often.
+	 * @param operation Sends one request.
+	 * @return A future completed with every request's outcome; it never completes exceptionally.
+	 */
+	public static <I, R> CompletableFuture<BatchResult<I, R>> run(Collection<? extends I> requests, int window, RetryPolicy retry,
+	                                                             Function<? super I, ? extends CompletableFuture<? extends R>> operation) {
+		if (window < 1) {
+			throw new IllegalArgumentException("window must be at least 1");
+		}
+		return new Run<I, R>(new ArrayList<>(requests), Objects.requireNonNull(retry, "retry"), operation).start(window);
+	}
+	
+	/**
+	 * Answers a whole batch with one request, e.g. a room-wide request standing in for one per participant. Every
+	 * request of the batch gets that request's outcome.
+	 *
+	 * @param requests  The requests being answered.
+	 * @param retry     Which failures to retry, and how often.
+	 * @param operation Sends the combined request.
+	 * @return A future completed with every request's outcome; it never completes exceptionally.
+	 */
+	public static <I, R> CompletableFuture<BatchResult<I, R>> runCombined(Collection<? extends I> requests, RetryPolicy retry,
+	                                                                     Supplier<? extends CompletableFuture<? extends R>> operation) {
+		return runCombined(requests, request -> null, retry, operation);
+	}
+	
+	/**
+	 * Answers a batch with one request, except for the requests that request cannot answer, e.g. participants who
+	 * are not in the room a room-wide request targets. Those fail with the given error without being sent, and take
+	 * no attempts; every other request gets the combined request's outcome.
+	 *
+	 * @param requests  The requests being answered.
+	 * @param rejection Returns the failure of a request the combined request does not answer, or {@code null}.
+	 * @param retry     Which failures to retry, and how often.
+	 * @param operation Sends the combined request; not called if every request is rejected.
+	 * @return A future completed with every request's outcome; it never completes exceptionally.
+	 */
+	public static <I, R> CompletableFuture<BatchResult<I, R>> runCombined(Collection<? extends I> requests,
+	                                                                     Function<? super I, ? extends Throwable> rejection, RetryPolicy retry,
+	                                                                     Supplier<? extends CompletableFuture<? extends R>> operation) {
+		List<I> items = new ArrayList<>(requests);
+		List<Throwable> rejections = new ArrayList<>(items.size());
+		boolean answered = false;
+		for (I item : items) {
+			Throwable rejected = rejection.apply(item);
+			rejections.add(rejected);
+			answered |= rejected == null;
+		}
+		long startNanos = System.nanoTime();
+		int[] attempts = new int[1];
+		CompletableFuture<R> combined = !answered ? CompletableFuture.completedFuture(null) : attempt(retry, () -> {
+			attempts[0]++;
+			return operation.get();
+		}, 1);
+		return combined.handle((response, throwable) -> {
+			List<BatchResult.Outcome<I, R>> outcomes = new ArrayList<>(items.size());
+			for (int i = 0; i < items.size(); i++) {
+				Throwable rejected = rejections.get(i);
+				if (rejected != null) {
+					outcomes.add(new BatchResult.Outcome<>(i, items.get(i), null, rejected, 0));
+				} else {
+					outcomes.add(new BatchResult.Outcome<>(i, items.get(i), throwable == null ? response : null,
+							throwable == null ? null : unwrap(throwable), attempts[0]));
+				}
+			}
+			return new BatchResult<>(outcomes, System.nanoTime() - startNanos);
+		});
+	}
+	
+	/**
+	 * Spreads requests round-robin over several handles, e.g. handles on sessions bound to different connections.
+	 *
+	 * @param handles   The handles to use.
+	 * @param operation Sends one request on a given handle.
+	 * @return An operation for {@link #run(Collection, int, Function)}.
+	 */
+	public static <H, I, R> Function<I, CompletableFuture<R>> spread(List<? extends H> handles,
+	                                                                BiFunction<? super H, ? super I, CompletableFuture<R>> operation) {
+		if (handles.isEmpty()) {
+			throw new IllegalArgumentException("At least one handle is required");
+		}
+		List<? extends H> targets = List.copyOf(handles);
+		AtomicInteger next = new AtomicInteger();
+		return request -> operation.apply(targets.get(Math.floorMod(next.getAndIncrement(), targets.size())), request);
+	}
+	
+	/**
+	 * Sends a request, and again after a backoff for as long as the policy retries its failures.
+	 */
+	private static <R> CompletableFuture<R> attempt(RetryPolicy retry, Supplier<? extends CompletableFuture<? extends R>> operation,
+	                                                int attempt) {
+		CompletableFuture<? extends R> future;
+		try {
+			future = operation.get();
+		} catch (RuntimeException e) {
+			future = CompletableFuture.failedFuture(e);
+		}
+		return future.handle((response, throwable) -> {
+			if (throwable == null) {
+				return CompletableFuture.<R>completedFuture(response);
+			}
+			if (!retry.shouldRetry(throwable, attempt)) {
+				return CompletableFuture.<R>failedFuture(unwrap(throwable));
+			}
+			Executor delayed = CompletableFuture.delayedExecutor(retry.backoffMs(attempt), TimeUnit.MILLISECONDS);
+			return CompletableFuture.supplyAsync(() -> null, delayed)
+					       .thenCompose(ignored -> BatchPipeline.<R>attempt(retry, operation, attempt + 1));
+		}).thenCompose(Function.identity());
+	}
+	
+	static Throwable unwrap(Throwable throwable) {
+		while ((throwable instanceof CompletionException || throwable instanceof ExecutionException) && throwable.getCause() != null) {
+			throwable = throwable.getCause();
+		}
+		return throwable;
+	}
+	
+	private static final class Run<I, R> {
+		private final List<I> requests;
+		private final Function<? super I, ? extends CompletableFuture<? extends R>> operation;
+		private final RetryPolicy retry;
+		private final BatchResult.Outcome<I, R>[] outcomes;
+		private final int[] attempts;
+		private final AtomicInteger next      = new AtomicInteger();
+		private final AtomicInteger remaining;
+		private final CompletableFuture<BatchResult<I, R>> result = new CompletableFuture<>();
+		private long startNanos;
+		
+		@SuppressWarnings("unchecked")
+		Run(List<I> requests, RetryPolicy retry, Function<? super I, ? extends CompletableFuture<? extends R>> operation) {
+			this.requests  = requests;
+			this.retry     = retry;
+			this.operation = operation;
+			this.outcomes  = (BatchResult.Outcome<I, R>[]) new BatchResult.Outcome<?, ?>[requests.size()];
+			this.attempts  = new int[requests.size()];
+			this.remaining = new AtomicInteger(requests.size());
+		}
+		
+		CompletableFuture<BatchResult<I, R>> start(int window) {
+			startNanos = System.nanoTime();
+			if (requests.isEmpty()) {
+				result.complete(new BatchResult<>(List.of(), 0));
+				return result;
+			}
+			for (int i = 0; i < Math.min(window, requests.size()); i++) {
+				pump();
+			}
+			return result;
+		}
+		
+		/**
+		 * Sends requests until one is still pending; requests that complete synchronously are handled in this loop
+		 * rather than by recursing from their callbacks.
+		 */
+		private void pump() {
+			while (true) {
+				int index = next.getAndIncrement();
+				if (index >= requests.size()) {
+					return;
+				}
+				I request = requests.get(index);
+				CompletableFuture<? extends R> future = attempt(retry, () -> {
+					attempts[index]++;
+					return operation.apply(request);
+				}, 1);
+				if (future.isDone()) {
+					record(index, request, future);
+					continue;
+				}
+				future.whenComplete((response, throwable) -> {
+					complete(index, request, response, throwable);
+					pump();
+				});
+				return;
+			}
+		}
+		
+		private void record(int index, I request, CompletableFuture<? extends R> future) {
+			R response = null;
+			Throwable error = null;
+			try {
+				response = future.join();
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			complete(index, request, response, error);
+		}
+		
+		private void complete(int index, I request, R response, Throwable throwable) {
+			outcomes[index] = new BatchResult.Outcome<>(index, request, throwable == null ? response : null,
+					throwable == null ? null : unwrap(throwable), attempts[index]);
+			if (remaining.decrementAndGet() == 0) {
+				result.complete(new BatchResult<>(Arrays.asList(outcomes), System.nanoTime() - startNanos));
+			}
+		}
+	}
+}
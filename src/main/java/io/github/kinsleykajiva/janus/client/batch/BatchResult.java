@@ -0,0 +1,150 @@
+package io.github.kinsleykajiva.janus.client.batch;
+
+import io.github.kinsleykajiva.janus.utils.JanusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The aggregated outcome of a batch: one {@link Outcome} per request, in request order.
+ *
+ * @param <I> The request type.
+ * @param <R> The result type.
+ */
+public final class BatchResult<I, R> {
+	private final List<Outcome<I, R>> outcomes;
+	private final long elapsedNanos;
+	private final int failureCount;
+	
+	BatchResult(List<Outcome<I, R>> outcomes, long elapsedNanos) {
+		this.outcomes     = List.copyOf(outcomes);
+		this.elapsedNanos = elapsedNanos;
+		int failures = 0;
+		for (Outcome<I, R> outcome : outcomes) {
+			if (!outcome.succeeded()) {
+				failures++;
+			}
+		}
+		this.failureCount = failures;
+	}
+	
+	/**
+	 * The outcome of one request.
+	 *
+	 * @param index    The request's position in the batch.
+	 * @param request  The request.
+	 * @param result   Its result, or {@code null} if it failed (or succeeded without a result).
+	 * @param error    Why it failed, or {@code null} if it succeeded.
+	 * @param attempts How many times it was sent.
+	 */
+	public record Outcome<I, R>(int index, I request, R result, Throwable error, int attempts) {
+		public boolean succeeded() {
+			return error == null;
+		}
+	}
+	
+	/**
+	 * @return Every outcome, in request order.
+	 */
+	public List<Outcome<I, R>> outcomes() {
+		return outcomes;
+	}
+	
+	public int size() {
+		return outcomes.size();
+	}
+	
+	public int successCount() {
+		return outcomes.size() - failureCount;
+	}
+	
+	public int failureCount() {
+		return failureCount;
+	}
+	
+	public boolean allSucceeded() {
+		return failureCount == 0;
+	}
+	
+	/**
+	 * @return The results of the successful requests, in request order.
+	 */
+	public List<R> successes() {
+		List<R> results = new ArrayList<>(successCount());
+		for (Outcome<I, R> outcome : outcomes) {
+			if (outcome.succeeded()) {
+				results.add(outcome.result());
+			}
+		}
+		return results;
+	}
+	
+	/**
+	 * @return The outcomes of the failed requests, in request order.
+	 */
+	public List<Outcome<I, R>> failures() {
+		List<Outcome<I, R>> failed = new ArrayList<>(failureCount);
+		for (Outcome<I, R> outcome : outcomes) {
+			if (!outcome.succeeded()) {
+				failed.add(outcome);
+			}
+		}
+		return failed;
+	}
+	
+	/**
+	 * @return The outcomes by request, e.g. by participant ID for a batch keyed on IDs.
+	 */
+	public Map<I, Outcome<I, R>> byRequest() {
+		return byKey(Function.identity());
+	}
+	
+	/**
+	 * Indexes the outcomes by a key of their request, e.g. a participant ID. Later duplicates win.
+	 *
+	 * @return The outcomes by key, in request order.
+	 */
+	public <K> Map<K, Outcome<I, R>> byKey(Function<? super I, ? extends K> key) {
+		Map<K, Outcome<I, R>> byKey = new LinkedHashMap<>();
+		for (Outcome<I, R> outcome : outcomes) {
+			byKey.put(key.apply(outcome.request()), outcome);
+		}
+		return byKey;
+	}
+	
+	/**
+	 * @return The results of all requests, in request order.
+	 * @throws JanusException if any request failed, with the first failure as its cause.
+	 */
+	public List<R> orThrow() {
+		if (failureCount > 0) {
+			Outcome<I, R> first = failures().getFirst();
+			throw new JanusException(failureCount + " of " + outcomes.size() + " batch requests failed; first (#"
+					                         + first.index() + "): " + first.error().getMessage(), first.error());
+		}
+		return successes();
+	}
+	
+	/**
+	 * @return The time from the first request being sent to the last one completing.
+	 */
+	public long elapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	/**
+	 * @return The batch's throughput, in requests completed per second.
+	 */
+	public double requestsPerSecond() {
+		return elapsedNanos == 0 ? 0 : outcomes.size() * 1_000_000_000.0 / elapsedNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return "BatchResult[size=" + outcomes.size() + ", failures=" + failureCount
+				       + ", elapsed=" + elapsedNanos / 1_000_000.0 + "ms]";
+	}
+}
@@ -0,0 +1,70 @@
+package io.github.kinsleykajiva.janus.client.batch;
+
+import io.github.kinsleykajiva.janus.utils.TransientJanusException;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * How a batch retries failed requests. Only use retries for requests that are safe to repeat: a request whose
+ * response was lost may already have been applied.
+ *
+ * @param maxAttempts      The maximum number of times a request is sent, at least 1.
+ * @param initialBackoffMs The delay before the first retry; it doubles for every further retry.
+ * @param retryable        Decides whether a failure is worth retrying.
+ */
+public record RetryPolicy(int maxAttempts, long initialBackoffMs, Predicate<Throwable> retryable) {
+	/**
+	 * Sends every request once.
+	 */
+	public static final RetryPolicy NONE = new RetryPolicy(1, 0, throwable -> false);
+	
+	/**
+	 * Sends a request up to three times, retrying only {@linkplain #isTransient(Throwable) transient} failures.
+	 */
+	public static final RetryPolicy TRANSIENT_FAILURES = new RetryPolicy(3, 100, RetryPolicy::isTransient);
+	
+	private static final long MAX_BACKOFF_MS = 5_000;
+	
+	public RetryPolicy {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("maxAttempts must be at least 1");
+		}
+		if (initialBackoffMs < 0) {
+			throw new IllegalArgumentException("initialBackoffMs must not be negative");
+		}
+	}
+	
+	/**
+	 * Retries {@linkplain #isTransient(Throwable) transient} failures only.
+	 */
+	public static RetryPolicy transientFailures(int maxAttempts, long initialBackoffMs) {
+		return new RetryPolicy(maxAttempts, initialBackoffMs, RetryPolicy::isTransient);
+	}
+	
+	/**
+	 * @return true for failures of the transport rather than of the request: timeouts, requests rejected because
+	 *         too many were in flight, and responses lost with the connection. Errors reported by Janus or a
+	 *         plugin are never transient.
+	 */
+	public static boolean isTransient(Throwable throwable) {
+		Throwable cause = BatchPipeline.unwrap(throwable);
+		return cause instanceof TransientJanusException || cause instanceof TimeoutException;
+	}
+	
+	/**
+	 * @param failedAttempts The number of attempts made so far.
+	 * @return Whether to retry after this failure.
+	 */
+	boolean shouldRetry(Throwable failure, int failedAttempts) {
+		return failedAttempts < maxAttempts && retryable.test(failure);
+	}
+	
+	/**
+	 * @param failedAttempts The number of attempts made so far.
+	 * @return The delay before the next attempt.
+	 */
+	long backoffMs(int failedAttempts) {
+		return Math.min(MAX_BACKOFF_MS, initialBackoffMs << Math.min(failedAttempts - 1, 20));
+	}
+}
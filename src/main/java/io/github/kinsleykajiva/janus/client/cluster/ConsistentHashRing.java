@@ -0,0 +1,144 @@
+package io.github.kinsleykajiva.janus.client.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * A consistent hash ring with virtual nodes.
+ * <p>
+ * Every member is placed on the ring at {@code virtualNodes * weight} pseudo-random points, and a key belongs to
+ * the first member found walking clockwise from the key's hash. Adding or removing a member therefore only moves
+ * the keys adjacent to its points (about {@code 1/n} of all keys) and leaves every other key where it was.
+ * <p>
+ * Lookups are lock-free reads of an immutable snapshot; membership changes, which are rare, rebuild it.
+ *
+ * @param <T> The member type.
+ */
+public final class ConsistentHashRing<T> {
+	public static final int DEFAULT_VIRTUAL_NODES = 128;
+	
+	private final int virtualNodes;
+	private final Map<String, Member<T>> members = new TreeMap<>();
+	private volatile NavigableMap<Long, Member<T>> ring = Collections.emptyNavigableMap();
+	
+	public ConsistentHashRing() {
+		this(DEFAULT_VIRTUAL_NODES);
+	}
+	
+	/**
+	 * @param virtualNodes The number of ring points per unit of member weight.
+	 */
+	public ConsistentHashRing(int virtualNodes) {
+		if (virtualNodes < 1) {
+			throw new IllegalArgumentException("virtualNodes must be at least 1");
+		}
+		this.virtualNodes = virtualNodes;
+	}
+	
+	/**
+	 * Adds or replaces a member.
+	 *
+	 * @param id     The member's stable identity; its ring points are derived from it.
+	 * @param value  The member.
+	 * @param weight The relative share of keys the member should receive.
+	 */
+	public synchronized void add(String id, T value, int weight) {
+		if (weight < 1) {
+			throw new IllegalArgumentException("weight must be at least 1");
+		}
+		members.put(id, new Member<>(id, value, weight));
+		rebuild();
+	}
+	
+	/**
+	 * Removes a member. Only the keys it owned move, each to the next member clockwise.
+	 *
+	 * @param id The member's identity.
+	 * @return true if the member was present.
+	 */
+	public synchronized boolean remove(String id) {
+		boolean removed = members.remove(id) != null;
+		if (removed) {
+			rebuild();
+		}
+		return removed;
+	}
+	
+	/**
+	 * @param key The key, e.g. {@code "janus.plugin.videoroom:1234"}.
+	 * @return The owning member, or {@code null} if the ring is empty.
+	 */
+	public T get(String key) {
+		return get(key, member -> true);
+	}
+	
+	/**
+	 * Finds the owner of a key among the members accepted by {@code eligible}. Keys of ineligible members fall
+	 * through to the next member clockwise, the same place they would move to if that member were removed.
+	 *
+	 * @param key      The key.
+	 * @param eligible Which members may own keys right now.
+	 * @return The owning member, or {@code null} if no member is eligible.
+	 */
+	public T get(String key, Predicate<T> eligible) {
+		NavigableMap<Long, Member<T>> snapshot = ring;
+		if (snapshot.isEmpty()) {
+			return null;
+		}
+		long hash = hash(key);
+		for (Member<T> member : snapshot.tailMap(hash, true).values()) {
+			if (eligible.test(member.value())) {
+				return member.value();
+			}
+		}
+		for (Member<T> member : snapshot.headMap(hash, false).values()) {
+			if (eligible.test(member.value())) {
+				return member.value();
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @return The number of members.
+	 */
+	public synchronized int size() {
+		return members.size();
+	}
+	
+	private void rebuild() {
+		NavigableMap<Long, Member<T>> next = new TreeMap<>();
+		for (Member<T> member : members.values()) {
+			int points = virtualNodes * member.weight();
+			for (int i = 0; i < points; i++) {
+				// On the rare collision the member with the smaller id keeps the point, so the ring is deterministic
+				next.merge(hash(member.id() + '#' + i), member, (a, b) -> a.id().compareTo(b.id()) <= 0 ? a : b);
+			}
+		}
+		ring = Collections.unmodifiableNavigableMap(next);
+	}
+	
+	/**
+	 * 64-bit FNV-1a over the UTF-8 bytes, followed by the MurmurHash3 finalizer to spread similar keys (such as
+	 * consecutive room numbers) evenly around the ring.
+	 */
+	static long hash(String key) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			h ^= b & 0xff;
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+	
+	private record Member<T>(String id, T value, int weight) {}
+}
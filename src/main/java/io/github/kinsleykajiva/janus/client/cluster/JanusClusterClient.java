@@ -0,0 +1,285 @@
+package io.github.kinsleykajiva.janus.client.cluster;
+
+import io.github.kinsleykajiva.janus.admin.JanusAdminClient;
+import io.github.kinsleykajiva.janus.client.JanusClient;
+import io.github.kinsleykajiva.janus.client.JanusSession;
+import io.github.kinsleykajiva.janus.utils.JanusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A client for a fleet of Janus gateways.
+ * <p>
+ * Keeps one {@link JanusClient} (and optionally one {@link JanusAdminClient}) per {@link JanusClusterNode} and
+ * decides where sessions go:
+ * <ul>
+ *   <li>Sessions for a VideoRoom or AudioBridge room go to the node that owns the room on a
+ *       {@link ConsistentHashRing}, so every participant of a room meets on the same gateway. When a node joins or
+ *       leaves, only the rooms adjacent to it on the ring move.</li>
+ *   <li>Other sessions go to the available node with the lowest load score: the larger of the sessions placed
+ *       through this client and the sessions the node's Admin API reports, divided by the node's weight. Nodes
+ *       whose {@link io.github.kinsleykajiva.janus.utils.ServerInfo#acceptingNewSessions()} is false are skipped.</li>
+ * </ul>
+ * Load statistics are refreshed in the background. Create a client with
+ * {@link #connectAsync(Collection, long)}.
+ */
+public final class JanusClusterClient {
+	private static final Logger logger                     = LoggerFactory.getLogger(JanusClusterClient.class);
+	public static final String VIDEOROOM_PLUGIN            = "janus.plugin.videoroom";
+	public static final String AUDIOBRIDGE_PLUGIN          = "janus.plugin.audiobridge";
+	private static final long DEFAULT_LOAD_REFRESH_SECONDS = 15;
+	
+	private final Map<String, NodeState> nodes           = new ConcurrentHashMap<>();
+	private final ConsistentHashRing<NodeState> ring     = new ConsistentHashRing<>();
+	private final ScheduledExecutorService loadRefresher = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+	
+	private JanusClusterClient() {
+	}
+	
+	/**
+	 * Creates a cluster client without blocking, refreshing load statistics every
+	 * {@value #DEFAULT_LOAD_REFRESH_SECONDS} seconds.
+	 *
+	 * @see #connectAsync(Collection, long)
+	 */
+	public static CompletableFuture<JanusClusterClient> connectAsync(Collection<JanusClusterNode> nodes) {
+		return connectAsync(nodes, DEFAULT_LOAD_REFRESH_SECONDS);
+	}
+	
+	/**
+	 * Creates a cluster client and connects to the initial gateways concurrently, without blocking. Gateways that
+	 * cannot be reached are logged and left out; they can be added later with {@link #addNode(JanusClusterNode)}.
+	 *
+	 * @param nodes              The initial gateways.
+	 * @param loadRefreshSeconds How often to refresh load statistics from the gateways.
+	 * @return A future that completes with the client once every initial gateway has been added or given up on.
+	 */
+	public static CompletableFuture<JanusClusterClient> connectAsync(Collection<JanusClusterNode> nodes, long loadRefreshSeconds) {
+		JanusClusterClient cluster = new JanusClusterClient();
+		CompletableFuture<?>[] added = nodes.stream()
+				                               .map(node -> cluster.addNodeAsync(node).exceptionally(throwable -> {
+					                               logger.error("Could not add Janus node {} at {}: {}", node.id(), node.config().getUri(), throwable.getMessage());
+					                               return null;
+				                               }))
+				                               .toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(added).thenApply(ignored -> {
+			cluster.loadRefresher.scheduleWithFixedDelay(cluster::refreshLoad, loadRefreshSeconds, loadRefreshSeconds, TimeUnit.SECONDS);
+			return cluster;
+		});
+	}
+	
+	/**
+	 * Connects to a new gateway and adds it to the ring. Only the rooms whose ring position now falls on the new
+	 * node move to it.
+	 *
+	 * @param node The gateway.
+	 * @throws IllegalArgumentException if a node with the same id is already a member.
+	 * @throws JanusException if the gateway cannot be reached.
+	 */
+	public void addNode(JanusClusterNode node) {
+		try {
+			addNodeAsync(node).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new JanusException("Could not add Janus node " + node.id(), e.getCause());
+		}
+	}
+	
+	/**
+	 * Connects to a new gateway without blocking and adds it to the ring once connected.
+	 *
+	 * @param node The gateway.
+	 * @return A future that completes once the node is a member, or fails if it cannot be reached or a node with
+	 *         the same id is already a member.
+	 */
+	public CompletableFuture<Void> addNodeAsync(JanusClusterNode node) {
+		if (nodes.containsKey(node.id())) {
+			return CompletableFuture.failedFuture(new IllegalArgumentException("Node already in cluster: " + node.id()));
+		}
+		// Continue on a thread of our own: the admin client connects blocking, and disconnect() waits for the client's
+		// executor, so neither may run on a thread of the new client
+		return JanusClient.connectAsync(node.config()).thenAcceptAsync(client -> {
+			NodeState state = new NodeState(node, client,
+					node.adminConfig() != null ? new JanusAdminClient(node.adminConfig()) : null);
+			if (nodes.putIfAbsent(node.id(), state) != null) {
+				// Lost a race with a concurrent add
+				client.disconnect();
+				if (state.adminClient != null) {
+					state.adminClient.disconnect();
+				}
+				throw new IllegalArgumentException("Node already in cluster: " + node.id());
+			}
+			ring.add(node.id(), state, node.weight());
+			refreshLoad(state);
+			logger.info("Added Janus node {} at {}", node.id(), node.config().getUri());
+		}, Thread::startVirtualThread);
+	}
+	
+	/**
+	 * Removes a gateway from the ring and disconnects from it. Its rooms move to the next node on the ring; sessions
+	 * that lived on it are lost.
+	 *
+	 * @param id The node id.
+	 * @return true if the node was a member.
+	 */
+	public boolean removeNode(String id) {
+		NodeState state = nodes.remove(id);
+		if (state == null) {
+			return false;
+		}
+		ring.remove(id);
+		state.client.disconnect();
+		if (state.adminClient != null) {
+			state.adminClient.disconnect();
+		}
+		logger.info("Removed Janus node {}", id);
+		return true;
+	}
+	
+	/**
+	 * Finds the gateway that owns a room.
+	 * <p>
+	 * Nodes that are currently unreachable are skipped, so their rooms fall through to the next node; nodes that are
+	 * merely not accepting new sessions keep their rooms, otherwise a room's participants could be split across
+	 * gateways.
+	 *
+	 * @param plugin The plugin package, e.g. {@link #VIDEOROOM_PLUGIN}; each plugin has its own room namespace.
+	 * @param roomId The room id, numeric or string.
+	 * @return The client for the owning gateway.
+	 * @throws JanusException if no node is available.
+	 */
+	public JanusClient clientForRoom(String plugin, String roomId) {
+		NodeState owner = ring.get(plugin + ':' + roomId, NodeState::isAvailable);
+		if (owner == null) {
+			throw new JanusException("No Janus node available for room " + roomId);
+		}
+		return owner.client;
+	}
+	
+	public JanusClient clientForVideoRoom(long room) {
+		return clientForRoom(VIDEOROOM_PLUGIN, Long.toString(room));
+	}
+	
+	public JanusClient clientForAudioBridgeRoom(long room) {
+		return clientForRoom(AUDIOBRIDGE_PLUGIN, Long.toString(room));
+	}
+	
+	/**
+	 * Creates a session on the gateway that owns a room.
+	 *
+	 * @see #clientForRoom(String, String)
+	 */
+	public CompletableFuture<JanusSession> createSessionForRoom(String plugin, long room) {
+		return clientForRoom(plugin, Long.toString(room)).createSession();
+	}
+	
+	/**
+	 * Creates a session that is not tied to a room on the least loaded gateway.
+	 *
+	 * @return A future that completes with the session, or fails if no node can take it.
+	 */
+	public CompletableFuture<JanusSession> createSession() {
+		NodeState best = null;
+		double bestScore = Double.MAX_VALUE;
+		for (NodeState state : nodes.values()) {
+			if (!state.isAvailable() || !state.acceptingNewSessions) {
+				continue;
+			}
+			double score = state.score();
+			if (score < bestScore) {
+				best      = state;
+				bestScore = score;
+			}
+		}
+		if (best == null) {
+			return CompletableFuture.failedFuture(new JanusException("No Janus node is accepting new sessions"));
+		}
+		return best.client.createSession();
+	}
+	
+	/**
+	 * Refreshes the load statistics of every node now, in addition to the periodic refresh.
+	 */
+	public void refreshLoad() {
+		nodes.values().forEach(this::refreshLoad);
+	}
+	
+	private void refreshLoad(NodeState state) {
+		if (!state.client.isConnected()) {
+			return;
+		}
+		try {
+			state.client.getServerInfo().whenComplete((info, throwable) -> {
+				if (throwable == null) {
+					state.acceptingNewSessions = info.acceptingNewSessions();
+				} else {
+					logger.warn("Could not refresh server info of node {}: {}", state.node.id(), throwable.getMessage());
+				}
+			});
+			if (state.adminClient != null) {
+				state.adminClient.listSessions().whenComplete((response, throwable) -> {
+					if (throwable == null) {
+						state.reportedSessions = response.getSessionIds().size();
+					} else {
+						logger.warn("Could not list sessions of node {}: {}", state.node.id(), throwable.getMessage());
+					}
+				});
+			}
+		} catch (RuntimeException e) {
+			// A failed send must not cancel the periodic refresh
+			logger.warn("Could not refresh load of node {}: {}", state.node.id(), e.getMessage());
+		}
+	}
+	
+	/**
+	 * @return The client of every node, keyed by node id.
+	 */
+	public Map<String, JanusClient> getClients() {
+		Map<String, JanusClient> clients = new LinkedHashMap<>();
+		nodes.forEach((id, state) -> clients.put(id, state.client));
+		return Collections.unmodifiableMap(clients);
+	}
+	
+	/**
+	 * Stops the load refresher and disconnects from every node.
+	 */
+	public void disconnect() {
+		loadRefresher.shutdownNow();
+		nodes.keySet().forEach(this::removeNode);
+	}
+	
+	private static final class NodeState {
+		private final JanusClusterNode node;
+		private final JanusClient client;
+		private final JanusAdminClient adminClient;
+		private volatile boolean acceptingNewSessions = true;
+		private volatile int reportedSessions;
+		
+		private NodeState(JanusClusterNode node, JanusClient client, JanusAdminClient adminClient) {
+			this.node        = node;
+			this.client      = client;
+			this.adminClient = adminClient;
+		}
+		
+		private boolean isAvailable() {
+			return client.isConnected();
+		}
+		
+		private double score() {
+			return (double) Math.max(client.getSessions().size(), reportedSessions) / node.weight();
+		}
+	}
+}
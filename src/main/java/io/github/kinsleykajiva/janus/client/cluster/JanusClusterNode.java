@@ -0,0 +1,36 @@
+package io.github.kinsleykajiva.janus.client.cluster;
+
+import io.github.kinsleykajiva.janus.admin.JanusAdminConfiguration;
+import io.github.kinsleykajiva.janus.client.JanusConfiguration;
+
+import java.util.Objects;
+
+/**
+ * One gateway of a {@link JanusClusterClient}.
+ *
+ * @param id          A stable, unique name for the node (e.g. its hostname). Room placement is derived from it, so
+ *                    it must not change between restarts.
+ * @param config      How to reach the node's Janus API.
+ * @param adminConfig How to reach the node's Admin API for load statistics, or {@code null} to rely on local counts.
+ * @param weight      The node's relative capacity; a node of weight 2 receives about twice as many rooms.
+ */
+public record JanusClusterNode(String id, JanusConfiguration config, JanusAdminConfiguration adminConfig, int weight) {
+	
+	public JanusClusterNode {
+		Objects.requireNonNull(id, "Node id cannot be null");
+		Objects.requireNonNull(config, "Node configuration cannot be null");
+		if (weight < 1) {
+			throw new IllegalArgumentException("weight must be at least 1");
+		}
+	}
+	
+	/**
+	 * Creates a node of weight 1 without Admin API access.
+	 *
+	 * @param id     A stable, unique name for the node.
+	 * @param config How to reach the node's Janus API.
+	 */
+	public JanusClusterNode(String id, JanusConfiguration config) {
+		this(id, config, null, 1);
+	}
+}
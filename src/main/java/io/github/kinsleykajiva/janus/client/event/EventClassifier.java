@@ -0,0 +1,140 @@
+package io.github.kinsleykajiva.janus.client.event;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A precomputed table that classifies a plugin's {@code plugindata.data} into an enum event kind.
+ * <p>
+ * The kind is found with a single lookup on a discriminator value (e.g. {@code data.videoroom} or
+ * {@code data.result.event}). Generic container values such as VideoRoom's {@code "event"} carry an ordered list
+ * of key probes instead; the first probe that matches decides the kind. Tables are immutable and meant to be built
+ * once per plugin and shared.
+ *
+ * @param <K> The plugin's event kind enum.
+ */
+public final class EventClassifier<K extends Enum<K>> {
+	private final String[] discriminatorPath;
+	private final Map<String, K> kinds;
+	private final Map<String, Probe<K>[]> containers;
+
+	private EventClassifier(Builder<K> builder) {
+		this.discriminatorPath = builder.discriminatorPath;
+		this.kinds             = Map.copyOf(builder.kinds);
+		Map<String, Probe<K>[]> containers = new HashMap<>();
+		builder.containers.forEach((value, probes) -> containers.put(value, toArray(probes)));
+		this.containers = Map.copyOf(containers);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K extends Enum<K>> Probe<K>[] toArray(List<Probe<K>> probes) {
+		return (Probe<K>[]) probes.toArray(new Probe<?>[0]);
+	}
+
+	/**
+	 * Starts a table keyed on the string at the given path inside {@code plugindata.data}.
+	 *
+	 * @param type              The event kind enum.
+	 * @param discriminatorPath The keys leading to the discriminator, e.g. {@code "videoroom"} or
+	 *                          {@code "result", "event"}.
+	 */
+	public static <K extends Enum<K>> Builder<K> builder(Class<K> type, String... discriminatorPath) {
+		return new Builder<>(type, discriminatorPath);
+	}
+
+	/**
+	 * Classifies an event without decoding it.
+	 *
+	 * @param data The event's {@code plugindata.data}.
+	 * @return The kind, or {@code null} for events the table does not know.
+	 */
+	public K classify(JSONObject data) {
+		JSONObject node = data;
+		for (int i = 0; i < discriminatorPath.length - 1; i++) {
+			node = node.optJSONObject(discriminatorPath[i]);
+			if (node == null) {
+				return null;
+			}
+		}
+		String value = node.optString(discriminatorPath[discriminatorPath.length - 1], null);
+		if (value == null) {
+			return null;
+		}
+		K kind = kinds.get(value);
+		if (kind != null) {
+			return kind;
+		}
+		Probe<K>[] probes = containers.get(value);
+		if (probes != null) {
+			for (Probe<K> probe : probes) {
+				if (probe.matches(data)) {
+					return probe.kind();
+				}
+			}
+		}
+		return null;
+	}
+
+	private record Probe<K>(String key, String expected, K kind) {
+		boolean matches(JSONObject data) {
+			return expected == null ? data.has(key) : expected.equals(data.optString(key, null));
+		}
+	}
+
+	public static final class Builder<K extends Enum<K>> {
+		private final String[] discriminatorPath;
+		private final Map<String, K> kinds = new HashMap<>();
+		private final Map<String, List<Probe<K>>> containers = new HashMap<>();
+
+		private Builder(Class<K> type, String... discriminatorPath) {
+			Objects.requireNonNull(type, "type");
+			if (discriminatorPath.length == 0) {
+				throw new IllegalArgumentException("A discriminator path is required");
+			}
+			this.discriminatorPath = discriminatorPath.clone();
+		}
+
+		/**
+		 * Maps a discriminator value straight to a kind.
+		 */
+		public Builder<K> on(String value, K kind) {
+			if (containers.containsKey(value)) {
+				throw new IllegalStateException("'" + value + "' is already a container value");
+			}
+			kinds.put(value, Objects.requireNonNull(kind, "kind"));
+			return this;
+		}
+
+		/**
+		 * Adds a probe to a container value: matches when {@code data} has the key. Probes run in the order added.
+		 */
+		public Builder<K> onKey(String value, String key, K kind) {
+			return addProbe(value, new Probe<>(key, null, kind));
+		}
+
+		/**
+		 * Adds a probe to a container value: matches when {@code data}'s key has the given string value.
+		 */
+		public Builder<K> onKeyEquals(String value, String key, String expected, K kind) {
+			return addProbe(value, new Probe<>(key, Objects.requireNonNull(expected, "expected"), kind));
+		}
+
+		private Builder<K> addProbe(String value, Probe<K> probe) {
+			if (kinds.containsKey(value)) {
+				throw new IllegalStateException("'" + value + "' is already mapped to " + kinds.get(value));
+			}
+			Objects.requireNonNull(probe.kind(), "kind");
+			containers.computeIfAbsent(value, v -> new ArrayList<>()).add(probe);
+			return this;
+		}
+
+		public EventClassifier<K> build() {
+			return new EventClassifier<>(this);
+		}
+	}
+}
@@ -0,0 +1,294 @@
+package io.github.kinsleykajiva.janus.client.event;
+
+import io.github.kinsleykajiva.janus.utils.JanusException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Flow.Publisher} of Janus events with a bounded buffer per subscriber.
+ * <p>
+ * {@link #publish(JSONObject)} never blocks and never calls into subscribers: it only appends to each subscriber's
+ * buffer. Every subscription is drained serially on its own virtual thread as the subscriber requests events, so
+ * a slow subscriber only ever delays itself. When a buffer is full the subscription's {@link OverflowPolicy}
+ * decides what gives way.
+ * <p>
+ * Events are shared between subscribers and must be treated as read-only.
+ */
+public final class EventPublisher implements Flow.Publisher<JSONObject> {
+	private static final Logger logger                 = LoggerFactory.getLogger(EventPublisher.class);
+	private static final Executor DEFAULT_EXECUTOR     = Executors.newVirtualThreadPerTaskExecutor();
+
+	private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+	private final Executor executor;
+	private volatile boolean closed;
+
+	public EventPublisher() {
+		this(DEFAULT_EXECUTOR);
+	}
+
+	/**
+	 * @param executor Runs the subscribers' signals; each subscription is drained by at most one task at a time.
+	 */
+	public EventPublisher(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Subscribes with {@link EventStreamOptions#defaults()}.
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super JSONObject> subscriber) {
+		subscribe(subscriber, EventStreamOptions.defaults());
+	}
+
+	public void subscribe(Flow.Subscriber<? super JSONObject> subscriber, EventStreamOptions options) {
+		Objects.requireNonNull(subscriber, "subscriber");
+		Objects.requireNonNull(options, "options");
+		Subscription subscription = new Subscription(subscriber, options);
+		subscriptions.add(subscription);
+		if (closed) {
+			subscription.complete();
+		}
+		subscription.schedule();
+	}
+
+	/**
+	 * @return A view of this publisher that subscribes with the given options.
+	 */
+	public Flow.Publisher<JSONObject> withOptions(EventStreamOptions options) {
+		return subscriber -> subscribe(subscriber, options);
+	}
+
+	/**
+	 * Offers an event to every subscriber.
+	 */
+	public void publish(JSONObject event) {
+		for (Subscription subscription : subscriptions) {
+			subscription.offer(event);
+		}
+	}
+
+	/**
+	 * @return true if anyone is subscribed; lets producers skip building events nobody will see.
+	 */
+	public boolean hasSubscribers() {
+		return !subscriptions.isEmpty();
+	}
+
+	public int subscriberCount() {
+		return subscriptions.size();
+	}
+
+	/**
+	 * Completes every subscription once its buffered events are delivered; later subscribers complete immediately.
+	 */
+	public void close() {
+		closed = true;
+		for (Subscription subscription : subscriptions) {
+			subscription.complete();
+		}
+	}
+
+	private final class Subscription implements Flow.Subscription, Runnable {
+		private final Flow.Subscriber<? super JSONObject> subscriber;
+		private final EventStreamOptions options;
+		private final ArrayDeque<JSONObject> queue;
+		private final LinkedHashMap<Object, JSONObject> conflated;
+		private final AtomicInteger wip = new AtomicInteger();
+		// Guarded by this
+		private long demand;
+		private boolean done;
+		private Throwable error;
+		// Only touched by the draining task
+		private boolean started;
+		private boolean terminated;
+		private volatile boolean cancelled;
+
+		Subscription(Flow.Subscriber<? super JSONObject> subscriber, EventStreamOptions options) {
+			this.subscriber = subscriber;
+			this.options    = options;
+			boolean conflate = options.policy() == OverflowPolicy.CONFLATE_BY_KEY;
+			this.queue       = conflate ? null : new ArrayDeque<>();
+			this.conflated   = conflate ? new LinkedHashMap<>() : null;
+		}
+
+		void offer(JSONObject event) {
+			synchronized (this) {
+				if (done || cancelled) {
+					return;
+				}
+				if (conflated != null) {
+					Object key = keyOf(event);
+					if (key == null || !conflated.containsKey(key)) {
+						if (conflated.size() >= options.bufferSize()) {
+							Iterator<JSONObject> oldest = conflated.values().iterator();
+							oldest.next();
+							oldest.remove();
+						}
+						key = key == null ? new Object() : key;
+					}
+					conflated.put(key, event);
+				} else if (queue.size() < options.bufferSize()) {
+					queue.offerLast(event);
+				} else if (options.policy() == OverflowPolicy.FAIL) {
+					queue.clear();
+					done  = true;
+					error = new JanusException("Event buffer overflow: subscriber fell more than "
+							                           + options.bufferSize() + " events behind");
+				} else {
+					queue.pollFirst();
+					queue.offerLast(event);
+				}
+			}
+			schedule();
+		}
+
+		void complete() {
+			synchronized (this) {
+				done = true;
+			}
+			schedule();
+		}
+
+		@Override
+		public void request(long n) {
+			synchronized (this) {
+				if (n <= 0) {
+					clear();
+					done  = true;
+					error = new IllegalArgumentException("Requested " + n + " events, must be positive");
+				} else {
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+				}
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			synchronized (this) {
+				clear();
+			}
+			subscriptions.remove(this);
+		}
+
+		void schedule() {
+			if (wip.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				if (!started) {
+					started = true;
+					try {
+						subscriber.onSubscribe(this);
+					} catch (Throwable t) {
+						logger.error("Event subscriber failed in onSubscribe: {}", t.getMessage(), t);
+						cancel();
+					}
+				}
+				if (!drain()) {
+					return;
+				}
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		/**
+		 * @return false once the subscription is over and nothing more will be delivered.
+		 */
+		private boolean drain() {
+			while (true) {
+				if (cancelled || terminated) {
+					return false;
+				}
+				JSONObject next = null;
+				Throwable failure = null;
+				boolean finish = false;
+				synchronized (this) {
+					if (error != null || (done && isEmpty())) {
+						// Errors skip whatever is still buffered; completion waits for it to be delivered
+						finish  = true;
+						failure = error;
+						clear();
+					} else if (isEmpty() || demand == 0) {
+						return true;
+					} else {
+						next = poll();
+						if (demand != Long.MAX_VALUE) {
+							demand--;
+						}
+					}
+				}
+				if (finish) {
+					terminated = true;
+					subscriptions.remove(this);
+					try {
+						if (failure != null) {
+							subscriber.onError(failure);
+						} else {
+							subscriber.onComplete();
+						}
+					} catch (Throwable t) {
+						logger.error("Event subscriber failed while terminating: {}", t.getMessage(), t);
+					}
+					return false;
+				}
+				try {
+					subscriber.onNext(next);
+				} catch (Throwable t) {
+					// A subscriber that throws has broken the protocol; stop delivering to it
+					logger.error("Event subscriber failed in onNext, cancelling its subscription: {}", t.getMessage(), t);
+					cancel();
+					return false;
+				}
+			}
+		}
+
+		private Object keyOf(JSONObject event) {
+			try {
+				return options.conflationKey().apply(event);
+			} catch (RuntimeException e) {
+				return null;
+			}
+		}
+
+		private boolean isEmpty() {
+			return queue != null ? queue.isEmpty() : conflated.isEmpty();
+		}
+
+		private JSONObject poll() {
+			if (queue != null) {
+				return queue.pollFirst();
+			}
+			Iterator<JSONObject> oldest = conflated.values().iterator();
+			JSONObject event = oldest.next();
+			oldest.remove();
+			return event;
+		}
+
+		private void clear() {
+			if (queue != null) {
+				queue.clear();
+			} else {
+				conflated.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package io.github.kinsleykajiva.janus.client.event;
+
+import org.json.JSONObject;
+
+import java.util.function.Function;
+
+/**
+ * Per-subscriber settings of an event stream.
+ *
+ * @param bufferSize    The number of events buffered for a subscriber that has not requested them yet.
+ * @param policy        What to do when the buffer is full.
+ * @param conflationKey The key events are conflated by; required for {@link OverflowPolicy#CONFLATE_BY_KEY}.
+ */
+public record EventStreamOptions(int bufferSize, OverflowPolicy policy, Function<JSONObject, ?> conflationKey) {
+	public static final int DEFAULT_BUFFER_SIZE = 256;
+	
+	public EventStreamOptions {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("bufferSize must be at least 1");
+		}
+		if (policy == OverflowPolicy.CONFLATE_BY_KEY && conflationKey == null) {
+			throw new IllegalArgumentException("CONFLATE_BY_KEY requires a conflation key");
+		}
+	}
+	
+	/**
+	 * @return {@value #DEFAULT_BUFFER_SIZE} events, dropping the oldest on overflow.
+	 */
+	public static EventStreamOptions defaults() {
+		return new EventStreamOptions(DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP_OLDEST, null);
+	}
+	
+	public static EventStreamOptions dropOldest(int bufferSize) {
+		return new EventStreamOptions(bufferSize, OverflowPolicy.DROP_OLDEST, null);
+	}
+	
+	public static EventStreamOptions failOnOverflow(int bufferSize) {
+		return new EventStreamOptions(bufferSize, OverflowPolicy.FAIL, null);
+	}
+	
+	/**
+	 * @param key Extracts the conflation key, e.g. the participant id from the plugin data; events mapping to
+	 *            {@code null} are never conflated.
+	 */
+	public static EventStreamOptions conflateBy(int bufferSize, Function<JSONObject, ?> key) {
+		return new EventStreamOptions(bufferSize, OverflowPolicy.CONFLATE_BY_KEY, key);
+	}
+}
@@ -0,0 +1,20 @@
+package io.github.kinsleykajiva.janus.client.event;
+
+/**
+ * What an event stream does when a subscriber's buffer is full.
+ */
+public enum OverflowPolicy {
+	/**
+	 * Discard the oldest buffered event to make room for the new one.
+	 */
+	DROP_OLDEST,
+	/**
+	 * Replace a buffered event that has the same key as the new one (e.g. the same participant's talking state),
+	 * keeping only the latest; events with a new key drop the oldest event once the buffer is full.
+	 */
+	CONFLATE_BY_KEY,
+	/**
+	 * Terminate the subscription with an error.
+	 */
+	FAIL
+}
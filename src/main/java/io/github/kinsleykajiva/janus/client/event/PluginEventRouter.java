@@ -0,0 +1,118 @@
+package io.github.kinsleykajiva.janus.client.event;
+
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Routes plugin events to handlers registered per event kind.
+ * <p>
+ * {@link #route(Object, JSONObject)} extracts {@code plugindata.data} once, classifies the event once through the
+ * plugin's {@link EventClassifier}, runs the handlers registered with {@link #onAny(AnyHandler)} and then only that
+ * kind's handlers. The cost of routing an event does not depend on how many kinds or handlers exist.
+ * <p>
+ * Handlers receive the target the event is routed for, typically the plugin handle, so one router can be built
+ * once per plugin and shared by all of its handles. Registration is thread-safe and copy-on-write; routing never
+ * locks.
+ *
+ * @param <K> The plugin's event kind enum.
+ * @param <T> The type of the target events are routed for.
+ */
+public final class PluginEventRouter<K extends Enum<K>, T> {
+	private final EventClassifier<K> classifier;
+	private volatile Handler<T>[][] handlers;
+	private volatile AnyHandler<K, T>[] anyHandlers;
+
+	/**
+	 * @param type       The event kind enum.
+	 * @param classifier The plugin's classification table.
+	 */
+	@SuppressWarnings("unchecked")
+	public PluginEventRouter(Class<K> type, EventClassifier<K> classifier) {
+		this.classifier = Objects.requireNonNull(classifier, "classifier");
+		Handler<T>[][] table = (Handler<T>[][]) new Handler<?>[type.getEnumConstants().length][];
+		Arrays.fill(table, (Handler<T>[]) new Handler<?>[0]);
+		this.handlers    = table;
+		this.anyHandlers = (AnyHandler<K, T>[]) new AnyHandler<?, ?>[0];
+	}
+
+	/**
+	 * Handles one routed plugin event.
+	 */
+	@FunctionalInterface
+	public interface Handler<T> {
+		/**
+		 * @param target The target the event is routed for.
+		 * @param event  The full event, e.g. for its {@code jsep}.
+		 * @param data   The event's {@code plugindata.data}.
+		 */
+		void handle(T target, JSONObject event, JSONObject data);
+	}
+
+	/**
+	 * Handles every routed plugin event, classified or not.
+	 */
+	@FunctionalInterface
+	public interface AnyHandler<K, T> {
+		/**
+		 * @param target The target the event is routed for.
+		 * @param kind   The event's kind, or {@code null} if it has none.
+		 * @param event  The full event.
+		 * @param data   The event's {@code plugindata.data}.
+		 */
+		void handle(T target, K kind, JSONObject event, JSONObject data);
+	}
+
+	/**
+	 * Registers a handler for one kind. Handlers of a kind run in registration order.
+	 */
+	public synchronized PluginEventRouter<K, T> on(K kind, Handler<T> handler) {
+		Objects.requireNonNull(handler, "handler");
+		Handler<T>[][] table = handlers.clone();
+		table[kind.ordinal()] = append(table[kind.ordinal()], handler);
+		handlers = table;
+		return this;
+	}
+
+	/**
+	 * Registers a handler for every plugin event, classified or not. These run, in registration order, before the
+	 * per-kind handlers.
+	 */
+	public synchronized PluginEventRouter<K, T> onAny(AnyHandler<K, T> handler) {
+		Objects.requireNonNull(handler, "handler");
+		anyHandlers = append(anyHandlers, handler);
+		return this;
+	}
+
+	/**
+	 * Routes an event.
+	 *
+	 * @param target The target handlers receive, e.g. the handle the event arrived on.
+	 * @param event  The full event as received from Janus.
+	 * @return The event's kind, or {@code null} if it is not a plugin event or has no kind.
+	 */
+	public K route(T target, JSONObject event) {
+		JSONObject pluginData = event.optJSONObject("plugindata");
+		JSONObject data = pluginData == null ? null : pluginData.optJSONObject("data");
+		if (data == null) {
+			return null; // Not a valid plugin event
+		}
+		K kind = classifier.classify(data);
+		for (AnyHandler<K, T> handler : anyHandlers) {
+			handler.handle(target, kind, event, data);
+		}
+		if (kind != null) {
+			for (Handler<T> handler : handlers[kind.ordinal()]) {
+				handler.handle(target, event, data);
+			}
+		}
+		return kind;
+	}
+
+	private static <H> H[] append(H[] current, H handler) {
+		H[] grown = Arrays.copyOf(current, current.length + 1);
+		grown[current.length] = handler;
+		return grown;
+	}
+}
@@ -0,0 +1,50 @@
+package io.github.kinsleykajiva.janus.client.event;
+
+import org.json.JSONObject;
+
+/**
+ * The kinds of SIP plugin event, keyed on {@code plugindata.data.result.event}.
+ */
+public enum SipEventKind {
+	REGISTRATION_FAILED,
+	REGISTERED,
+	INCOMING_CALL,
+	MISSED_CALL,
+	MESSAGE,
+	INFO,
+	NOTIFY,
+	TRANSFER,
+	MESSAGE_DELIVERY,
+	HANGUP;
+	
+	private static final EventClassifier<SipEventKind> CLASSIFIER =
+			EventClassifier.builder(SipEventKind.class, "result", "event")
+					.on("registration_failed", REGISTRATION_FAILED)
+					.on("registered", REGISTERED)
+					.on("incomingcall", INCOMING_CALL)
+					.on("missed_call", MISSED_CALL)
+					.on("message", MESSAGE)
+					.on("info", INFO)
+					.on("notify", NOTIFY)
+					.on("transfer", TRANSFER)
+					.on("messagedelivery", MESSAGE_DELIVERY)
+					.on("hangup", HANGUP)
+					.build();
+	
+	/**
+	 * Classifies a SIP event without decoding it.
+	 *
+	 * @param data The event's {@code plugindata.data}.
+	 * @return The kind, or {@code null} for events without a typed callback.
+	 */
+	public static SipEventKind classify(JSONObject data) {
+		return CLASSIFIER.classify(data);
+	}
+	
+	/**
+	 * @return The shared classification table for SIP events.
+	 */
+	public static EventClassifier<SipEventKind> classifier() {
+		return CLASSIFIER;
+	}
+}
@@ -1,6 +1,8 @@
 package io.github.kinsleykajiva.janus.client.handle;
 
+import io.github.kinsleykajiva.janus.client.JanusClient;
 import io.github.kinsleykajiva.janus.client.JanusSession;
+import io.github.kinsleykajiva.janus.client.event.EventPublisher;
 import io.github.kinsleykajiva.janus.client.event.JanusEventListener;
 import org.json.JSONObject;
 import org.jspecify.annotations.NonNull;
@@ -13,6 +15,7 @@ public abstract class JanusHandle {
 	protected final JanusSession session;
 	protected final long handleId;
 	protected final List<JanusEventListener> listeners = new CopyOnWriteArrayList<>();
+	private final EventPublisher events = new EventPublisher();
 	private final HandleType handleType;
 	
 	public JanusHandle(JanusSession session, long handleId, @NonNull HandleType handleType) {
@@ -41,6 +44,18 @@ public abstract class JanusHandle {
 		listeners.remove(listener);
 	}
 	
+	/**
+	 * Returns the stream of this handle's asynchronous events. Unlike listeners, which are called in line with
+	 * dispatch, each subscriber gets its own bounded buffer and consumes at its own pace; subscribe through
+	 * {@link EventPublisher#withOptions} to pick the buffer size and overflow policy. The stream completes when the
+	 * handle is detached.
+	 *
+	 * @return The handle's event publisher.
+	 */
+	public EventPublisher events() {
+		return events;
+	}
+	
 	public abstract void fireEvent(JSONObject event);
 	
 	public CompletableFuture<JSONObject> sendMessageIce(String sdpMid,  int sdpLineNumber , String candidate) {
@@ -51,10 +66,11 @@ public abstract class JanusHandle {
 			message.put("candidate", new JSONObject().put("completed", true));
 			message.put("session_id", session.getSessionId());
 			message.put("handle_id", handleId);
-			String transactionId = session.getClient().getTransactionManager().createTransaction();
+			String transactionId = session.getTransactionManager().createTransaction();
 			message.put("transaction", transactionId);
-			var future = session.getClient().getTransactionManager().registerTransaction(transactionId);
-			session.getClient().sendMessage(message);
+			var future = session.getTransactionManager().registerTransaction(transactionId);
+			session.sendMessage(message)
+					.exceptionally(throwable -> session.getTransactionManager().failTransaction(transactionId, throwable));
 			return future;
 		}else {
 			JSONObject candidateJson = new JSONObject();
@@ -67,18 +83,31 @@ public abstract class JanusHandle {
 			message.put("candidate", candidateJson);
 			message.put("session_id", session.getSessionId());
 			message.put("handle_id", handleId);
-			String transactionId = session.getClient().getTransactionManager().createTransaction();
+			String transactionId = session.getTransactionManager().createTransaction();
 			message.put("transaction", transactionId);
 			
-			var future = session.getClient().getTransactionManager().registerTransaction(transactionId);
-			session.getClient().sendMessage(message);
+			var future = session.getTransactionManager().registerTransaction(transactionId);
+			session.sendMessage(message)
+					.exceptionally(throwable -> session.getTransactionManager().failTransaction(transactionId, throwable));
 			return future;
 		}
 	
 	}
+	/**
+	 * Sends a message to the plugin.
+	 * <p>
+	 * Asynchronous plugin requests are first acknowledged by Janus and answered later by a plugin event with the
+	 * same transaction; the returned future skips the ack and completes with that event, so its
+	 * {@code plugindata} and {@code jsep} (e.g. the SDP answer to a publish) can be used directly. Synchronous
+	 * requests complete with their {@code success} response. The event is also delivered to the listeners as usual.
+	 *
+	 * @param body The plugin request.
+	 * @param jsep The JSEP offer or answer to attach, or {@code null}.
+	 * @return A future completing with the plugin's final response.
+	 */
 	public CompletableFuture<JSONObject> sendMessage(JSONObject body, JSONObject jsep) {
-		String transactionId = session.getClient().getTransactionManager().createTransaction();
-		var future = session.getClient().getTransactionManager().registerTransaction(transactionId);
+		String transactionId = session.getTransactionManager().createTransaction();
+		var future = session.getTransactionManager().registerPluginTransaction(transactionId);
 		
 		JSONObject message = new JSONObject();
 		message.put("janus", "message");
@@ -91,7 +120,8 @@ public abstract class JanusHandle {
 			message.put("jsep", jsep);
 		}
 
-		session.getClient().sendMessage(message);
+		session.sendMessage(message)
+				.exceptionally(throwable -> session.getTransactionManager().failTransaction(transactionId, throwable));
 		return future;
 	}
 	
@@ -99,14 +129,54 @@ public abstract class JanusHandle {
 		return sendMessage(body, null);
 	}
 
+	/**
+	 * Sends a read-only plugin request through the client's {@link JanusClient#getPluginQueries() query coalescer}:
+	 * concurrent identical queries share one transaction, and results may be served from its short-lived cache.
+	 * Only use this for requests without side effects.
+	 *
+	 * @param body The plugin request.
+	 * @return A future completing with the (shared, read-only) response.
+	 */
+	protected CompletableFuture<JSONObject> sendQuery(JSONObject body) {
+		PluginQuery query = new PluginQuery(handleType, body.optLong("room", -1), body.toString());
+		return session.getClient().getPluginQueries().execute(query, () -> sendMessage(body));
+	}
+	
+	/**
+	 * @return The number of requests a batch operation on this handle keeps in flight by default.
+	 */
+	protected int batchWindow() {
+		return session.getClient().getConfig().getBatchWindow();
+	}
+	
+	/**
+	 * Drops cached query results that an event about {@code room} may have changed.
+	 *
+	 * @param room The room the event is about, or -1 to drop every cached result of this plugin.
+	 */
+	protected void invalidateQueries(long room) {
+		session.getClient().getPluginQueries().invalidateIf(query -> query.isAffectedBy(handleType, room));
+	}
+	
+	/**
+	 * @param response A plugin response or event.
+	 * @return true if the plugin reported an error in its {@code plugindata}.
+	 */
+	protected static boolean hasPluginError(JSONObject response) {
+		JSONObject pluginData = response.optJSONObject("plugindata");
+		JSONObject data = pluginData == null ? null : pluginData.optJSONObject("data");
+		return data != null && (data.has("error_code") || data.has("error"));
+	}
+	
 	public void detach() {
 		JSONObject message = new JSONObject();
 		message.put("janus", "detach");
 		message.put("session_id", session.getSessionId());
 		message.put("handle_id", handleId);
-		String transactionId = session.getClient().getTransactionManager().createTransaction();
+		String transactionId = session.getTransactionManager().createTransaction();
 		message.put("transaction", transactionId);
 	
-		session.getClient().sendMessage(message);
+		events.close();
+		session.sendMessage(message);
 	}
 }
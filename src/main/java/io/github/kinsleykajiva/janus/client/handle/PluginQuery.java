@@ -0,0 +1,18 @@
+package io.github.kinsleykajiva.janus.client.handle;
+
+/**
+ * Identifies a read-only plugin request for {@link io.github.kinsleykajiva.janus.utils.SingleFlight} coalescing.
+ *
+ * @param plugin  The plugin the request is sent to.
+ * @param room    The room the request is about, or -1 for plugin-wide requests such as room lists.
+ * @param request The serialized request body.
+ */
+public record PluginQuery(HandleType plugin, long room, String request) {
+	
+	/**
+	 * @return true if an event about {@code room} of {@code plugin} (-1 for any room) may change this query's result.
+	 */
+	public boolean isAffectedBy(HandleType plugin, long room) {
+		return this.plugin == plugin && (room == -1 || this.room == -1 || this.room == room);
+	}
+}
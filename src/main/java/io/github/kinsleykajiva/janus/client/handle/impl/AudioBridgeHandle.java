@@ -1,18 +1,29 @@
 package io.github.kinsleykajiva.janus.client.handle.impl;
 
 import io.github.kinsleykajiva.janus.client.JanusSession;
+import io.github.kinsleykajiva.janus.client.batch.BatchPipeline;
+import io.github.kinsleykajiva.janus.client.batch.BatchResult;
+import io.github.kinsleykajiva.janus.client.batch.RetryPolicy;
 import io.github.kinsleykajiva.janus.client.event.JanusJsep;
+import io.github.kinsleykajiva.janus.client.event.PluginEventRouter;
 import io.github.kinsleykajiva.janus.client.handle.HandleType;
 import io.github.kinsleykajiva.janus.client.handle.JanusHandle;
 import io.github.kinsleykajiva.janus.client.plugins.audiobridge.events.*;
 import io.github.kinsleykajiva.janus.client.plugins.audiobridge.listeners.JanusAudioBridgeListener;
 
 import io.github.kinsleykajiva.janus.client.plugins.audiobridge.models.*;
+import io.github.kinsleykajiva.janus.utils.JanusException;
 import org.json.JSONObject;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -24,6 +35,14 @@ import java.util.stream.IntStream;
  */
 public class AudioBridgeHandle extends JanusHandle {
 	
+	private static final Set<AudioBridgeEventKind> STALE_QUERY_KINDS = EnumSet.of(AudioBridgeEventKind.JOINED,
+			AudioBridgeEventKind.ROOM_DESTROYED, AudioBridgeEventKind.ROOM_CREATED, AudioBridgeEventKind.ROOM_EDITED,
+			AudioBridgeEventKind.PARTICIPANT_LEFT, AudioBridgeEventKind.PARTICIPANTS_CHANGED,
+			AudioBridgeEventKind.TALKING, AudioBridgeEventKind.STOPPED_TALKING);
+	
+	// Built once; handlers get the handle an event arrived on
+	private static final PluginEventRouter<AudioBridgeEventKind, AudioBridgeHandle> ROUTER = createRouter();
+	
 	private final List<JanusAudioBridgeListener> audioBridgeListeners = new CopyOnWriteArrayList<>();
 	
 	/**
@@ -57,67 +76,84 @@ public class AudioBridgeHandle extends JanusHandle {
 	
 	@Override
 	public void fireEvent(JSONObject event) {
-		if (!event.has("plugindata") || !event.getJSONObject("plugindata").has("data")) {
-			return; // Not a valid plugin event
-		}
-		final var data = event.getJSONObject("plugindata").getJSONObject("data");
-		final String eventType = data.optString("audiobridge");
+		ROUTER.route(this, event);
+	}
+	
+	private static PluginEventRouter<AudioBridgeEventKind, AudioBridgeHandle> createRouter() {
+		final var router = new PluginEventRouter<AudioBridgeEventKind, AudioBridgeHandle>(AudioBridgeEventKind.class,
+				AudioBridgeEventKind.classifier());
+		
+		// Drop cached query results this event makes stale
+		router.onAny((handle, kind, event, data) -> {
+			if (kind == AudioBridgeEventKind.ROOM_CHANGED) {
+				handle.invalidateQueries(-1); // both the old and the new room changed
+			} else if (kind != null && STALE_QUERY_KINDS.contains(kind)) {
+				handle.invalidateQueries(data.optLong("room", -1));
+			}
+		});
 		
 		// Always forward the raw event for debugging or custom handling
-		audioBridgeListeners.forEach(listener -> listener.onEvent(data));
+		router.onAny((handle, kind, event, data) -> handle.audioBridgeListeners.forEach(listener -> listener.onEvent(data)));
 		
-		switch (eventType) {
-			case "joined":
-				// This event is for the local user successfully joining the roomId.
-				final var joinedEvent = JoinedEvent.fromJson(data);
-				
-				audioBridgeListeners.forEach(listener -> listener.onJoined(joinedEvent));
-				break;
-			case "destroyed":
-				final var destroyedEvent = RoomDestroyedEvent.fromJson(data);
-				audioBridgeListeners.forEach(listener -> listener.onRoomDestroyed(destroyedEvent));
-				break;
-			case "event":
-				if(event.has("jsep")){
-					
-					audioBridgeListeners.forEach(listener -> listener.onJsepData(new JanusJsep(event.getJSONObject("jsep").getString("type"),  event.getJSONObject("jsep").getString("sdp"))));
-				}
-				// This is a generic event that can signify multiple things.
-				if (data.has("leaving")) {
-					// A participant has left the roomId.
-					final var leftEvent = ParticipantLeftEvent.fromJson(data);
-					audioBridgeListeners.forEach(listener -> listener.onParticipantLeft(leftEvent));
-				} else if (data.has("participants")) {
-					// A participant has joined or their state has been updated.
-					// The documentation is slightly ambiguous here. A common pattern is that
-					// a remote participant joining also comes as an 'event'.
-					// We will treat this as a "joined" event for another participant.
-					final var participantJoinedEvent = ParticipantJoinedEvent.fromJson(data);
-					if (participantJoinedEvent != null) {
-						audioBridgeListeners.forEach(listener -> listener.onParticipantJoined(participantJoinedEvent));
-					}
-					
-					// We can also fire an 'updated' event. For simplicity, we assume one event per message.
-					// A more advanced implementation might check if the participant ID is new or existing.
-					final var participantUpdatedEvent = ParticipantUpdatedEvent.fromJson(data);
-					if (participantUpdatedEvent != null) {
-						audioBridgeListeners.forEach(listener -> listener.onParticipantUpdated(participantUpdatedEvent));
-					}
-				}
-				break;
-			case "announcement-started":
-				final var announcementStartedEvent = AnnouncementStartedEvent.fromJson(data);
-				audioBridgeListeners.forEach(listener -> listener.onAnnouncementStarted(announcementStartedEvent));
-				break;
-			case "announcement-stopped":
-				final var announcementStoppedEvent = AnnouncementStoppedEvent.fromJson(data);
-				audioBridgeListeners.forEach(listener -> listener.onAnnouncementStopped(announcementStoppedEvent));
-				break;
-			case "roomchanged":
-				final var roomChangedEvent = RoomChangedEvent.fromJson(data);
-				audioBridgeListeners.forEach(listener -> listener.onRoomChanged(roomChangedEvent));
-				break;
-		}
+		router.onAny((handle, kind, event, data) -> {
+			if (event.has("jsep") && "event".equals(data.optString("audiobridge"))) {
+				final var jsep = event.getJSONObject("jsep");
+				final var janusJsep = new JanusJsep(jsep.getString("type"), jsep.getString("sdp"));
+				handle.audioBridgeListeners.forEach(listener -> listener.onJsepData(janusJsep));
+			}
+		});
+		
+		// This is for the local user successfully joining the roomId.
+		router.on(AudioBridgeEventKind.JOINED, (handle, event, data) -> {
+			final var joinedEvent = JoinedEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onJoined(joinedEvent));
+		});
+		router.on(AudioBridgeEventKind.ROOM_DESTROYED, (handle, event, data) -> {
+			final var destroyedEvent = RoomDestroyedEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onRoomDestroyed(destroyedEvent));
+		});
+		router.on(AudioBridgeEventKind.PARTICIPANT_LEFT, (handle, event, data) -> {
+			final var leftEvent = ParticipantLeftEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onParticipantLeft(leftEvent));
+		});
+		router.on(AudioBridgeEventKind.PARTICIPANTS_CHANGED, (handle, event, data) -> {
+			// A participant has joined or their state has been updated.
+			// The documentation is slightly ambiguous here. A common pattern is that
+			// a remote participant joining also comes as an 'event'.
+			// We will treat this as a "joined" event for another participant.
+			final var participantJoinedEvent = ParticipantJoinedEvent.fromJson(data);
+			if (participantJoinedEvent != null) {
+				handle.audioBridgeListeners.forEach(listener -> listener.onParticipantJoined(participantJoinedEvent));
+			}
+			
+			// We can also fire an 'updated' event. For simplicity, we assume one event per message.
+			// A more advanced implementation might check if the participant ID is new or existing.
+			final var participantUpdatedEvent = ParticipantUpdatedEvent.fromJson(data);
+			if (participantUpdatedEvent != null) {
+				handle.audioBridgeListeners.forEach(listener -> listener.onParticipantUpdated(participantUpdatedEvent));
+			}
+		});
+		router.on(AudioBridgeEventKind.ANNOUNCEMENT_STARTED, (handle, event, data) -> {
+			final var announcementStartedEvent = AnnouncementStartedEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onAnnouncementStarted(announcementStartedEvent));
+		});
+		router.on(AudioBridgeEventKind.ANNOUNCEMENT_STOPPED, (handle, event, data) -> {
+			final var announcementStoppedEvent = AnnouncementStoppedEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onAnnouncementStopped(announcementStoppedEvent));
+		});
+		router.on(AudioBridgeEventKind.ROOM_CHANGED, (handle, event, data) -> {
+			final var roomChangedEvent = RoomChangedEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onRoomChanged(roomChangedEvent));
+		});
+		router.on(AudioBridgeEventKind.TALKING, (handle, event, data) -> {
+			final var talkingEvent = TalkingEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onTalking(talkingEvent));
+		});
+		router.on(AudioBridgeEventKind.STOPPED_TALKING, (handle, event, data) -> {
+			final var stoppedTalkingEvent = StoppedTalkingEvent.fromJson(data);
+			handle.audioBridgeListeners.forEach(listener -> listener.onStoppedTalking(stoppedTalkingEvent));
+		});
+		return router;
 	}
 	
 	/**
@@ -181,7 +217,7 @@ public class AudioBridgeHandle extends JanusHandle {
 	 */
 	public CompletableFuture<List<AudioBridgeRoom>> listRooms() {
 		final var body = new JSONObject().put("request", "list");
-		return sendMessage(body).thenApply(response -> {
+		return sendQuery(body).thenApply(response -> {
 			final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
 			final var list = pluginData.getJSONArray("list");
 			return IntStream.range(0, list.length())
@@ -196,15 +232,14 @@ public class AudioBridgeHandle extends JanusHandle {
 	 * A successful join will be indicated by an {@code onJoined} event on registered listeners.
 	 *
 	 * @param request A {@link JoinRoomRequest} with the details for joining the roomId.
-	 * @return A {@link CompletableFuture} that completes when the join request has been acknowledged by the server.
+	 * @return A {@link CompletableFuture} that completes when the join request has been answered by the plugin.
 	 */
 	public CompletableFuture<Void> joinRoom(JoinRoomRequest request) {
 		// Asynchronous, completion is signaled by a `joined` event.
 		return sendMessage(request.toJson()).thenAccept(response -> {
-			// The response to an async request can be a simple 'ack'.
-			// We just check that it's not an error. The substantive event (e.g., 'joined')
-			// will be delivered to the listener separately.
-			if ("error".equals(response.optString("janus"))) {
+			// The response is the plugin's 'joined' event (the ack is skipped); it is also
+			// delivered to the listeners separately.
+			if ("error".equals(response.optString("janus")) || hasPluginError(response)) {
 				throw new RuntimeException("Janus returned an error on join request: " + response.toString());
 			}
 			
@@ -219,7 +254,6 @@ public class AudioBridgeHandle extends JanusHandle {
 	 */
 	public CompletableFuture<Void> configure(ConfigureRequest request) {
 		return sendMessage(request.toJson()).thenAccept(response -> {
-			// The response to an async request can be a simple 'ack'.
 			if ("error".equals(response.optString("janus"))) {
 				throw new RuntimeException("Janus returned an error on configure request: " + response.toString());
 			}
@@ -235,7 +269,6 @@ public class AudioBridgeHandle extends JanusHandle {
 	public CompletableFuture<Void> leave() {
 		final var body = new JSONObject().put("request", "leave");
 		return sendMessage(body).thenAccept(response -> {
-			// The response to an async request can be a simple 'ack'.
 			if ("error".equals(response.optString("janus"))) {
 				throw new RuntimeException("Janus returned an error on leave request: " + response.toString());
 			}
@@ -253,14 +286,31 @@ public class AudioBridgeHandle extends JanusHandle {
 				                 .put("request", "listparticipants")
 				                 .put("room", roomId);
 		
-		return sendMessage(body).thenApply(response -> {
-			final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
-			final var participantsJson = pluginData.getJSONArray("participants");
-			return IntStream.range(0, participantsJson.length())
-					       .mapToObj(participantsJson::getJSONObject)
-					       .map(AudioBridgeParticipant::fromJson)
-					       .collect(Collectors.toList());
-		});
+		return sendQuery(body).thenApply(AudioBridgeHandle::toParticipants);
+	}
+	
+	/**
+	 * Retrieves the list of participants in a room straight from the gateway, bypassing the query coalescer and its
+	 * cache. Use this when the answer must reflect the room as it is now rather than as it was at the last event.
+	 *
+	 * @param roomId The unique ID of the roomId.
+	 * @return A {@link CompletableFuture} that completes with a list of {@link AudioBridgeParticipant} objects.
+	 */
+	public CompletableFuture<List<AudioBridgeParticipant>> fetchParticipants(long roomId) {
+		final var body = new JSONObject()
+				                 .put("request", "listparticipants")
+				                 .put("room", roomId);
+		
+		return sendMessage(body).thenApply(AudioBridgeHandle::toParticipants);
+	}
+	
+	private static List<AudioBridgeParticipant> toParticipants(JSONObject response) {
+		final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
+		final var participantsJson = pluginData.getJSONArray("participants");
+		return IntStream.range(0, participantsJson.length())
+				       .mapToObj(participantsJson::getJSONObject)
+				       .map(AudioBridgeParticipant::fromJson)
+				       .collect(Collectors.toList());
 	}
 	
 	public CompletableFuture<Void> editRoom(EditRoomRequest request) {
@@ -272,8 +322,71 @@ public class AudioBridgeHandle extends JanusHandle {
 		});
 	}
 	
+	/**
+	 * Creates several rooms, pipelining the requests with the client's configured
+	 * {@linkplain io.github.kinsleykajiva.janus.client.JanusConfiguration#getBatchWindow() batch window}.
+	 * @param requests The requests.
+	 * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+	 */
+	public CompletableFuture<BatchResult<CreateRoomRequest, AudioBridgeRoom>> createRooms(Collection<CreateRoomRequest> requests) {
+		return createRooms(requests, batchWindow());
+	}
+	
+	/**
+	 * Creates several rooms with at most {@code window} requests in flight. To spread a batch over several
+	 * handles, use {@link BatchPipeline#spread} with {@link AudioBridgeHandle#createRoom}.
+	 * @param requests The requests.
+	 * @param window   The maximum number of requests in flight.
+	 * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+	 */
+	public CompletableFuture<BatchResult<CreateRoomRequest, AudioBridgeRoom>> createRooms(Collection<CreateRoomRequest> requests, int window) {
+		return BatchPipeline.run(requests, window, this::createRoom);
+	}
+	
+	/**
+	 * Edits several rooms, pipelining the requests with the client's configured
+	 * {@linkplain io.github.kinsleykajiva.janus.client.JanusConfiguration#getBatchWindow() batch window}.
+	 * @param requests The requests.
+	 * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+	 */
+	public CompletableFuture<BatchResult<EditRoomRequest, Void>> editRooms(Collection<EditRoomRequest> requests) {
+		return editRooms(requests, batchWindow());
+	}
+	
+	/**
+	 * Edits several rooms with at most {@code window} requests in flight. To spread a batch over several
+	 * handles, use {@link BatchPipeline#spread} with {@link AudioBridgeHandle#editRoom}.
+	 * @param requests The requests.
+	 * @param window   The maximum number of requests in flight.
+	 * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+	 */
+	public CompletableFuture<BatchResult<EditRoomRequest, Void>> editRooms(Collection<EditRoomRequest> requests, int window) {
+		return BatchPipeline.run(requests, window, this::editRoom);
+	}
+	
+	/**
+	 * Destroys several rooms, pipelining the requests with the client's configured
+	 * {@linkplain io.github.kinsleykajiva.janus.client.JanusConfiguration#getBatchWindow() batch window}.
+	 * @param requests The requests.
+	 * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+	 */
+	public CompletableFuture<BatchResult<DestroyRoomRequest, Void>> destroyRooms(Collection<DestroyRoomRequest> requests) {
+		return destroyRooms(requests, batchWindow());
+	}
+	
+	/**
+	 * Destroys several rooms with at most {@code window} requests in flight. To spread a batch over several
+	 * handles, use {@link BatchPipeline#spread} with {@link AudioBridgeHandle#destroyRoom}.
+	 * @param requests The requests.
+	 * @param window   The maximum number of requests in flight.
+	 * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+	 */
+	public CompletableFuture<BatchResult<DestroyRoomRequest, Void>> destroyRooms(Collection<DestroyRoomRequest> requests, int window) {
+		return BatchPipeline.run(requests, window, this::destroyRoom);
+	}
+	
 	public CompletableFuture<ExistsResponse> exists(ExistsRequest request) {
-		return sendMessage(request.toJson()).thenApply(response -> {
+		return sendQuery(request.toJson()).thenApply(response -> {
 			final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
 			if (!"success".equals(pluginData.optString("audiobridge"))) {
 				throw new RuntimeException("Failed to check if roomId exists: " + response.toString());
@@ -310,6 +423,134 @@ public class AudioBridgeHandle extends JanusHandle {
 		});
 	}
 	
+	/**
+	 * Kicks several participants, one pipelined request each, retrying transient failures.
+	 *
+	 * @param room           The room.
+	 * @param secret         The room secret, if any.
+	 * @param participantIds The participants to kick.
+	 * @return A future completed with each participant's outcome; see {@link BatchResult#byRequest()}.
+	 */
+	public CompletableFuture<BatchResult<Long, Void>> kickAll(long room, String secret, Collection<Long> participantIds) {
+		return kickAll(room, secret, participantIds, false);
+	}
+	
+	/**
+	 * Kicks several participants, optionally with a single {@link KickAllRequest}. With {@code roomWide} set, the
+	 * room is listed first, bypassing the query cache; if the IDs include everyone in it, one room-wide request is
+	 * sent and IDs that are not in the room are reported as failures. The room can still change between the listing
+	 * and the request, so someone who joins in between is kicked too. Otherwise one request per participant is
+	 * pipelined, retrying transient failures.
+	 *
+	 * @param room           The room.
+	 * @param secret         The room secret, if any.
+	 * @param participantIds The participants to kick.
+	 * @param roomWide       true to allow a room-wide request when the IDs cover the whole room.
+	 * @return A future completed with each participant's outcome; see {@link BatchResult#byRequest()}.
+	 */
+	public CompletableFuture<BatchResult<Long, Void>> kickAll(long room, String secret, Collection<Long> participantIds, boolean roomWide) {
+		return moderate(room, participantIds, roomWide, () -> kickAll(new KickAllRequest(room, secret)),
+		                id -> kick(new KickRequest(room, secret, id)));
+	}
+	
+	/**
+	 * Mutes several participants, one pipelined request each, retrying transient failures.
+	 *
+	 * @param room           The room.
+	 * @param secret         The room secret, if any.
+	 * @param participantIds The participants to mute.
+	 * @return A future completed with each participant's outcome; see {@link BatchResult#byRequest()}.
+	 */
+	public CompletableFuture<BatchResult<Long, Void>> muteAll(long room, String secret, Collection<Long> participantIds) {
+		return muteAll(room, secret, participantIds, false);
+	}
+	
+	/**
+	 * Mutes several participants, optionally with a single {@link MuteRoomRequest}. With {@code roomWide} set, the
+	 * room is listed first, bypassing the query cache; if the IDs include everyone in it, one room-wide request is
+	 * sent and IDs that are not in the room are reported as failures. Muting the room also mutes anyone who joins
+	 * later, including between the listing and the request, until the room is unmuted. Otherwise one request per
+	 * participant is pipelined, retrying transient failures.
+	 *
+	 * @param room           The room.
+	 * @param secret         The room secret, if any.
+	 * @param participantIds The participants to mute.
+	 * @param roomWide       true to allow a room-wide request when the IDs cover the whole room.
+	 * @return A future completed with each participant's outcome; see {@link BatchResult#byRequest()}.
+	 */
+	public CompletableFuture<BatchResult<Long, Void>> muteAll(long room, String secret, Collection<Long> participantIds, boolean roomWide) {
+		return moderate(room, participantIds, roomWide, () -> muteRoom(new MuteRoomRequest(room, secret)),
+		                id -> mute(new MuteParticipantRequest(room, secret, id)));
+	}
+	
+	/**
+	 * Unmutes several participants, one pipelined request each, retrying transient failures.
+	 *
+	 * @param room           The room.
+	 * @param secret         The room secret, if any.
+	 * @param participantIds The participants to unmute.
+	 * @return A future completed with each participant's outcome; see {@link BatchResult#byRequest()}.
+	 */
+	public CompletableFuture<BatchResult<Long, Void>> unmuteAll(long room, String secret, Collection<Long> participantIds) {
+		return unmuteAll(room, secret, participantIds, false);
+	}
+	
+	/**
+	 * Unmutes several participants, optionally with a single {@link UnmuteRoomRequest}. With {@code roomWide} set,
+	 * the room is listed first, bypassing the query cache; if the IDs include everyone in it, one room-wide request
+	 * is sent and IDs that are not in the room are reported as failures. The room-wide request lifts the room mute
+	 * as well, and also unmutes anyone who joins between the listing and the request. Otherwise one request per
+	 * participant is pipelined, retrying transient failures.
+	 *
+	 * @param room           The room.
+	 * @param secret         The room secret, if any.
+	 * @param participantIds The participants to unmute.
+	 * @param roomWide       true to allow a room-wide request when the IDs cover the whole room.
+	 * @return A future completed with each participant's outcome; see {@link BatchResult#byRequest()}.
+	 */
+	public CompletableFuture<BatchResult<Long, Void>> unmuteAll(long room, String secret, Collection<Long> participantIds, boolean roomWide) {
+		return moderate(room, participantIds, roomWide, () -> unmuteRoom(new UnmuteRoomRequest(room, secret)),
+		                id -> unmute(new UnmuteParticipantRequest(room, secret, id)));
+	}
+	
+	private CompletableFuture<BatchResult<Long, Void>> moderate(long room, Collection<Long> participantIds, boolean roomWide,
+	                                                            Supplier<CompletableFuture<Void>> wholeRoom,
+	                                                            Function<Long, CompletableFuture<Void>> each) {
+		final CompletableFuture<Set<Long>> members = roomWide
+				? membersIfCovered(room, participantIds)
+				: CompletableFuture.completedFuture(null);
+		return members.thenCompose(inRoom -> inRoom != null
+				? BatchPipeline.runCombined(participantIds,
+				                            id -> inRoom.contains(id) ? null : new JanusException("Participant " + id + " is not in room " + room),
+				                            RetryPolicy.TRANSIENT_FAILURES, wholeRoom)
+				: BatchPipeline.run(participantIds, batchWindow(), RetryPolicy.TRANSIENT_FAILURES, each));
+	}
+	
+	/**
+	 * Lists a room straight from the gateway and returns its members if the IDs include all of them, so one
+	 * room-wide request can replace one request per participant. Returns {@code null} if they do not, or if the room
+	 * is empty or cannot be listed.
+	 */
+	private CompletableFuture<Set<Long>> membersIfCovered(long room, Collection<Long> participantIds) {
+		if (participantIds.size() < 2) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return fetchParticipants(room).handle((participants, throwable) -> {
+			if (throwable != null || participants.isEmpty()) {
+				return null;
+			}
+			final Set<Long> ids = new HashSet<>(participantIds);
+			final Set<Long> members = new HashSet<>();
+			for (AudioBridgeParticipant participant : participants) {
+				if (!ids.contains(participant.id())) {
+					return null;
+				}
+				members.add(participant.id());
+			}
+			return members;
+		});
+	}
+	
 	public CompletableFuture<Void> suspend(SuspendParticipantRequest request) {
 		return sendMessage(request.toJson()).thenAccept(response -> {
 			final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
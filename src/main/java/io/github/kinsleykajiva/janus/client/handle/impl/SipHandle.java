@@ -16,6 +16,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import static io.github.kinsleykajiva.janus.utils.JanusUtils.validateIpOrDomain;
 
 public class SipHandle extends JanusHandle {
+	// Built once; handlers get the handle an event arrived on
+	private static final PluginEventRouter<SipEventKind, SipHandle> ROUTER = createRouter();
+	
 	private String sipServer = "";
 	private final List<JanusSipEventListener> sipListeners = new CopyOnWriteArrayList<>();
 	
@@ -42,113 +45,125 @@ public class SipHandle extends JanusHandle {
 	
 	@Override
 	public void fireEvent(JSONObject event) {
-		JSONObject jsep = event.optJSONObject("jsep");
-		JanusJsep janusJsep = jsep != null ? new JanusJsep(jsep.optString("type"), jsep.optString("sdp")) : null;
-		JanusEvent janusEvent = new JanusEvent(event, janusJsep);
-		
+		if (sipListeners.isEmpty()) {
+			return;
+		}
+		JanusEvent janusEvent = new JanusEvent(event, jsepOf(event));
 		for (JanusSipEventListener listener : sipListeners) {
 			listener.onEvent(janusEvent); // Generic event
-			
-			// Dispatch to more specific SIP event methods
-			JSONObject plugindata = event.optJSONObject("plugindata");
-			if (plugindata != null) {
-				JSONObject data = plugindata.optJSONObject("data");
-				if (data != null && data.has("result")) {
-					JSONObject result = data.getJSONObject("result");
-					String eventType = result.optString("event");
-					
-					switch (eventType) {
-						case "registration_failed":
-							listener.onFailedRegistrationEvent(new JanusSipEvents.ErrorRegistration(
-									result.optString("event"),
-									result.optInt("code"),
-									result.optString("reason")
-							));
-							break;
-						
-						case "registered":
-							listener.onRegisteredEvent(new JanusSipEvents.SuccessfulRegistration(
-									result.optString("event"),
-									result.optLong("master_id"),
-									result.optString("username")
-							));
-							break;
-						case "incomingcall":
-							listener.onIncomingCallEvent(new JanusSipEvents.InComingCallEvent(
-									result.getString("username"),
-									result.getString("call_id"),
-									result.getString("displayname"),
-									result.getString("callee"),
-									janusJsep
-							));
-							
-						case "missed_call":
-							listener.onMissedCallEvent(new JanusSipEvents.MissedCallEvent(
-									result.getString("caller"),
-									result.getString("displayname"),
-									result.getString("callee")
-							
-							));
-							break;
-						case "message":
-							listener.onMessageEvent(new JanusSipEvents.MessageEvent(
-									result.getString("sender"),
-									result.getString("displayname"),
-									result.getString("content_type"),
-									result.getString("content"),
-									result.getJSONObject("headers")
-							
-							));
-							break;
-						case "info":
-							listener.onInfoEvent(new JanusSipEvents.InfoEvent(
-									result.getString("sender"),
-									result.getString("displayname"),
-									result.getString("type"),
-									result.getString("content"),
-									result.getJSONObject("headers")
-							
-							));
-							break;
-						case "notify":
-							listener.onNotifyEvent(new JanusSipEvents.NotifyEvent(
-									result.getString("notify"),
-									result.getString("substate"),
-									result.getString("content-type"),
-									result.getString("content"),
-									result.getJSONObject("headers")
-							
-							));
-							break;
-						case "transfer":
-							listener.onTransferEvent(new JanusSipEvents.TransferEvent(
-									result.getString("refer_id"),
-									result.getString("refer_to"),
-									result.getString("referred_by"),
-									result.getString("replaces"),
-									result.getJSONObject("headers")
-							
-							));
-							break;
-						case "messagedelivery":
-							listener.onMessageDeliveryEvent(new JanusSipEvents.MessageDeliveryEvent(
-									data.getString("call_id"),
-									result.getInt("code"),
-									result.getString("reason")
-							
-							));
-							break;
-						case "hangup":
-							listener.onHangupCallEvent(new JanusSipEvents.HangupEvent(
-									result.getInt("code"),
-									result.getString("reason"),
-									data.getString("call_id") // 'call_id' is sibling to 'result' in hangup
-							));
-							break;
-					}
-				}
-			}
 		}
+		// Dispatch to more specific SIP event methods
+		ROUTER.route(this, event);
+	}
+	
+	private static JanusJsep jsepOf(JSONObject event) {
+		JSONObject jsep = event.optJSONObject("jsep");
+		return jsep != null ? new JanusJsep(jsep.optString("type"), jsep.optString("sdp")) : null;
+	}
+	
+	private static PluginEventRouter<SipEventKind, SipHandle> createRouter() {
+		final var router = new PluginEventRouter<SipEventKind, SipHandle>(SipEventKind.class, SipEventKind.classifier());
+		router.on(SipEventKind.REGISTRATION_FAILED, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.ErrorRegistration(
+					result.optString("event"),
+					result.optInt("code"),
+					result.optString("reason")
+			);
+			handle.sipListeners.forEach(listener -> listener.onFailedRegistrationEvent(decoded));
+		});
+		router.on(SipEventKind.REGISTERED, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.SuccessfulRegistration(
+					result.optString("event"),
+					result.optLong("master_id"),
+					result.optString("username")
+			);
+			handle.sipListeners.forEach(listener -> listener.onRegisteredEvent(decoded));
+		});
+		router.on(SipEventKind.INCOMING_CALL, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.InComingCallEvent(
+					result.getString("username"),
+					result.getString("call_id"),
+					result.getString("displayname"),
+					result.getString("callee"),
+					jsepOf(event)
+			);
+			handle.sipListeners.forEach(listener -> listener.onIncomingCallEvent(decoded));
+		});
+		router.on(SipEventKind.MISSED_CALL, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.MissedCallEvent(
+					result.getString("caller"),
+					result.getString("displayname"),
+					result.getString("callee")
+			);
+			handle.sipListeners.forEach(listener -> listener.onMissedCallEvent(decoded));
+		});
+		router.on(SipEventKind.MESSAGE, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.MessageEvent(
+					result.getString("sender"),
+					result.getString("displayname"),
+					result.getString("content_type"),
+					result.getString("content"),
+					result.getJSONObject("headers")
+			);
+			handle.sipListeners.forEach(listener -> listener.onMessageEvent(decoded));
+		});
+		router.on(SipEventKind.INFO, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.InfoEvent(
+					result.getString("sender"),
+					result.getString("displayname"),
+					result.getString("type"),
+					result.getString("content"),
+					result.getJSONObject("headers")
+			);
+			handle.sipListeners.forEach(listener -> listener.onInfoEvent(decoded));
+		});
+		router.on(SipEventKind.NOTIFY, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.NotifyEvent(
+					result.getString("notify"),
+					result.getString("substate"),
+					result.getString("content-type"),
+					result.getString("content"),
+					result.getJSONObject("headers")
+			);
+			handle.sipListeners.forEach(listener -> listener.onNotifyEvent(decoded));
+		});
+		router.on(SipEventKind.TRANSFER, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.TransferEvent(
+					result.getString("refer_id"),
+					result.getString("refer_to"),
+					result.getString("referred_by"),
+					result.getString("replaces"),
+					result.getJSONObject("headers")
+			);
+			handle.sipListeners.forEach(listener -> listener.onTransferEvent(decoded));
+		});
+		router.on(SipEventKind.MESSAGE_DELIVERY, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.MessageDeliveryEvent(
+					data.getString("call_id"),
+					result.getInt("code"),
+					result.getString("reason")
+			);
+			handle.sipListeners.forEach(listener -> listener.onMessageDeliveryEvent(decoded));
+		});
+		router.on(SipEventKind.HANGUP, (handle, event, data) -> {
+			JSONObject result = data.getJSONObject("result");
+			var decoded = new JanusSipEvents.HangupEvent(
+					result.getInt("code"),
+					result.getString("reason"),
+					data.getString("call_id") // 'call_id' is sibling to 'result' in hangup
+			);
+			handle.sipListeners.forEach(listener -> listener.onHangupCallEvent(decoded));
+		});
+		return router;
 	}
 	
 	/**
@@ -1,16 +1,27 @@
 package io.github.kinsleykajiva.janus.client.handle.impl;
 
 import io.github.kinsleykajiva.janus.client.JanusSession;
+import io.github.kinsleykajiva.janus.client.batch.BatchPipeline;
+import io.github.kinsleykajiva.janus.client.batch.BatchResult;
+import io.github.kinsleykajiva.janus.client.batch.RetryPolicy;
+import io.github.kinsleykajiva.janus.client.event.PluginEventRouter;
 import io.github.kinsleykajiva.janus.client.handle.HandleType;
 import io.github.kinsleykajiva.janus.client.handle.JanusHandle;
 import io.github.kinsleykajiva.janus.client.plugins.videoroom.events.*;
 import io.github.kinsleykajiva.janus.client.plugins.videoroom.listeners.JanusVideoRoomListener;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.listeners.VideoRoomListenerCapabilities;
 import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.*;
 import org.json.JSONObject;
 
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * A handle to interact with the Janus VideoRoom plugin. This class provides methods to send requests
@@ -19,7 +30,15 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class VideoRoomHandle extends JanusHandle {
 
-    private final List<JanusVideoRoomListener> videoRoomListeners = new CopyOnWriteArrayList<>();
+    private static final Set<VideoRoomEventKind> STALE_QUERY_KINDS = EnumSet.of(VideoRoomEventKind.JOINED,
+            VideoRoomEventKind.ROOM_DESTROYED, VideoRoomEventKind.ROOM_CREATED, VideoRoomEventKind.ROOM_EDITED,
+            VideoRoomEventKind.PUBLISHER_ADDED, VideoRoomEventKind.UNPUBLISHED, VideoRoomEventKind.PARTICIPANT_LEFT);
+
+    // Built once; handlers get the handle an event arrived on
+    private static final PluginEventRouter<VideoRoomEventKind, VideoRoomHandle> ROUTER = createRouter();
+
+    private final List<Registration> videoRoomListeners = new CopyOnWriteArrayList<>();
+    private volatile int listenerCapabilities;
 
     /**
      * Constructs a new handle for the VideoRoom plugin.
@@ -32,64 +51,97 @@ public class VideoRoomHandle extends JanusHandle {
     }
 
     /**
-     * Adds a listener to receive events from the VideoRoom plugin.
+     * Adds a listener to receive events from the VideoRoom plugin. Only the callbacks the listener's class
+     * overrides are invoked, and an event is only decoded if some listener handles it.
      * @param listener The listener to add.
      */
-    public void addVideoRoomListener(JanusVideoRoomListener listener) {
-        videoRoomListeners.add(listener);
+    public synchronized void addVideoRoomListener(JanusVideoRoomListener listener) {
+        videoRoomListeners.add(new Registration(listener, VideoRoomListenerCapabilities.of(listener)));
+        updateCapabilities();
     }
 
     /**
      * Removes a previously registered listener.
      * @param listener The listener to remove.
      */
-    public void removeVideoRoomListener(JanusVideoRoomListener listener) {
-        videoRoomListeners.remove(listener);
+    public synchronized void removeVideoRoomListener(JanusVideoRoomListener listener) {
+        videoRoomListeners.removeIf(registration -> registration.listener() == listener);
+        updateCapabilities();
+    }
+
+    /**
+     * Returns the union of the registered listeners' capabilities: a {@link VideoRoomEventKind#mask()} bit per
+     * typed event some listener handles, plus {@link VideoRoomListenerCapabilities#RAW_EVENTS}.
+     * @return The capability mask.
+     */
+    public int getListenerCapabilities() {
+        return listenerCapabilities;
     }
 
     @Override
     public void fireEvent(JSONObject event) {
-        if (!event.has("plugindata") || !event.getJSONObject("plugindata").has("data")) {
-            return; // Not a valid plugin event
+        ROUTER.route(this, event);
+    }
+
+    private static PluginEventRouter<VideoRoomEventKind, VideoRoomHandle> createRouter() {
+        final var router = new PluginEventRouter<VideoRoomEventKind, VideoRoomHandle>(VideoRoomEventKind.class,
+                VideoRoomEventKind.classifier());
+        // Drop cached query results these events make stale, before any listener sees them
+        router.onAny((handle, kind, event, data) -> {
+            if (kind != null && STALE_QUERY_KINDS.contains(kind)) {
+                handle.invalidateQueries(data.optLong("room", -1));
+            }
+        });
+        // Forward the raw event for debugging or custom handling
+        router.onAny((handle, kind, event, data) -> {
+            if ((handle.listenerCapabilities & VideoRoomListenerCapabilities.RAW_EVENTS) != 0) {
+                handle.deliver(VideoRoomListenerCapabilities.RAW_EVENTS, listener -> listener.onEvent(data));
+            }
+        });
+        dispatch(router, VideoRoomEventKind.JOINED, JoinedEvent::fromJson, JanusVideoRoomListener::onJoined);
+        dispatch(router, VideoRoomEventKind.ROOM_DESTROYED, RoomDestroyedEvent::fromJson, JanusVideoRoomListener::onRoomDestroyed);
+        dispatch(router, VideoRoomEventKind.SUBSCRIBER_ATTACHED, AttachedEvent::fromJson, JanusVideoRoomListener::onSubscriberAttached);
+        dispatch(router, VideoRoomEventKind.SUBSCRIPTION_UPDATED, UpdatedEvent::fromJson, JanusVideoRoomListener::onSubscriptionUpdated);
+        dispatch(router, VideoRoomEventKind.TALKING, TalkingEvent::fromJson, JanusVideoRoomListener::onTalking);
+        dispatch(router, VideoRoomEventKind.STOPPED_TALKING, StoppedTalkingEvent::fromJson, JanusVideoRoomListener::onStoppedTalking);
+        dispatch(router, VideoRoomEventKind.PUBLISHER_ADDED, PublisherAddedEvent::fromJson, JanusVideoRoomListener::onPublisherAdded);
+        dispatch(router, VideoRoomEventKind.UNPUBLISHED, UnpublishedEvent::fromJson, JanusVideoRoomListener::onUnpublished);
+        dispatch(router, VideoRoomEventKind.PARTICIPANT_LEFT, ParticipantLeftEvent::fromJson, JanusVideoRoomListener::onParticipantLeft);
+        dispatch(router, VideoRoomEventKind.SWITCHED, SwitchedEvent::fromJson, JanusVideoRoomListener::onSwitched);
+        return router;
+    }
+
+    /**
+     * Registers a kind's typed callback: the event is decoded once, and only if some listener handles it.
+     */
+    private static <E> void dispatch(PluginEventRouter<VideoRoomEventKind, VideoRoomHandle> router, VideoRoomEventKind kind,
+                                     Function<JSONObject, E> decoder, BiConsumer<JanusVideoRoomListener, E> callback) {
+        final int mask = kind.mask();
+        router.on(kind, (handle, event, data) -> {
+            if ((handle.listenerCapabilities & mask) != 0) {
+                final E decoded = decoder.apply(data);
+                handle.deliver(mask, listener -> callback.accept(listener, decoded));
+            }
+        });
+    }
+
+    private void deliver(int mask, Consumer<JanusVideoRoomListener> callback) {
+        for (Registration registration : videoRoomListeners) {
+            if ((registration.capabilities() & mask) != 0) {
+                callback.accept(registration.listener());
+            }
         }
-        final var data = event.getJSONObject("plugindata").getJSONObject("data");
-        final String eventType = data.optString("videoroom");
-
-        // Always forward the raw event for debugging or custom handling
-        videoRoomListeners.forEach(listener -> listener.onEvent(data));
-
-        switch (eventType) {
-            case "joined":
-                videoRoomListeners.forEach(listener -> listener.onJoined(JoinedEvent.fromJson(data)));
-                break;
-            case "destroyed":
-                videoRoomListeners.forEach(listener -> listener.onRoomDestroyed(RoomDestroyedEvent.fromJson(data)));
-                break;
-            case "attached":
-                videoRoomListeners.forEach(listener -> listener.onSubscriberAttached(AttachedEvent.fromJson(data)));
-                break;
-            case "updated":
-                videoRoomListeners.forEach(listener -> listener.onSubscriptionUpdated(UpdatedEvent.fromJson(data)));
-                break;
-            case "talking":
-                videoRoomListeners.forEach(listener -> listener.onTalking(TalkingEvent.fromJson(data)));
-                break;
-            case "stopped-talking":
-                videoRoomListeners.forEach(listener -> listener.onStoppedTalking(StoppedTalkingEvent.fromJson(data)));
-                break;
-            case "event":
-                // This is a generic container for other events
-                if (data.has("publishers")) {
-                    videoRoomListeners.forEach(listener -> listener.onPublisherAdded(PublisherAddedEvent.fromJson(data)));
-                } else if (data.has("unpublished")) {
-                    videoRoomListeners.forEach(listener -> listener.onUnpublished(UnpublishedEvent.fromJson(data)));
-                } else if (data.has("leaving")) {
-                    videoRoomListeners.forEach(listener -> listener.onParticipantLeft(ParticipantLeftEvent.fromJson(data)));
-                } else if (data.has("switched") && "ok".equals(data.optString("switched"))) {
-                    videoRoomListeners.forEach(listener -> listener.onSwitched(SwitchedEvent.fromJson(data)));
-                }
-                break;
+    }
+
+    private void updateCapabilities() {
+        int capabilities = 0;
+        for (Registration registration : videoRoomListeners) {
+            capabilities |= registration.capabilities();
         }
+        listenerCapabilities = capabilities;
+    }
+
+    private record Registration(JanusVideoRoomListener listener, int capabilities) {
     }
 
     /**
@@ -140,13 +192,76 @@ public class VideoRoomHandle extends JanusHandle {
         });
     }
 
+    /**
+     * Creates several rooms, pipelining the requests with the client's configured
+     * {@linkplain io.github.kinsleykajiva.janus.client.JanusConfiguration#getBatchWindow() batch window}.
+     * @param requests The requests.
+     * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+     */
+    public CompletableFuture<BatchResult<CreateRoomRequest, CreateRoomResponse>> createRooms(Collection<CreateRoomRequest> requests) {
+        return createRooms(requests, batchWindow());
+    }
+    
+    /**
+     * Creates several rooms with at most {@code window} requests in flight. To spread a batch over several
+     * handles, use {@link BatchPipeline#spread} with {@link VideoRoomHandle#createRoom}.
+     * @param requests The requests.
+     * @param window   The maximum number of requests in flight.
+     * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+     */
+    public CompletableFuture<BatchResult<CreateRoomRequest, CreateRoomResponse>> createRooms(Collection<CreateRoomRequest> requests, int window) {
+        return BatchPipeline.run(requests, window, this::createRoom);
+    }
+    
+    /**
+     * Edits several rooms, pipelining the requests with the client's configured
+     * {@linkplain io.github.kinsleykajiva.janus.client.JanusConfiguration#getBatchWindow() batch window}.
+     * @param requests The requests.
+     * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+     */
+    public CompletableFuture<BatchResult<EditRoomRequest, EditRoomResponse>> editRooms(Collection<EditRoomRequest> requests) {
+        return editRooms(requests, batchWindow());
+    }
+    
+    /**
+     * Edits several rooms with at most {@code window} requests in flight. To spread a batch over several
+     * handles, use {@link BatchPipeline#spread} with {@link VideoRoomHandle#editRoom}.
+     * @param requests The requests.
+     * @param window   The maximum number of requests in flight.
+     * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+     */
+    public CompletableFuture<BatchResult<EditRoomRequest, EditRoomResponse>> editRooms(Collection<EditRoomRequest> requests, int window) {
+        return BatchPipeline.run(requests, window, this::editRoom);
+    }
+    
+    /**
+     * Destroys several rooms, pipelining the requests with the client's configured
+     * {@linkplain io.github.kinsleykajiva.janus.client.JanusConfiguration#getBatchWindow() batch window}.
+     * @param requests The requests.
+     * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+     */
+    public CompletableFuture<BatchResult<DestroyRoomRequest, DestroyRoomResponse>> destroyRooms(Collection<DestroyRoomRequest> requests) {
+        return destroyRooms(requests, batchWindow());
+    }
+    
+    /**
+     * Destroys several rooms with at most {@code window} requests in flight. To spread a batch over several
+     * handles, use {@link BatchPipeline#spread} with {@link VideoRoomHandle#destroyRoom}.
+     * @param requests The requests.
+     * @param window   The maximum number of requests in flight.
+     * @return A {@link CompletableFuture} that completes with every request's outcome once all have completed.
+     */
+    public CompletableFuture<BatchResult<DestroyRoomRequest, DestroyRoomResponse>> destroyRooms(Collection<DestroyRoomRequest> requests, int window) {
+        return BatchPipeline.run(requests, window, this::destroyRoom);
+    }
+
     /**
      * Checks if a room exists.
      * @param request An {@link ExistsRequest} specifying the room to check.
      * @return A {@link CompletableFuture} that completes with an {@link ExistsResponse}.
      */
     public CompletableFuture<ExistsResponse> exists(ExistsRequest request) {
-        return sendMessage(request.toJson()).thenApply(response -> {
+        return sendQuery(request.toJson()).thenApply(response -> {
             final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
             if ("success".equals(pluginData.optString("videoroom"))) {
                 return ExistsResponse.fromJson(pluginData);
@@ -161,7 +276,7 @@ public class VideoRoomHandle extends JanusHandle {
      * @return A {@link CompletableFuture} that completes with a {@link ListRoomsResponse}.
      */
     public CompletableFuture<ListRoomsResponse> listRooms() {
-        return sendMessage(new ListRoomsRequest().toJson()).thenApply(response -> {
+        return sendQuery(new ListRoomsRequest().toJson()).thenApply(response -> {
             final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
             if ("success".equals(pluginData.optString("videoroom"))) {
                 return ListRoomsResponse.fromJson(pluginData);
@@ -177,14 +292,26 @@ public class VideoRoomHandle extends JanusHandle {
      * @return A {@link CompletableFuture} that completes with a {@link ListParticipantsResponse}.
      */
     public CompletableFuture<ListParticipantsResponse> listParticipants(ListParticipantsRequest request) {
-        return sendMessage(request.toJson()).thenApply(response -> {
-            final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
-            if ("participants".equals(pluginData.optString("videoroom"))) {
-                return ListParticipantsResponse.fromJson(pluginData);
-            } else {
-                throw new RuntimeException("Failed to list participants: " + response);
-            }
-        });
+        return sendQuery(request.toJson()).thenApply(VideoRoomHandle::toParticipants);
+    }
+
+    /**
+     * Lists all participants in a specific room straight from the gateway, bypassing the query coalescer and its
+     * cache. Use this when the answer must reflect the room as it is now, e.g. to resynchronize after missed events.
+     * @param request A {@link ListParticipantsRequest} specifying the room.
+     * @return A {@link CompletableFuture} that completes with a {@link ListParticipantsResponse}.
+     */
+    public CompletableFuture<ListParticipantsResponse> fetchParticipants(ListParticipantsRequest request) {
+        return sendMessage(request.toJson()).thenApply(VideoRoomHandle::toParticipants);
+    }
+
+    private static ListParticipantsResponse toParticipants(JSONObject response) {
+        final var pluginData = response.getJSONObject("plugindata").getJSONObject("data");
+        if ("participants".equals(pluginData.optString("videoroom"))) {
+            return ListParticipantsResponse.fromJson(pluginData);
+        } else {
+            throw new RuntimeException("Failed to list participants: " + response);
+        }
     }
 
     /**
@@ -231,6 +358,27 @@ public class VideoRoomHandle extends JanusHandle {
         });
     }
 
+    /**
+     * Kicks several participants, pipelining the requests and retrying transient failures.
+     * @param room           The room.
+     * @param secret         The room secret, if any.
+     * @param participantIds The participants to kick.
+     * @return A {@link CompletableFuture} that completes with each participant's outcome; see {@link BatchResult#byRequest()}.
+     */
+    public CompletableFuture<BatchResult<Long, Void>> kickAll(long room, String secret, Collection<Long> participantIds) {
+        return BatchPipeline.run(participantIds, batchWindow(), RetryPolicy.TRANSIENT_FAILURES,
+                id -> kick(new KickRequest(room, id, secret)));
+    }
+
+    /**
+     * Applies several moderation requests, pipelining them and retrying transient failures.
+     * @param requests The {@link ModerateRequest}s, e.g. one per participant stream to mute.
+     * @return A {@link CompletableFuture} that completes with each request's outcome.
+     */
+    public CompletableFuture<BatchResult<ModerateRequest, Void>> moderate(Collection<ModerateRequest> requests) {
+        return BatchPipeline.run(requests, batchWindow(), RetryPolicy.TRANSIENT_FAILURES, this::moderate);
+    }
+
     /**
      * Globally enables or disables recording for all participants in a room.
      * @param request An {@link EnableRecordingRequest} specifying the action.
@@ -298,11 +446,11 @@ public class VideoRoomHandle extends JanusHandle {
      * A successful join will be indicated by an {@code onJoined} event.
      *
      * @param request A {@link JoinRoomRequest} with the details for joining the room.
-     * @return A {@link CompletableFuture} that completes when the join request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the join request has been answered by the plugin.
      */
     public CompletableFuture<Void> join(JoinRoomRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
-            if ("error".equals(response.optString("janus"))) {
+            if ("error".equals(response.optString("janus")) || hasPluginError(response)) {
                 throw new RuntimeException("Janus returned an error on join request: " + response);
             }
         });
@@ -326,11 +474,11 @@ public class VideoRoomHandle extends JanusHandle {
      * in response, followed by a `publisher-added` event to all participants.
      *
      * @param request A {@link PublishRequest} with the details of the stream to publish.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> publish(PublishRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
-             if ("error".equals(response.optString("janus"))) {
+             if ("error".equals(response.optString("janus")) || hasPluginError(response)) {
                 throw new RuntimeException("Janus returned an error on publish request: " + response);
             }
         });
@@ -353,7 +501,7 @@ public class VideoRoomHandle extends JanusHandle {
      * or tweak individual media streams. This is an asynchronous operation.
      *
      * @param request A {@link ConfigurePublisherRequest} with the desired configuration changes.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> configure(ConfigurePublisherRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
@@ -368,7 +516,7 @@ public class VideoRoomHandle extends JanusHandle {
      * (e.g., switch simulcast layers) or trigger an ICE restart. This is an asynchronous operation.
      *
      * @param request A {@link ConfigureSubscriberRequest} with the desired configuration changes.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> configure(ConfigureSubscriberRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
@@ -383,7 +531,7 @@ public class VideoRoomHandle extends JanusHandle {
      * A successful subscription will result in an `attached` event accompanied by a JSEP offer.
      *
      * @param request A {@link SubscribeRequest} with the details of the streams to subscribe to.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> subscribe(SubscribeRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
@@ -398,7 +546,7 @@ public class VideoRoomHandle extends JanusHandle {
      * JSEP answer to the offer received in the `attached` event.
      *
      * @param request A {@link StartSubscriptionRequest}.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> start(StartSubscriptionRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
@@ -414,7 +562,7 @@ public class VideoRoomHandle extends JanusHandle {
      *
      * @param request A {@link StartSubscriptionRequest}.
      * @param jsep A {@link JSONObject} containing the JSEP answer (e.g., `{"type": "answer", "sdp": "..."}`).
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> start(StartSubscriptionRequest request, JSONObject jsep) {
         return sendMessage(request.toJson(), jsep).thenAccept(response -> {
@@ -426,7 +574,7 @@ public class VideoRoomHandle extends JanusHandle {
 
     /**
      * Pauses the media delivery for a subscription. This is an asynchronous operation.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> pause() {
         return sendMessage(new PauseSubscriptionRequest().toJson()).thenAccept(response -> {
@@ -438,7 +586,7 @@ public class VideoRoomHandle extends JanusHandle {
 
     /**
      * Resumes a paused subscription. This is an asynchronous operation.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> start() {
         return sendMessage(new StartSubscriptionRequest().toJson()).thenAccept(response -> {
@@ -452,7 +600,7 @@ public class VideoRoomHandle extends JanusHandle {
      * Updates a subscription by subscribing to new streams and/or unsubscribing from others.
      * This is an asynchronous operation that may trigger a renegotiation.
      * @param request An {@link UpdateSubscriptionRequest} with the streams to add/remove.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> updateSubscription(UpdateSubscriptionRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
@@ -466,7 +614,7 @@ public class VideoRoomHandle extends JanusHandle {
      * Switches a subscriber's stream to a different publisher without a full renegotiation.
      * This is an asynchronous operation.
      * @param request A {@link SwitchRequest} with the details of the switch operation.
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> switchRequest(SwitchRequest request) {
         return sendMessage(request.toJson()).thenAccept(response -> {
@@ -480,7 +628,7 @@ public class VideoRoomHandle extends JanusHandle {
      * Sends a request to unpublish a media stream. This is an asynchronous operation.
      * A successful unpublish will result in an `unpublished` event.
      *
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> unpublish() {
         return sendMessage(new UnpublishRequest().toJson()).thenAccept(response -> {
@@ -494,7 +642,7 @@ public class VideoRoomHandle extends JanusHandle {
      * Sends a request to leave the room (for publishers) or close a subscription (for subscribers).
      * This is an asynchronous operation. A successful leave will result in a `leaving` event.
      *
-     * @return A {@link CompletableFuture} that completes when the request has been acknowledged.
+     * @return A {@link CompletableFuture} that completes when the request has been answered by the plugin.
      */
     public CompletableFuture<Void> leave() {
         return sendMessage(new LeaveRequest().toJson()).thenAccept(response -> {
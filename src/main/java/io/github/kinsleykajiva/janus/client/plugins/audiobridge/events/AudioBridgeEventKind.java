@@ -0,0 +1,55 @@
+package io.github.kinsleykajiva.janus.client.plugins.audiobridge.events;
+
+import io.github.kinsleykajiva.janus.client.event.EventClassifier;
+import org.json.JSONObject;
+
+/**
+ * The kinds of AudioBridge event. {@link #ROOM_CREATED} and {@link #ROOM_EDITED} have no listener callback and
+ * are only routed internally.
+ */
+public enum AudioBridgeEventKind {
+    JOINED,
+    ROOM_DESTROYED,
+    PARTICIPANT_LEFT,
+    PARTICIPANTS_CHANGED,
+    ANNOUNCEMENT_STARTED,
+    ANNOUNCEMENT_STOPPED,
+    ROOM_CHANGED,
+    TALKING,
+    STOPPED_TALKING,
+    ROOM_CREATED,
+    ROOM_EDITED;
+
+    private static final EventClassifier<AudioBridgeEventKind> CLASSIFIER =
+            EventClassifier.builder(AudioBridgeEventKind.class, "audiobridge")
+                    .on("joined", JOINED)
+                    .on("destroyed", ROOM_DESTROYED)
+                    .on("created", ROOM_CREATED)
+                    .on("edited", ROOM_EDITED)
+                    .on("announcement-started", ANNOUNCEMENT_STARTED)
+                    .on("announcement-stopped", ANNOUNCEMENT_STOPPED)
+                    .on("roomchanged", ROOM_CHANGED)
+                    .on("talking", TALKING)
+                    .on("stopped-talking", STOPPED_TALKING)
+                    // A generic container for other events
+                    .onKey("event", "leaving", PARTICIPANT_LEFT)
+                    .onKey("event", "participants", PARTICIPANTS_CHANGED)
+                    .build();
+
+    /**
+     * Classifies an AudioBridge event without decoding it.
+     *
+     * @param data The event's {@code plugindata.data}.
+     * @return The kind, or {@code null} for events without a kind.
+     */
+    public static AudioBridgeEventKind classify(JSONObject data) {
+        return CLASSIFIER.classify(data);
+    }
+
+    /**
+     * @return The shared classification table for AudioBridge events.
+     */
+    public static EventClassifier<AudioBridgeEventKind> classifier() {
+        return CLASSIFIER;
+    }
+}
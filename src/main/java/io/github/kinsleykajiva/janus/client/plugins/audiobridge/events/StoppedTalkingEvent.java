@@ -0,0 +1,25 @@
+package io.github.kinsleykajiva.janus.client.plugins.audiobridge.events;
+
+import org.json.JSONObject;
+
+/**
+ * An event indicating that a participant has stopped talking. Only sent for rooms with audio level events enabled.
+ *
+ * @param roomId        The ID of the room.
+ * @param participantId The ID of the participant who stopped talking.
+ */
+public record StoppedTalkingEvent(long roomId, long participantId) {
+
+    /**
+     * Creates a {@link StoppedTalkingEvent} from a {@link JSONObject}.
+     *
+     * @param json The JSON object from Janus.
+     * @return A new instance of {@link StoppedTalkingEvent}.
+     */
+    public static StoppedTalkingEvent fromJson(JSONObject json) {
+        return new StoppedTalkingEvent(
+            json.getLong("room"),
+            json.getLong("id")
+        );
+    }
+}
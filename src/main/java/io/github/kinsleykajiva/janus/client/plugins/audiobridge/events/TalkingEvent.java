@@ -0,0 +1,25 @@
+package io.github.kinsleykajiva.janus.client.plugins.audiobridge.events;
+
+import org.json.JSONObject;
+
+/**
+ * An event indicating that a participant has started talking. Only sent for rooms with audio level events enabled.
+ *
+ * @param roomId        The ID of the room.
+ * @param participantId The ID of the participant who started talking.
+ */
+public record TalkingEvent(long roomId, long participantId) {
+
+    /**
+     * Creates a {@link TalkingEvent} from a {@link JSONObject}.
+     *
+     * @param json The JSON object from Janus.
+     * @return A new instance of {@link TalkingEvent}.
+     */
+    public static TalkingEvent fromJson(JSONObject json) {
+        return new TalkingEvent(
+            json.getLong("room"),
+            json.getLong("id")
+        );
+    }
+}
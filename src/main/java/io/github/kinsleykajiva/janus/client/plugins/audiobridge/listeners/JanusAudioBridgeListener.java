@@ -64,6 +64,24 @@ public interface JanusAudioBridgeListener {
         // Default implementation does nothing.
     }
 
+    /**
+     * Called when a participant has started talking. Only sent for rooms with audio level events enabled.
+     *
+     * @param event The {@link TalkingEvent} containing the participant's ID.
+     */
+    default void onTalking(TalkingEvent event) {
+        // Default implementation does nothing.
+    }
+
+    /**
+     * Called when a participant has stopped talking. Only sent for rooms with audio level events enabled.
+     *
+     * @param event The {@link StoppedTalkingEvent} containing the participant's ID.
+     */
+    default void onStoppedTalking(StoppedTalkingEvent event) {
+        // Default implementation does nothing.
+    }
+
     /**
      * Called when the local user has successfully changed rooms.
      *
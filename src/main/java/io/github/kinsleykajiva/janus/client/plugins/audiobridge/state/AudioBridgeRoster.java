@@ -0,0 +1,604 @@
+package io.github.kinsleykajiva.janus.client.plugins.audiobridge.state;
+
+import io.github.kinsleykajiva.janus.client.event.JanusJsep;
+import io.github.kinsleykajiva.janus.client.handle.impl.AudioBridgeHandle;
+import io.github.kinsleykajiva.janus.client.plugins.audiobridge.events.*;
+import io.github.kinsleykajiva.janus.client.plugins.audiobridge.listeners.JanusAudioBridgeListener;
+import io.github.kinsleykajiva.janus.client.plugins.audiobridge.models.AudioBridgeParticipant;
+import io.github.kinsleykajiva.janus.utils.ConcurrentLongObjectMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A local roster of AudioBridge rooms, so moderation views can ask "who is unmuted in room X" without a gateway
+ * round trip.
+ * <p>
+ * Rooms joined through an attached {@link AudioBridgeHandle} are seeded from the {@link JoinedEvent} and then kept
+ * up to date from participant joined, updated and left events, from talking and stopped-talking events, and from
+ * {@link RoomChangedEvent}s. Each participant gets a dense slot in its room; the muted, suspended and talking states
+ * are kept as {@link BitSet}s over those slots, so filtered views and counts never scan participant objects. Talking
+ * events only arrive for rooms with audio level events enabled; elsewhere the talking flag is whatever the last
+ * snapshot said.
+ * <p>
+ * Reconciliation with {@link AudioBridgeHandle#fetchParticipants(long)} is lazy. Queries always answer from the
+ * roster; a query on a room that has drifted (an event referenced an unknown participant) or has not been
+ * reconciled within the maximum age starts a background reconcile. Events that arrive while a snapshot is being
+ * fetched are applied straight away and replayed over the snapshot once it arrives, so busy rooms still settle.
+ * <p>
+ * Queries never start tracking a room; an untracked room answers as empty. Rooms are tracked once joined through an
+ * attached handle, or by {@link #reconcile(long)}.
+ */
+public final class AudioBridgeRoster implements JanusAudioBridgeListener, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AudioBridgeRoster.class);
+    /**
+     * The default maximum age of a room's last reconcile before a query refreshes it.
+     */
+    public static final long DEFAULT_MAX_AGE_SECONDS = 30;
+
+    /**
+     * The participant states indexed by the roster.
+     */
+    public enum Flag {
+        MUTED,
+        SUSPENDED,
+        TALKING
+    }
+
+    private final AudioBridgeHandle queryHandle;
+    private final long maxAgeNanos;
+    private final List<AudioBridgeHandle> handles = new CopyOnWriteArrayList<>();
+    private final ConcurrentLongObjectMap<Room> rooms = new ConcurrentLongObjectMap<>();
+
+    /**
+     * Creates a roster fed by, and reconciling through, the given handle, with the default maximum age.
+     *
+     * @param handle An AudioBridge handle; rooms joined on it are tracked.
+     */
+    public AudioBridgeRoster(AudioBridgeHandle handle) {
+        this(handle, DEFAULT_MAX_AGE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param handle An AudioBridge handle; rooms joined on it are tracked, and reconcile queries are sent on it.
+     * @param maxAge How long a reconciled room is trusted before a query refreshes it in the background.
+     * @param unit   The unit of {@code maxAge}.
+     */
+    public AudioBridgeRoster(AudioBridgeHandle handle, long maxAge, TimeUnit unit) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("Maximum age must be positive");
+        }
+        this.queryHandle = Objects.requireNonNull(handle, "handle");
+        this.maxAgeNanos = unit.toNanos(maxAge);
+        attach(handle);
+    }
+
+    /**
+     * Feeds this roster with the events of another handle.
+     */
+    public void attach(AudioBridgeHandle handle) {
+        if (!handles.contains(handle)) {
+            handles.add(handle);
+            handle.addAudioBridgeListener(this);
+        }
+    }
+
+    /**
+     * Stops feeding this roster with a handle's events. Rooms already tracked are kept.
+     */
+    public void detach(AudioBridgeHandle handle) {
+        if (handles.remove(handle)) {
+            handle.removeAudioBridgeListener(this);
+        }
+    }
+
+    /**
+     * @return true if the room is tracked.
+     */
+    public boolean isTracked(long room) {
+        return rooms.get(room) != null;
+    }
+
+    /**
+     * @return The participant, or {@code null} if not in the roster.
+     */
+    public AudioBridgeParticipant participant(long room, long id) {
+        Room state = query(room);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return state.get(id);
+        }
+    }
+
+    public boolean isMuted(long room, long id) {
+        return hasFlag(room, id, Flag.MUTED);
+    }
+
+    public boolean isSuspended(long room, long id) {
+        return hasFlag(room, id, Flag.SUSPENDED);
+    }
+
+    public boolean isTalking(long room, long id) {
+        return hasFlag(room, id, Flag.TALKING);
+    }
+
+    /**
+     * @return The number of participants in the room.
+     */
+    public int size(long room) {
+        Room state = query(room);
+        if (state == null) {
+            return 0;
+        }
+        synchronized (state) {
+            return state.present.cardinality();
+        }
+    }
+
+    /**
+     * Counts the participants whose flag is set (or clear).
+     *
+     * @param set true to count participants with the flag, false to count those without it.
+     */
+    public int count(long room, Flag flag, boolean set) {
+        Room state = query(room);
+        if (state == null) {
+            return 0;
+        }
+        synchronized (state) {
+            return state.matching(flag, set).cardinality();
+        }
+    }
+
+    /**
+     * @return A snapshot of the room's participants.
+     */
+    public List<AudioBridgeParticipant> participants(long room) {
+        Room state = query(room);
+        if (state == null) {
+            return List.of();
+        }
+        synchronized (state) {
+            return state.collect(state.present);
+        }
+    }
+
+    /**
+     * Selects the participants whose flag is set (or clear).
+     *
+     * @param set true to select participants with the flag, false to select those without it.
+     * @return A snapshot of the matching participants.
+     */
+    public List<AudioBridgeParticipant> select(long room, Flag flag, boolean set) {
+        Room state = query(room);
+        if (state == null) {
+            return List.of();
+        }
+        synchronized (state) {
+            return state.collect(state.matching(flag, set));
+        }
+    }
+
+    /**
+     * Returns the IDs of the participants whose flag is set (or clear), e.g. for a batch moderation request.
+     *
+     * @param set true to select participants with the flag, false to select those without it.
+     */
+    public long[] selectIds(long room, Flag flag, boolean set) {
+        Room state = query(room);
+        if (state == null) {
+            return new long[0];
+        }
+        synchronized (state) {
+            BitSet matching = state.matching(flag, set);
+            long[] ids = new long[matching.cardinality()];
+            int i = 0;
+            for (int slot = matching.nextSetBit(0); slot >= 0; slot = matching.nextSetBit(slot + 1)) {
+                ids[i++] = state.bySlot[slot].id();
+            }
+            return ids;
+        }
+    }
+
+    public List<AudioBridgeParticipant> unmuted(long room) {
+        return select(room, Flag.MUTED, false);
+    }
+
+    public List<AudioBridgeParticipant> muted(long room) {
+        return select(room, Flag.MUTED, true);
+    }
+
+    public List<AudioBridgeParticipant> talking(long room) {
+        return select(room, Flag.TALKING, true);
+    }
+
+    /**
+     * @return true if the room will be reconciled on its next query.
+     */
+    public boolean isDrifted(long room) {
+        Room state = rooms.get(room);
+        if (state == null) {
+            return false;
+        }
+        synchronized (state) {
+            return state.drifted;
+        }
+    }
+
+    /**
+     * Flags a room for reconciliation on its next query, e.g. after a reconnect.
+     */
+    public void markDrifted(long room) {
+        Room state = rooms.get(room);
+        if (state != null) {
+            synchronized (state) {
+                state.drifted = true;
+            }
+        }
+    }
+
+    /**
+     * Reconciles a room with the gateway now, tracking it if it is not tracked yet. A room this starts tracking is
+     * dropped again if its first snapshot cannot be fetched, e.g. because it does not exist.
+     *
+     * @return A future completed once the snapshot has been applied; it fails if the query fails.
+     */
+    public CompletableFuture<Void> reconcile(long room) {
+        return reconcile(track(room));
+    }
+
+    /**
+     * Stops tracking a room.
+     */
+    public void forget(long room) {
+        rooms.remove(room);
+    }
+
+    /**
+     * Detaches from every handle and clears the roster.
+     */
+    @Override
+    public void close() {
+        for (AudioBridgeHandle handle : handles) {
+            detach(handle);
+        }
+        List<Long> tracked = new ArrayList<>();
+        rooms.forEachValue(room -> tracked.add(room.id));
+        for (long room : tracked) {
+            rooms.remove(room);
+        }
+    }
+
+    @Override
+    public void onJoined(JoinedEvent event) {
+        Room state = track(event.roomId());
+        synchronized (state) {
+            state.selfId = event.participantId();
+            state.apply(target -> {
+                if (target.get(event.participantId()) == null) {
+                    // Our own state is not part of the event; the next reconcile fills it in
+                    target.upsert(new AudioBridgeParticipant(event.participantId(), event.display(), false, false, false, false, 0));
+                }
+                for (AudioBridgeParticipant participant : event.participants()) {
+                    target.upsert(participant);
+                }
+                return true;
+            });
+            state.drifted = true;
+        }
+    }
+
+    @Override
+    public void onJsepData(JanusJsep event) {
+    }
+
+    @Override
+    public void onParticipantJoined(ParticipantJoinedEvent event) {
+        upsert(event.roomId(), event.participant());
+    }
+
+    @Override
+    public void onParticipantUpdated(ParticipantUpdatedEvent event) {
+        upsert(event.roomId(), event.participant());
+    }
+
+    @Override
+    public void onParticipantLeft(ParticipantLeftEvent event) {
+        Room state = rooms.get(event.roomId());
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.apply(target -> target.remove(event.participantId()));
+        }
+    }
+
+    @Override
+    public void onTalking(TalkingEvent event) {
+        setTalking(event.roomId(), event.participantId(), true);
+    }
+
+    @Override
+    public void onStoppedTalking(StoppedTalkingEvent event) {
+        setTalking(event.roomId(), event.participantId(), false);
+    }
+
+    @Override
+    public void onRoomChanged(RoomChangedEvent event) {
+        // We moved: drop ourselves from the room we were in, then seed the new one
+        rooms.forEachValue(state -> {
+            synchronized (state) {
+                if (state.selfId == event.id() && state.id != event.room()) {
+                    state.apply(target -> {
+                        target.remove(event.id());
+                        return true;
+                    });
+                    state.selfId = -1;
+                }
+            }
+        });
+        onJoined(new JoinedEvent(event.room(), event.id(), event.display(), event.participants()));
+    }
+
+    @Override
+    public void onRoomDestroyed(RoomDestroyedEvent event) {
+        forget(event.roomId());
+    }
+
+    private boolean hasFlag(long room, long id, Flag flag) {
+        Room state = query(room);
+        if (state == null) {
+            return false;
+        }
+        synchronized (state) {
+            Integer slot = state.slots.get(id);
+            return slot != null && state.flag(flag).get(slot);
+        }
+    }
+
+    private void setTalking(long room, long id, boolean talking) {
+        Room state = rooms.get(room);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.apply(target -> target.setTalking(id, talking));
+        }
+    }
+
+    private void upsert(long room, AudioBridgeParticipant participant) {
+        if (participant == null) {
+            return;
+        }
+        Room state = rooms.get(room);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.apply(target -> {
+                target.upsert(participant);
+                return true;
+            });
+        }
+    }
+
+    private Room track(long room) {
+        Room state = rooms.get(room);
+        if (state == null) {
+            Room created = new Room(room);
+            state = rooms.putIfAbsent(room, created);
+            if (state == null) {
+                state = created;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Looks up a tracked room for a query, starting a background reconcile if it is drifted or stale.
+     *
+     * @return The room, or {@code null} if it is not tracked.
+     */
+    private Room query(long room) {
+        Room state = rooms.get(room);
+        if (state == null) {
+            return null;
+        }
+        boolean refresh;
+        synchronized (state) {
+            refresh = !state.reconciling
+                    && (state.drifted || state.reconciledAt == 0 || System.nanoTime() - state.reconciledAt > maxAgeNanos);
+        }
+        if (refresh) {
+            reconcile(state).exceptionally(throwable -> null); // Already logged; the next query retries
+        }
+        return state;
+    }
+
+    private CompletableFuture<Void> reconcile(Room room) {
+        synchronized (room) {
+            if (room.reconciling) {
+                return room.pending;
+            }
+            room.reconciling = true;
+            // Events from here on are kept for replay; anything that drifts the room meanwhile sets this again
+            room.replay   = new ArrayList<>();
+            room.drifted  = false;
+        }
+        CompletableFuture<Void> result = queryHandle.fetchParticipants(room.id).handle((participants, throwable) -> {
+            synchronized (room) {
+                room.reconciling = false;
+                List<Predicate<Room>> changes = room.replay;
+                room.replay = null;
+                if (throwable != null) {
+                    logger.warn("Could not reconcile AudioBridge room {}: {}", room.id, throwable.getMessage());
+                    room.drifted = true;
+                    if (room.reconciledAt == 0 && room.selfId == -1) {
+                        // Never known to exist, e.g. a reconcile of a room ID that is wrong
+                        rooms.remove(room.id, room);
+                    }
+                } else {
+                    // The snapshot was taken somewhere during the fetch; replaying every change since it started, in
+                    // order, ends in the same state either way, since each change sets absolute state
+                    room.replaceAll(participants);
+                    for (Predicate<Room> change : changes) {
+                        room.apply(change);
+                    }
+                    room.reconciledAt = System.nanoTime();
+                }
+            }
+            if (throwable != null) {
+                throw new IllegalStateException("Could not reconcile AudioBridge room " + room.id, throwable);
+            }
+            return null;
+        });
+        synchronized (room) {
+            if (room.reconciling) {
+                room.pending = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The roster of one room. Guarded by its own monitor.
+     */
+    private static final class Room {
+        final long id;
+        final ConcurrentLongObjectMap<Integer> slots = new ConcurrentLongObjectMap<>(1);
+        AudioBridgeParticipant[] bySlot = new AudioBridgeParticipant[16];
+        final BitSet present   = new BitSet();
+        final BitSet muted     = new BitSet();
+        final BitSet suspended = new BitSet();
+        final BitSet talking   = new BitSet();
+        long selfId = -1;
+        // The event-fed changes since the snapshot being fetched was requested, or null if none is being fetched
+        List<Predicate<Room>> replay;
+        boolean drifted = true;
+        boolean reconciling;
+        CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+        long reconciledAt;
+
+        Room(long id) {
+            this.id = id;
+        }
+
+        /**
+         * Applies an event-fed change, keeping it for replay if a snapshot is being fetched. A change that references
+         * an unknown participant drifts the room, unless a snapshot is on its way to settle it.
+         *
+         * @param change Returns false if it referenced an unknown participant.
+         */
+        void apply(Predicate<Room> change) {
+            if (replay != null) {
+                replay.add(change);
+                change.test(this);
+            } else if (!change.test(this)) {
+                drifted = true;
+            }
+        }
+
+        AudioBridgeParticipant get(long id) {
+            Integer slot = slots.get(id);
+            return slot == null ? null : bySlot[slot];
+        }
+
+        BitSet flag(Flag flag) {
+            return switch (flag) {
+                case MUTED -> muted;
+                case SUSPENDED -> suspended;
+                case TALKING -> talking;
+            };
+        }
+
+        BitSet matching(Flag flag, boolean set) {
+            BitSet result = (BitSet) present.clone();
+            if (set) {
+                result.and(flag(flag));
+            } else {
+                result.andNot(flag(flag));
+            }
+            return result;
+        }
+
+        List<AudioBridgeParticipant> collect(BitSet selection) {
+            List<AudioBridgeParticipant> result = new ArrayList<>(selection.cardinality());
+            for (int slot = selection.nextSetBit(0); slot >= 0; slot = selection.nextSetBit(slot + 1)) {
+                result.add(bySlot[slot]);
+            }
+            return result;
+        }
+
+        void upsert(AudioBridgeParticipant participant) {
+            Integer existing = slots.get(participant.id());
+            int slot;
+            if (existing == null) {
+                slot = present.nextClearBit(0);
+                if (slot >= bySlot.length) {
+                    bySlot = Arrays.copyOf(bySlot, bySlot.length * 2);
+                }
+                slots.put(participant.id(), slot);
+                present.set(slot);
+            } else {
+                slot = existing;
+            }
+            bySlot[slot] = participant;
+            muted.set(slot, participant.muted());
+            suspended.set(slot, participant.suspended());
+            talking.set(slot, participant.talking());
+        }
+
+        boolean setTalking(long id, boolean talking) {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                return false;
+            }
+            if (this.talking.get(slot) != talking) {
+                AudioBridgeParticipant participant = bySlot[slot];
+                bySlot[slot] = new AudioBridgeParticipant(participant.id(), participant.display(), participant.setup(),
+                        participant.muted(), participant.suspended(), talking, participant.spatialPosition());
+                this.talking.set(slot, talking);
+            }
+            return true;
+        }
+
+        boolean remove(long id) {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return false;
+            }
+            bySlot[slot] = null;
+            present.clear(slot);
+            muted.clear(slot);
+            suspended.clear(slot);
+            talking.clear(slot);
+            return true;
+        }
+
+        void replaceAll(List<AudioBridgeParticipant> participants) {
+            Set<Long> seen = new HashSet<>();
+            for (AudioBridgeParticipant participant : participants) {
+                seen.add(participant.id());
+                upsert(participant);
+            }
+            for (int slot = present.nextSetBit(0); slot >= 0; slot = present.nextSetBit(slot + 1)) {
+                if (!seen.contains(bySlot[slot].id())) {
+                    remove(bySlot[slot].id());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.kinsleykajiva.janus.client.plugins.videoroom.events;
+
+import io.github.kinsleykajiva.janus.client.event.EventClassifier;
+import org.json.JSONObject;
+
+/**
+ * The kinds of VideoRoom event, each with a bit for listener capability masks. {@link #ROOM_CREATED} and
+ * {@link #ROOM_EDITED} have no listener callback and are only routed internally.
+ */
+public enum VideoRoomEventKind {
+    JOINED,
+    PUBLISHER_ADDED,
+    UNPUBLISHED,
+    PARTICIPANT_LEFT,
+    ROOM_DESTROYED,
+    SUBSCRIBER_ATTACHED,
+    TALKING,
+    STOPPED_TALKING,
+    SUBSCRIPTION_UPDATED,
+    SWITCHED,
+    ROOM_CREATED,
+    ROOM_EDITED;
+
+    private static final EventClassifier<VideoRoomEventKind> CLASSIFIER =
+            EventClassifier.builder(VideoRoomEventKind.class, "videoroom")
+                    .on("joined", JOINED)
+                    .on("destroyed", ROOM_DESTROYED)
+                    .on("created", ROOM_CREATED)
+                    .on("edited", ROOM_EDITED)
+                    .on("attached", SUBSCRIBER_ATTACHED)
+                    .on("updated", SUBSCRIPTION_UPDATED)
+                    .on("talking", TALKING)
+                    .on("stopped-talking", STOPPED_TALKING)
+                    // A generic container for other events
+                    .onKey("event", "publishers", PUBLISHER_ADDED)
+                    .onKey("event", "unpublished", UNPUBLISHED)
+                    .onKey("event", "leaving", PARTICIPANT_LEFT)
+                    .onKeyEquals("event", "switched", "ok", SWITCHED)
+                    .build();
+
+    /**
+     * @return This kind's bit in a capability mask.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Classifies a VideoRoom event without decoding it.
+     *
+     * @param data The event's {@code plugindata.data}.
+     * @return The kind, or {@code null} for events without a kind.
+     */
+    public static VideoRoomEventKind classify(JSONObject data) {
+        return CLASSIFIER.classify(data);
+    }
+
+    /**
+     * @return The shared classification table for VideoRoom events.
+     */
+    public static EventClassifier<VideoRoomEventKind> classifier() {
+        return CLASSIFIER;
+    }
+}
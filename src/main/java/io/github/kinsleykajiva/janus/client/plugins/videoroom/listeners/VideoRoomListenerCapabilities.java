@@ -0,0 +1,59 @@
+package io.github.kinsleykajiva.janus.client.plugins.videoroom.listeners;
+
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.events.*;
+import org.json.JSONObject;
+
+/**
+ * Works out which callbacks of a {@link JanusVideoRoomListener} are actually implemented.
+ * <p>
+ * A listener's capability mask has the {@link VideoRoomEventKind#mask()} bit of every typed callback its class
+ * overrides, plus {@link #RAW_EVENTS} if it overrides {@link JanusVideoRoomListener#onEvent(JSONObject)}. The mask
+ * is computed once per listener class, so events nobody handles can be skipped before they are decoded.
+ */
+public final class VideoRoomListenerCapabilities {
+    /**
+     * The bit for {@link JanusVideoRoomListener#onEvent(JSONObject)}.
+     */
+    public static final int RAW_EVENTS = 1 << 30;
+
+    private static final ClassValue<Integer> MASKS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return compute(type);
+        }
+    };
+
+    private VideoRoomListenerCapabilities() {
+    }
+
+    /**
+     * @return The capability mask of the listener's class.
+     */
+    public static int of(JanusVideoRoomListener listener) {
+        return MASKS.get(listener.getClass());
+    }
+
+    private static int compute(Class<?> type) {
+        int mask = 0;
+        mask |= overrides(type, "onJoined", JoinedEvent.class) ? VideoRoomEventKind.JOINED.mask() : 0;
+        mask |= overrides(type, "onPublisherAdded", PublisherAddedEvent.class) ? VideoRoomEventKind.PUBLISHER_ADDED.mask() : 0;
+        mask |= overrides(type, "onUnpublished", UnpublishedEvent.class) ? VideoRoomEventKind.UNPUBLISHED.mask() : 0;
+        mask |= overrides(type, "onParticipantLeft", ParticipantLeftEvent.class) ? VideoRoomEventKind.PARTICIPANT_LEFT.mask() : 0;
+        mask |= overrides(type, "onRoomDestroyed", RoomDestroyedEvent.class) ? VideoRoomEventKind.ROOM_DESTROYED.mask() : 0;
+        mask |= overrides(type, "onSubscriberAttached", AttachedEvent.class) ? VideoRoomEventKind.SUBSCRIBER_ATTACHED.mask() : 0;
+        mask |= overrides(type, "onTalking", TalkingEvent.class) ? VideoRoomEventKind.TALKING.mask() : 0;
+        mask |= overrides(type, "onStoppedTalking", StoppedTalkingEvent.class) ? VideoRoomEventKind.STOPPED_TALKING.mask() : 0;
+        mask |= overrides(type, "onSubscriptionUpdated", UpdatedEvent.class) ? VideoRoomEventKind.SUBSCRIPTION_UPDATED.mask() : 0;
+        mask |= overrides(type, "onSwitched", SwitchedEvent.class) ? VideoRoomEventKind.SWITCHED.mask() : 0;
+        mask |= overrides(type, "onEvent", JSONObject.class) ? RAW_EVENTS : 0;
+        return mask;
+    }
+
+    private static boolean overrides(Class<?> type, String name, Class<?> parameter) {
+        try {
+            return type.getMethod(name, parameter).getDeclaringClass() != JanusVideoRoomListener.class;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return true; // Cannot tell, so assume it is implemented
+        }
+    }
+}
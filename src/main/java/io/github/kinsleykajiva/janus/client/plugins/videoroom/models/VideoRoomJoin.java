@@ -0,0 +1,31 @@
+package io.github.kinsleykajiva.janus.client.plugins.videoroom.models;
+
+import io.github.kinsleykajiva.janus.client.JanusSession;
+import io.github.kinsleykajiva.janus.client.JoinTimings;
+import io.github.kinsleykajiva.janus.client.handle.impl.VideoRoomHandle;
+import org.json.JSONObject;
+
+/**
+ * The outcome of a one-shot {@link io.github.kinsleykajiva.janus.client.JanusClient#joinVideoRoom(long, String, JSONObject)}.
+ *
+ * @param session The session created for the participant.
+ * @param handle  The VideoRoom handle, joined as a publisher.
+ * @param event   The plugin's {@code joined} event.
+ * @param timings How long each step took.
+ */
+public record VideoRoomJoin(JanusSession session, VideoRoomHandle handle, JSONObject event, JoinTimings timings) {
+
+    /**
+     * @return The joined event's plugin data (room, participant id, publishers).
+     */
+    public JSONObject data() {
+        return event.getJSONObject("plugindata").getJSONObject("data");
+    }
+
+    /**
+     * @return The JSEP answer when the join carried an offer, otherwise {@code null}.
+     */
+    public JSONObject jsep() {
+        return event.optJSONObject("jsep");
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.kinsleykajiva.janus.client.plugins.videoroom.state;
+
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.Stream;
+import org.json.JSONObject;
+
+import java.util.List;
+
+/**
+ * An immutable snapshot of a participant as mirrored by a {@link VideoRoomStateCache}.
+ *
+ * @param id        The participant's unique ID.
+ * @param display   The participant's display name, if known.
+ * @param metadata  The participant's metadata, if any.
+ * @param publisher Whether the participant is currently publishing.
+ * @param talking   Whether the participant is currently talking.
+ * @param streams   The participant's published streams, empty if not publishing or not yet known.
+ */
+public record RoomParticipant(
+    long id,
+    String display,
+    JSONObject metadata,
+    boolean publisher,
+    boolean talking,
+    List<Stream> streams) {
+
+    public RoomParticipant {
+        streams = streams == null ? List.of() : List.copyOf(streams);
+    }
+
+    /**
+     * Finds one of the participant's published streams.
+     *
+     * @param mid The stream's mid.
+     * @return The stream, or {@code null} if the participant publishes no stream with that mid.
+     */
+    public Stream stream(String mid) {
+        for (Stream stream : streams) {
+            if (mid.equals(stream.mid())) {
+                return stream;
+            }
+        }
+        return null;
+    }
+
+    RoomParticipant withTalking(boolean talking) {
+        return new RoomParticipant(id, display, metadata, publisher, talking, streams);
+    }
+
+    RoomParticipant withStreams(boolean publisher, List<Stream> streams) {
+        return new RoomParticipant(id, display, metadata, publisher, talking, streams);
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.kinsleykajiva.janus.client.plugins.videoroom.state;
+
+/**
+ * A single change to a mirrored room.
+ *
+ * @param room   The room that changed.
+ * @param type   What changed.
+ * @param before The participant before the change, or {@code null} if it was not in the room (or for room-level changes).
+ * @param after  The participant after the change, or {@code null} if it left the room (or for room-level changes).
+ */
+public record RoomStateChange(long room, Type type, RoomParticipant before, RoomParticipant after) {
+
+    public enum Type {
+        /** The room is now mirrored, seeded from a join. */
+        ROOM_TRACKED,
+        /** The room was destroyed or forgotten and is no longer mirrored. */
+        ROOM_CLOSED,
+        PARTICIPANT_JOINED,
+        PARTICIPANT_LEFT,
+        PUBLISHED,
+        UNPUBLISHED,
+        TALKING,
+        STOPPED_TALKING,
+        /** A participant's details were corrected by a resync. */
+        PARTICIPANT_UPDATED,
+        /** A subscription's mid to feed mapping changed. */
+        SUBSCRIPTION_UPDATED
+    }
+
+    /**
+     * @return The ID of the participant that changed, or -1 for room-level changes.
+     */
+    public long participantId() {
+        return after != null ? after.id() : before != null ? before.id() : -1;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.kinsleykajiva.janus.client.plugins.videoroom.state;
+
+import java.util.List;
+
+/**
+ * Receives the changes a {@link VideoRoomStateCache} applies to its mirror.
+ */
+@FunctionalInterface
+public interface RoomStateListener {
+
+    /**
+     * Called after a batch of changes has been applied. Every change in the batch concerns the same room and
+     * results from the same event or resync.
+     *
+     * @param changes The changes, in the order they were applied.
+     */
+    void onRoomStateChanged(List<RoomStateChange> changes);
+}
@@ -0,0 +1,559 @@
+package io.github.kinsleykajiva.janus.client.plugins.videoroom.state;
+
+import io.github.kinsleykajiva.janus.client.handle.impl.VideoRoomHandle;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.events.*;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.listeners.JanusVideoRoomListener;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.ListParticipantsRequest;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.Participant;
+import io.github.kinsleykajiva.janus.client.plugins.videoroom.models.Publisher;
+import io.github.kinsleykajiva.janus.utils.ConcurrentLongObjectMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local mirror of the VideoRoom rooms joined through one or more {@link VideoRoomHandle}s.
+ * <p>
+ * A room is seeded from the {@link JoinedEvent} and then kept up to date from the plugin's own events (publishers
+ * added, unpublished, participants leaving, talking, subscription updates), so "who is in this room" never needs
+ * a {@code listparticipants} round trip. Each room is indexed by participant ID and by subscription mid; lookups
+ * are constant time and never wait on event processing. Every change is reported to {@link RoomStateListener}s as a diff.
+ * <p>
+ * Events can be missed (e.g. attendees joining without {@code notify_joining}, or events lost across a reconnect).
+ * When an event references a participant the mirror does not know, the room is marked as drifted and is resynced
+ * against {@link VideoRoomHandle#fetchParticipants(ListParticipantsRequest)} on the next resync round. That request
+ * bypasses the query cache, whose entries are invalidated by the very events that were missed. Rooms that have not
+ * drifted are never polled.
+ * <p>
+ * The mid index assumes one multistream subscription per room, which is how the VideoRoom plugin is meant to be used.
+ */
+public final class VideoRoomStateCache implements JanusVideoRoomListener, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(VideoRoomStateCache.class);
+    /**
+     * The default delay between resync rounds.
+     */
+    public static final long DEFAULT_RESYNC_INTERVAL_SECONDS = 10;
+
+    private final VideoRoomHandle queryHandle;
+    private final List<VideoRoomHandle> handles = new CopyOnWriteArrayList<>();
+    private final List<RoomStateListener> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentLongObjectMap<Room> rooms = new ConcurrentLongObjectMap<>();
+    private final ScheduledExecutorService resyncer = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+    private final AtomicLong resyncs = new AtomicLong();
+
+    /**
+     * Creates a cache fed by, and resyncing through, the given handle, with the default resync interval.
+     *
+     * @param handle A VideoRoom handle; rooms joined on it are mirrored.
+     */
+    public VideoRoomStateCache(VideoRoomHandle handle) {
+        this(handle, DEFAULT_RESYNC_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param handle         A VideoRoom handle; rooms joined on it are mirrored, and resync queries are sent on it.
+     * @param resyncInterval The delay between resync rounds. A round only queries rooms that have drifted.
+     * @param unit           The unit of {@code resyncInterval}.
+     */
+    public VideoRoomStateCache(VideoRoomHandle handle, long resyncInterval, TimeUnit unit) {
+        if (resyncInterval <= 0) {
+            throw new IllegalArgumentException("Resync interval must be positive");
+        }
+        this.queryHandle = Objects.requireNonNull(handle, "handle");
+        attach(handle);
+        resyncer.scheduleWithFixedDelay(this::resyncDrifted, resyncInterval, resyncInterval, unit);
+    }
+
+    /**
+     * Feeds this cache with the events of another handle, e.g. the subscriber handle of a mirrored room.
+     */
+    public void attach(VideoRoomHandle handle) {
+        if (!handles.contains(handle)) {
+            handles.add(handle);
+            handle.addVideoRoomListener(this);
+        }
+    }
+
+    /**
+     * Stops feeding this cache with a handle's events. Rooms already mirrored are kept.
+     */
+    public void detach(VideoRoomHandle handle) {
+        if (handles.remove(handle)) {
+            handle.removeVideoRoomListener(this);
+        }
+    }
+
+    public void addListener(RoomStateListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RoomStateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return true if the room is currently mirrored.
+     */
+    public boolean isTracked(long room) {
+        return rooms.get(room) != null;
+    }
+
+    /**
+     * @return The participant, or {@code null} if the room is not mirrored or the participant is not in it.
+     */
+    public RoomParticipant participant(long room, long id) {
+        Room state = rooms.get(room);
+        return state == null ? null : state.participants.get(id);
+    }
+
+    public boolean contains(long room, long id) {
+        return participant(room, id) != null;
+    }
+
+    public boolean isPublishing(long room, long id) {
+        RoomParticipant participant = participant(room, id);
+        return participant != null && participant.publisher();
+    }
+
+    public boolean isTalking(long room, long id) {
+        RoomParticipant participant = participant(room, id);
+        return participant != null && participant.talking();
+    }
+
+    /**
+     * @return The number of participants in the room, or 0 if it is not mirrored.
+     */
+    public int participantCount(long room) {
+        Room state = rooms.get(room);
+        return state == null ? 0 : state.participants.size();
+    }
+
+    /**
+     * @return The number of publishers in the room, or 0 if it is not mirrored.
+     */
+    public int publisherCount(long room) {
+        Room state = rooms.get(room);
+        return state == null ? 0 : state.publisherCount;
+    }
+
+    /**
+     * Resolves a mid of the room's subscription to the feed it carries.
+     *
+     * @return The subscription stream, or {@code null} if unknown.
+     */
+    public SubscriberStream feedForMid(long room, String mid) {
+        Room state = rooms.get(room);
+        return state == null ? null : state.feedsByMid.get(mid);
+    }
+
+    /**
+     * @return A snapshot of the room's participants, empty if it is not mirrored.
+     */
+    public List<RoomParticipant> participants(long room) {
+        Room state = rooms.get(room);
+        List<RoomParticipant> result = new ArrayList<>();
+        if (state != null) {
+            state.participants.forEachValue(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * @return A snapshot of the room's publishers, empty if it is not mirrored.
+     */
+    public List<RoomParticipant> publishers(long room) {
+        Room state = rooms.get(room);
+        List<RoomParticipant> result = new ArrayList<>();
+        if (state != null) {
+            state.participants.forEachValue(participant -> {
+                if (participant.publisher()) {
+                    result.add(participant);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the room is waiting to be resynced.
+     */
+    public boolean isDrifted(long room) {
+        Room state = rooms.get(room);
+        return state != null && state.drifted;
+    }
+
+    /**
+     * Flags a room for the next resync round, e.g. after a reconnect.
+     */
+    public void markDrifted(long room) {
+        Room state = rooms.get(room);
+        if (state != null) {
+            state.drifted = true;
+        }
+    }
+
+    /**
+     * @return The number of resyncs that corrected a room so far.
+     */
+    public long getResyncCount() {
+        return resyncs.get();
+    }
+
+    /**
+     * Resyncs a room now, whether or not it has drifted.
+     *
+     * @return A future completed once the resync has been applied or skipped; it fails if the query fails.
+     */
+    public CompletableFuture<Void> resync(long room) {
+        Room state = rooms.get(room);
+        return state == null ? CompletableFuture.completedFuture(null) : resync(state);
+    }
+
+    /**
+     * Stops mirroring a room, e.g. after leaving it.
+     */
+    public void forget(long room) {
+        Room state = rooms.remove(room);
+        if (state != null) {
+            notifyListeners(List.of(new RoomStateChange(room, RoomStateChange.Type.ROOM_CLOSED, null, null)));
+        }
+    }
+
+    /**
+     * Detaches from every handle and stops resyncing. The mirror is cleared.
+     */
+    @Override
+    public void close() {
+        resyncer.shutdownNow();
+        for (VideoRoomHandle handle : handles) {
+            detach(handle);
+        }
+        List<Long> tracked = new ArrayList<>();
+        rooms.forEachValue(room -> tracked.add(room.id));
+        for (long room : tracked) {
+            rooms.remove(room);
+        }
+    }
+
+    @Override
+    public void onJoined(JoinedEvent event) {
+        List<RoomParticipant> seed = new ArrayList<>();
+        // Our own display is not part of the event; a resync fills it in
+        seed.add(new RoomParticipant(event.id(), null, null, false, false, List.of()));
+        for (Publisher publisher : event.publishers()) {
+            seed.add(toParticipant(publisher));
+        }
+        for (Attendee attendee : event.attendees()) {
+            seed.add(new RoomParticipant(attendee.id(), attendee.display(), attendee.metadata(), false, false, List.of()));
+        }
+        List<RoomStateChange> changes = new ArrayList<>();
+        Room state = rooms.get(event.room());
+        if (state == null) {
+            Room created = new Room(event.room());
+            state = rooms.putIfAbsent(event.room(), created);
+            if (state == null) {
+                state = created;
+                changes.add(new RoomStateChange(event.room(), RoomStateChange.Type.ROOM_TRACKED, null, null));
+            }
+        }
+        synchronized (state) {
+            state.reconcile(seed, false, changes);
+        }
+        notifyListeners(changes);
+    }
+
+    @Override
+    public void onPublisherAdded(PublisherAddedEvent event) {
+        Room state = rooms.get(event.room());
+        if (state == null) {
+            return;
+        }
+        List<RoomStateChange> changes = new ArrayList<>();
+        synchronized (state) {
+            for (Publisher publisher : event.publishers()) {
+                RoomParticipant before = state.participants.get(publisher.id());
+                if (before == null) {
+                    // Attendees are only announced with notify_joining, so a new publisher is not drift
+                    RoomParticipant joined = toParticipant(publisher).withStreams(false, List.of());
+                    state.put(joined);
+                    changes.add(new RoomStateChange(state.id, RoomStateChange.Type.PARTICIPANT_JOINED, null, joined));
+                    before = joined;
+                }
+                RoomParticipant after = before.withStreams(true, publisher.streams());
+                state.put(after);
+                changes.add(new RoomStateChange(state.id, RoomStateChange.Type.PUBLISHED, before, after));
+            }
+        }
+        notifyListeners(changes);
+    }
+
+    @Override
+    public void onUnpublished(UnpublishedEvent event) {
+        Room state = rooms.get(event.room());
+        if (state == null) {
+            return;
+        }
+        RoomStateChange change = null;
+        synchronized (state) {
+            RoomParticipant before = state.participants.get(event.unpublished());
+            if (before == null) {
+                state.drifted = true;
+            } else {
+                RoomParticipant after = before.withStreams(false, List.of());
+                state.put(after);
+                change = new RoomStateChange(state.id, RoomStateChange.Type.UNPUBLISHED, before, after);
+            }
+        }
+        if (change != null) {
+            notifyListeners(List.of(change));
+        }
+    }
+
+    @Override
+    public void onParticipantLeft(ParticipantLeftEvent event) {
+        Room state = rooms.get(event.room());
+        if (state == null) {
+            return;
+        }
+        RoomStateChange change = null;
+        synchronized (state) {
+            RoomParticipant before = state.remove(event.leaving());
+            if (before == null) {
+                state.drifted = true;
+            } else {
+                change = new RoomStateChange(state.id, RoomStateChange.Type.PARTICIPANT_LEFT, before, null);
+            }
+        }
+        if (change != null) {
+            notifyListeners(List.of(change));
+        }
+    }
+
+    @Override
+    public void onTalking(TalkingEvent event) {
+        updateTalking(event.room(), event.id(), true);
+    }
+
+    @Override
+    public void onStoppedTalking(StoppedTalkingEvent event) {
+        updateTalking(event.room(), event.id(), false);
+    }
+
+    @Override
+    public void onSubscriberAttached(AttachedEvent event) {
+        updateSubscription(event.room(), event.streams());
+    }
+
+    @Override
+    public void onSubscriptionUpdated(UpdatedEvent event) {
+        updateSubscription(event.room(), event.streams());
+    }
+
+    @Override
+    public void onRoomDestroyed(RoomDestroyedEvent event) {
+        forget(event.room());
+    }
+
+    private void updateTalking(long room, long id, boolean talking) {
+        Room state = rooms.get(room);
+        if (state == null) {
+            return;
+        }
+        RoomStateChange change = null;
+        synchronized (state) {
+            RoomParticipant before = state.participants.get(id);
+            if (before == null) {
+                state.drifted = true;
+            } else if (before.talking() != talking) {
+                RoomParticipant after = before.withTalking(talking);
+                state.put(after);
+                change = new RoomStateChange(room, talking ? RoomStateChange.Type.TALKING : RoomStateChange.Type.STOPPED_TALKING,
+                        before, after);
+            }
+        }
+        if (change != null) {
+            notifyListeners(List.of(change));
+        }
+    }
+
+    private void updateSubscription(long room, List<SubscriberStream> streams) {
+        Room state = rooms.get(room);
+        if (state == null) {
+            return;
+        }
+        Map<String, SubscriberStream> byMid = new HashMap<>();
+        synchronized (state) {
+            for (SubscriberStream stream : streams) {
+                byMid.put(stream.mid(), stream);
+                if (state.participants.get(stream.feedId()) == null) {
+                    state.drifted = true; // Subscribed to a feed we never saw being published
+                }
+            }
+            state.feedsByMid = Map.copyOf(byMid);
+            state.version++;
+        }
+        notifyListeners(List.of(new RoomStateChange(room, RoomStateChange.Type.SUBSCRIPTION_UPDATED, null, null)));
+    }
+
+    private void resyncDrifted() {
+        try {
+            rooms.forEachValue(room -> {
+                if (room.drifted) {
+                    resync(room);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("VideoRoom state resync round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private CompletableFuture<Void> resync(Room room) {
+        final long version;
+        synchronized (room) {
+            if (room.resyncing) {
+                return CompletableFuture.completedFuture(null);
+            }
+            room.resyncing = true;
+            version = room.version;
+        }
+        // Never from the query cache: events were missed, and those are what would have invalidated it
+        return queryHandle.fetchParticipants(new ListParticipantsRequest(room.id)).handle((response, throwable) -> {
+            List<RoomStateChange> changes = new ArrayList<>();
+            synchronized (room) {
+                room.resyncing = false;
+                if (throwable != null) {
+                    logger.warn("Could not resync VideoRoom {}: {}", room.id, throwable.getMessage());
+                } else if (rooms.get(room.id) == room && room.version == version) {
+                    List<RoomParticipant> fresh = new ArrayList<>();
+                    for (Participant participant : response.participants()) {
+                        fresh.add(new RoomParticipant(participant.id(), participant.display(), participant.metadata(),
+                                participant.publisher(), participant.talking(), List.of()));
+                    }
+                    room.reconcile(fresh, true, changes);
+                    room.drifted = false;
+                    resyncs.incrementAndGet();
+                }
+                // Otherwise events raced with the query and the answer may already be stale; retry next round
+            }
+            notifyListeners(changes);
+            if (throwable != null) {
+                throw new IllegalStateException("Could not resync VideoRoom " + room.id, throwable);
+            }
+            return null;
+        });
+    }
+
+    private void notifyListeners(List<RoomStateChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<RoomStateChange> batch = List.copyOf(changes);
+        for (RoomStateListener listener : listeners) {
+            try {
+                listener.onRoomStateChanged(batch);
+            } catch (RuntimeException e) {
+                logger.error("Room state listener failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static RoomParticipant toParticipant(Publisher publisher) {
+        return new RoomParticipant(publisher.id(), publisher.display(), publisher.metadata(), true,
+                publisher.talking(), publisher.streams());
+    }
+
+    private static boolean sameState(RoomParticipant a, RoomParticipant b) {
+        boolean sameMetadata = a.metadata() == null ? b.metadata() == null : b.metadata() != null && a.metadata().similar(b.metadata());
+        return sameMetadata
+                && Objects.equals(a.display(), b.display())
+                && a.publisher() == b.publisher()
+                && a.talking() == b.talking()
+                && a.streams().equals(b.streams());
+    }
+
+    /**
+     * The mirrored state of one room. Mutations are guarded by the room's monitor; reads never wait on it.
+     */
+    private static final class Room {
+        final long id;
+        final ConcurrentLongObjectMap<RoomParticipant> participants = new ConcurrentLongObjectMap<>(4);
+        volatile Map<String, SubscriberStream> feedsByMid = Map.of();
+        volatile int publisherCount;
+        volatile boolean drifted;
+        // Bumped on every mutation, so a resync can tell whether events raced with its query
+        long version;
+        boolean resyncing;
+
+        Room(long id) {
+            this.id = id;
+        }
+
+        void put(RoomParticipant participant) {
+            RoomParticipant previous = participants.put(participant.id(), participant);
+            publisherCount += (participant.publisher() ? 1 : 0) - (previous != null && previous.publisher() ? 1 : 0);
+            version++;
+        }
+
+        RoomParticipant remove(long id) {
+            RoomParticipant previous = participants.remove(id);
+            if (previous != null) {
+                publisherCount -= previous.publisher() ? 1 : 0;
+                version++;
+            }
+            return previous;
+        }
+
+        /**
+         * Makes the room match an authoritative participant list, recording what changed. Unknown (null) display
+         * names keep the mirrored value.
+         *
+         * @param keepStreams Keep the mirrored streams of publishers, for lists that carry no stream details.
+         */
+        void reconcile(List<RoomParticipant> fresh, boolean keepStreams, List<RoomStateChange> changes) {
+            Set<Long> seen = new HashSet<>();
+            for (RoomParticipant incoming : fresh) {
+                seen.add(incoming.id());
+                RoomParticipant before = participants.get(incoming.id());
+                if (before == null) {
+                    put(incoming);
+                    changes.add(new RoomStateChange(id, RoomStateChange.Type.PARTICIPANT_JOINED, null, incoming));
+                    continue;
+                }
+                RoomParticipant after = new RoomParticipant(
+                        incoming.id(),
+                        incoming.display() != null ? incoming.display() : before.display(),
+                        incoming.metadata() != null ? incoming.metadata() : before.metadata(),
+                        incoming.publisher(),
+                        incoming.talking(),
+                        !incoming.publisher() ? List.of() : keepStreams && incoming.streams().isEmpty() ? before.streams() : incoming.streams());
+                if (!sameState(before, after)) {
+                    put(after);
+                    changes.add(new RoomStateChange(id, RoomStateChange.Type.PARTICIPANT_UPDATED, before, after));
+                }
+            }
+            List<RoomParticipant> gone = new ArrayList<>();
+            participants.forEachValue(participant -> {
+                if (!seen.contains(participant.id())) {
+                    gone.add(participant);
+                }
+            });
+            for (RoomParticipant participant : gone) {
+                remove(participant.id());
+                changes.add(new RoomStateChange(id, RoomStateChange.Type.PARTICIPANT_LEFT, participant, null));
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.kinsleykajiva.janus.client.pool;
+
+import io.github.kinsleykajiva.janus.client.JanusClient;
+import io.github.kinsleykajiva.janus.client.JanusSession;
+import io.github.kinsleykajiva.janus.client.handle.JanusHandle;
+import io.github.kinsleykajiva.janus.client.handle.impl.AudioBridgeHandle;
+import io.github.kinsleykajiva.janus.client.handle.impl.SipHandle;
+import io.github.kinsleykajiva.janus.client.handle.impl.VideoRoomHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A pool of ready-to-use plugin handles, each attached on its own pre-created session.
+ * <p>
+ * Joining a room normally costs three sequential round trips ({@code create}, {@code attach}, then the plugin
+ * request); taking a handle from the pool leaves only the last one. The pool keeps {@code size} handles idle and
+ * refills in the background whenever one is taken. Idle handles older than the idle timeout are retired (their
+ * session is destroyed on the gateway, which detaches the handle) and replaced, and handles whose session was lost,
+ * e.g. after a failed reconnect, are dropped. When the pool is empty {@link #acquire()} falls back to creating a
+ * handle on demand and counts a miss. If attaching fails, the session created for it is destroyed.
+ *
+ * @param <T> The handle type.
+ */
+public final class HandlePool<T extends JanusHandle> implements AutoCloseable {
+	private static final Logger logger                      = LoggerFactory.getLogger(HandlePool.class);
+	public static final long DEFAULT_IDLE_TIMEOUT_SECONDS   = 300;
+	private static final long SWEEP_INTERVAL_SECONDS        = 5;
+	
+	private final JanusClient client;
+	private final Function<JanusSession, CompletableFuture<T>> attacher;
+	private final int size;
+	private final long idleTimeoutNanos;
+	private final ConcurrentLinkedDeque<Entry<T>> idle = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger idleCount              = new AtomicInteger();
+	private final AtomicInteger creating               = new AtomicInteger();
+	private final LongAdder hits                       = new LongAdder();
+	private final LongAdder misses                     = new LongAdder();
+	private final LongAdder created                    = new LongAdder();
+	private final LongAdder retired                    = new LongAdder();
+	private final LongAdder failures                   = new LongAdder();
+	private final ScheduledExecutorService sweeper     = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+	private volatile boolean closed;
+	
+	/**
+	 * Creates a pool and starts filling it.
+	 *
+	 * @param client      The client to create sessions on.
+	 * @param attacher    Attaches the pooled plugin to a fresh session, e.g. {@code JanusSession::attachToVideoRoom}.
+	 * @param size        The number of handles to keep ready.
+	 * @param idleTimeout How long a handle may sit in the pool before it is replaced; 0 keeps handles indefinitely.
+	 */
+	public HandlePool(JanusClient client, Function<JanusSession, CompletableFuture<T>> attacher, int size,
+	                  long idleTimeout, TimeUnit unit) {
+		if (size < 1) {
+			throw new IllegalArgumentException("size must be at least 1");
+		}
+		this.client           = client;
+		this.attacher         = attacher;
+		this.size             = size;
+		this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+		sweeper.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+		refill();
+	}
+	
+	public static HandlePool<VideoRoomHandle> videoRoom(JanusClient client, int size) {
+		return new HandlePool<>(client, JanusSession::attachToVideoRoom, size, DEFAULT_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+	
+	public static HandlePool<AudioBridgeHandle> audioBridge(JanusClient client, int size) {
+		return new HandlePool<>(client, JanusSession::attachAudioBridgePlugin, size, DEFAULT_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+	
+	public static HandlePool<SipHandle> sip(JanusClient client, int size) {
+		return new HandlePool<>(client, JanusSession::attachSipPlugin, size, DEFAULT_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+	}
+	
+	/**
+	 * Takes a handle, creating one on demand if none is ready. The handle and its session now belong to the caller.
+	 *
+	 * @return A future that completes with the handle; already complete on a pool hit.
+	 */
+	public CompletableFuture<T> acquire() {
+		Optional<T> pooled = tryAcquire();
+		if (pooled.isPresent()) {
+			return CompletableFuture.completedFuture(pooled.get());
+		}
+		misses.increment();
+		return create();
+	}
+	
+	/**
+	 * Takes a handle only if one is ready.
+	 *
+	 * @return The handle, or empty if the pool is drained; an empty result does not count as a miss.
+	 */
+	public Optional<T> tryAcquire() {
+		ensureOpen();
+		Entry<T> entry;
+		while ((entry = idle.pollFirst()) != null) {
+			idleCount.decrementAndGet();
+			if (isAlive(entry.handle)) {
+				hits.increment();
+				refill();
+				return Optional.of(entry.handle);
+			}
+		}
+		refill();
+		return Optional.empty();
+	}
+	
+	/**
+	 * @return A snapshot of the pool's counters.
+	 */
+	public Stats stats() {
+		return new Stats(hits.sum(), misses.sum(), created.sum(), retired.sum(), failures.sum(), idleCount.get(), creating.get());
+	}
+	
+	/**
+	 * Stops refilling and destroys the sessions of all idle handles. Handles already taken are unaffected.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		sweeper.shutdownNow();
+		Entry<T> entry;
+		while ((entry = idle.pollFirst()) != null) {
+			idleCount.decrementAndGet();
+			retire(entry);
+		}
+	}
+	
+	private void refill() {
+		// Bounded, so creations that fail synchronously cannot spin here
+		for (int attempts = 0; attempts < size && !closed && client.isConnected(); attempts++) {
+			int inProgress = creating.get();
+			if (idleCount.get() + inProgress >= size) {
+				return;
+			}
+			if (!creating.compareAndSet(inProgress, inProgress + 1)) {
+				continue; // Lost a race with another refill; re-check
+			}
+			create().whenComplete((handle, throwable) -> {
+				creating.decrementAndGet();
+				if (throwable != null) {
+					// The next acquire or sweep retries, so a gateway that is down is not hammered
+					return;
+				}
+				if (closed) {
+					retire(new Entry<>(handle, System.nanoTime()));
+					return;
+				}
+				idle.offerLast(new Entry<>(handle, System.nanoTime()));
+				idleCount.incrementAndGet();
+			});
+		}
+	}
+	
+	private CompletableFuture<T> create() {
+		return client.createSession()
+				       .thenCompose(session -> attacher.apply(session).whenComplete((handle, throwable) -> {
+					       if (throwable != null) {
+						       // Otherwise keep-alives hold the session open for good, and every retry leaks another
+						       destroy(session);
+					       }
+				       }))
+				       .whenComplete((handle, throwable) -> {
+					       if (throwable != null) {
+						       failures.increment();
+						       logger.warn("Could not create a pooled handle: {}", throwable.getMessage());
+					       } else {
+						       created.increment();
+					       }
+				       });
+	}
+	
+	/**
+	 * Drops handles whose session is gone, retires those idle for too long, and tops the pool up.
+	 */
+	private void sweep() {
+		try {
+			long now = System.nanoTime();
+			for (Entry<T> entry : idle) {
+				boolean alive = isAlive(entry.handle);
+				boolean expired = idleTimeoutNanos > 0 && now - entry.pooledAtNanos >= idleTimeoutNanos;
+				if ((!alive || expired) && idle.removeFirstOccurrence(entry)) {
+					idleCount.decrementAndGet();
+					if (alive) {
+						retire(entry);
+					}
+				}
+			}
+			refill();
+		} catch (Exception e) {
+			logger.error("Handle pool sweep failed: {}", e.getMessage(), e);
+		}
+	}
+	
+	private void retire(Entry<T> entry) {
+		retired.increment();
+		destroy(entry.handle.getSession());
+	}
+	
+	private void destroy(JanusSession session) {
+		session.destroy().whenComplete((ignored, throwable) -> {
+			if (throwable != null) {
+				logger.debug("Could not destroy pooled session {}: {}", session.getSessionId(), throwable.getMessage());
+			}
+		});
+	}
+	
+	private boolean isAlive(T handle) {
+		return client.getSession(handle.getSession().getSessionId()).isPresent();
+	}
+	
+	private void ensureOpen() {
+		if (closed) {
+			throw new IllegalStateException("Handle pool is closed");
+		}
+	}
+	
+	private record Entry<T>(T handle, long pooledAtNanos) {
+	}
+	
+	/**
+	 * Pool counters.
+	 *
+	 * @param hits     Acquisitions served from the pool.
+	 * @param misses   Acquisitions that had to create a handle on demand.
+	 * @param created  Handles created, for the pool or on demand.
+	 * @param retired  Idle handles destroyed because they timed out or the pool closed.
+	 * @param failures Handle creations that failed.
+	 * @param idle     Handles ready right now.
+	 * @param creating Handles being created for the pool right now.
+	 */
+	public record Stats(long hits, long misses, long created, long retired, long failures, int idle, int creating) {
+		
+		/**
+		 * @return The share of acquisitions served from the pool, or 0 if there were none.
+		 */
+		public double hitRatio() {
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+}
@@ -0,0 +1,324 @@
+package io.github.kinsleykajiva.janus.client.transport;
+
+import io.github.kinsleykajiva.janus.utils.JanusCodec;
+import io.github.kinsleykajiva.janus.utils.JanusEnvelope;
+import io.github.kinsleykajiva.janus.utils.JanusException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.CharBuffer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The Janus HTTP REST transport.
+ * <p>
+ * Requests are POSTed to {@code /janus}, {@code /janus/<session>} or {@code /janus/<session>/<handle>} and the
+ * response body is delivered to the listener like any other inbound message. POSTs for different sessions are in
+ * flight concurrently; POSTs for the same session are chained so Janus sees them in the order they were sent
+ * (it serves every HTTP connection on its own thread, so concurrent requests could overtake each other).
+ * <p>
+ * Asynchronous events are fetched with one long-poll GET per session, started once the listener has handled the
+ * response that created or claimed the session. Each poll asks for up to {@code maxev} events, so a busy session drains a whole batch per round trip.
+ */
+public class HttpLongPollTransport implements JanusTransport {
+	private static final Logger logger              = LoggerFactory.getLogger(HttpLongPollTransport.class);
+	public static final int DEFAULT_MAX_EVENTS      = 10;
+	private static final Duration REQUEST_TIMEOUT   = Duration.ofSeconds(30);
+	private static final Duration POLL_TIMEOUT      = Duration.ofSeconds(60);                                   // Janus answers an idle poll after 30 seconds
+	private static final long POLL_RETRY_DELAY_MS   = 1_000;
+	private static final int MAX_POLL_FAILURES      = 3;
+	private static final long NO_SESSION            = -1;
+	
+	private final URI uri;
+	private final String baseUrl;
+	private final HttpClient httpClient;
+	private final JanusCodec codec;
+	private final int maxEvents;
+	private final Map<Long, CompletableFuture<Void>> sessionTails = new ConcurrentHashMap<>();
+	private final Map<Long, AtomicBoolean> pollers                = new ConcurrentHashMap<>();
+	private final AtomicInteger pollFailures                      = new AtomicInteger();
+	private volatile JanusTransportListener listener;
+	private volatile boolean connected;
+	
+	/**
+	 * @param uri        The REST endpoint, e.g. {@code http://localhost:8088/janus}.
+	 * @param httpClient The client used for all requests.
+	 * @param codec      The codec used to serialize outbound messages.
+	 * @param maxEvents  The maximum number of events returned by a single long poll.
+	 */
+	public HttpLongPollTransport(URI uri, HttpClient httpClient, JanusCodec codec, int maxEvents) {
+		if (maxEvents < 1) {
+			throw new IllegalArgumentException("maxEvents must be at least 1");
+		}
+		String url = uri.toString();
+		this.uri        = uri;
+		this.baseUrl    = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+		this.httpClient = httpClient;
+		this.codec      = codec;
+		this.maxEvents  = maxEvents;
+	}
+	
+	/**
+	 * Checks that the endpoint answers {@code GET /info}; there is no persistent connection to open.
+	 */
+	@Override
+	public CompletableFuture<Void> connect(JanusTransportListener listener) {
+		this.listener = listener;
+		HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/info"))
+				                    .timeout(REQUEST_TIMEOUT)
+				                    .GET()
+				                    .build();
+		return httpClient.sendAsync(probe, HttpResponse.BodyHandlers.discarding()).thenAccept(response -> {
+			if (response.statusCode() != 200) {
+				throw new JanusException("Janus REST endpoint " + baseUrl + " answered HTTP " + response.statusCode());
+			}
+			pollFailures.set(0);
+			connected = true;
+			logger.info("Successfully connected to Janus Gateway at {}", uri);
+		});
+	}
+	
+	@Override
+	public CompletableFuture<Void> send(JSONObject message) {
+		if (!connected) {
+			throw new IllegalStateException("HTTP transport is not connected.");
+		}
+		long sessionId = message.optLong("session_id", NO_SESSION);
+		long handleId  = message.optLong("handle_id", NO_SESSION);
+		String janus   = message.optString("janus");
+		String body    = codec.encode(message);
+		
+		CompletableFuture<Void> sent = new CompletableFuture<>();
+		CompletableFuture<Void> previous = sessionTails.put(sessionId, sent);
+		Runnable post = () -> post(sessionId, handleId, janus, body).whenComplete((ignored, throwable) -> {
+			if (throwable != null) {
+				sent.completeExceptionally(throwable);
+			} else {
+				sent.complete(null);
+			}
+			// Only drop the tail if nothing was chained after us, so the map does not grow with idle sessions.
+			sessionTails.remove(sessionId, sent);
+		});
+		if (previous == null || previous.isDone()) {
+			post.run();
+		} else {
+			previous.whenComplete((ignored, throwable) -> post.run());
+		}
+		return sent;
+	}
+	
+	@Override
+	public CompletableFuture<Void> close() {
+		boolean wasConnected = connected;
+		connected = false;
+		pollers.values().forEach(active -> active.set(false));
+		pollers.clear();
+		if (wasConnected && listener != null) {
+			listener.onClose(1000, "Client requested disconnect");
+		}
+		return CompletableFuture.completedFuture(null);
+	}
+	
+	@Override
+	public boolean isConnected() {
+		return connected;
+	}
+	
+	@Override
+	public URI getUri() {
+		return uri;
+	}
+	
+	/**
+	 * Treats repeated poll failures like a dropped WebSocket: stops polling and reports the error once, so the
+	 * listener can reconnect and reclaim its sessions.
+	 */
+	private synchronized void fail(Throwable error) {
+		if (!connected) {
+			return;
+		}
+		connected = false;
+		pollers.values().forEach(active -> active.set(false));
+		pollers.clear();
+		listener.onError(error);
+	}
+	
+	private CompletableFuture<Void> post(long sessionId, long handleId, String janus, String body) {
+		String target = baseUrl;
+		if (sessionId != NO_SESSION) {
+			target += "/" + sessionId;
+			if (handleId != NO_SESSION) {
+				target += "/" + handleId;
+			}
+		}
+		HttpRequest request = HttpRequest.newBuilder(URI.create(target))
+				                      .timeout(REQUEST_TIMEOUT)
+				                      .header("Content-Type", "application/json")
+				                      .POST(HttpRequest.BodyPublishers.ofString(body))
+				                      .build();
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenAccept(response -> {
+			if (response.statusCode() != 200) {
+				throw new JanusException("Janus answered HTTP " + response.statusCode() + " to " + janus);
+			}
+			String responseBody = response.body();
+			JanusEnvelope envelope = JanusEnvelope.scan(responseBody, codec);
+			long pollSession = NO_SESSION;
+			if (envelope != null && envelope.isJanus("success")) {
+				if ("create".equals(janus)) {
+					pollSession = envelope.json().getJSONObject("data").getLong("id");
+				} else if ("claim".equals(janus)) {
+					pollSession = sessionId;
+				} else if ("destroy".equals(janus) && handleId == NO_SESSION) {
+					stopPolling(sessionId);
+				}
+			}
+			CompletionStage<?> delivered = listener.onMessage(responseBody);
+			if (pollSession != NO_SESSION) {
+				// Only poll once the listener knows the session, or its first events could arrive before it does
+				long polled = pollSession;
+				delivered.whenComplete((ignored, throwable) -> startPolling(polled));
+			}
+		});
+	}
+	
+	private void startPolling(long sessionId) {
+		AtomicBoolean active = new AtomicBoolean(true);
+		AtomicBoolean previous = pollers.put(sessionId, active);
+		if (previous != null) {
+			previous.set(false);
+		}
+		logger.debug("Starting long poll for session {}", sessionId);
+		poll(sessionId, active);
+	}
+	
+	private void stopPolling(long sessionId) {
+		AtomicBoolean active = pollers.remove(sessionId);
+		if (active != null) {
+			active.set(false);
+			logger.debug("Stopped long poll for session {}", sessionId);
+		}
+	}
+	
+	private void poll(long sessionId, AtomicBoolean active) {
+		if (!active.get() || !connected) {
+			return;
+		}
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + sessionId + "?maxev=" + maxEvents + "&rid=" + System.nanoTime()))
+				                      .timeout(POLL_TIMEOUT)
+				                      .GET()
+				                      .build();
+		httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, throwable) -> {
+			if (!active.get()) {
+				return;
+			}
+			if (throwable != null || response.statusCode() != 200) {
+				String failure = throwable != null ? throwable.getMessage() : "HTTP " + response.statusCode();
+				logger.warn("Long poll for session {} failed: {}", sessionId, failure);
+				if (pollFailures.incrementAndGet() >= MAX_POLL_FAILURES) {
+					fail(new JanusException("Janus REST endpoint " + baseUrl + " is unreachable: " + failure));
+					return;
+				}
+				CompletableFuture.delayedExecutor(POLL_RETRY_DELAY_MS, TimeUnit.MILLISECONDS)
+						.execute(() -> poll(sessionId, active));
+				return;
+			}
+			pollFailures.set(0);
+			if (deliverEvents(response.body())) {
+				poll(sessionId, active);
+			} else {
+				logger.warn("Session {} is gone, stopping its long poll", sessionId);
+				pollers.remove(sessionId, active);
+				active.set(false);
+			}
+		});
+	}
+	
+	/**
+	 * Hands each event of a poll response to the listener.
+	 *
+	 * @return false if Janus reported that the session no longer exists.
+	 */
+	private boolean deliverEvents(String body) {
+		boolean[] sessionAlive = {true};
+		forEachObject(body, event -> {
+			JanusEnvelope envelope = JanusEnvelope.scan(event, codec);
+			if (envelope == null || envelope.isJanus("keepalive")) {
+				return;
+			}
+			if (envelope.isJanus("error") && !envelope.hasTransaction()) {
+				sessionAlive[0] = false;
+			}
+			listener.onMessage(event);
+		});
+		return sessionAlive[0];
+	}
+	
+	/**
+	 * Splits a poll response, either a single object or (with {@code maxev}) an array of objects, into views over
+	 * the response text without copying.
+	 */
+	static void forEachObject(String body, Consumer<CharSequence> consumer) {
+		int length = body.length();
+		int pos = 0;
+		while (pos < length && Character.isWhitespace(body.charAt(pos))) {
+			pos++;
+		}
+		if (pos >= length) {
+			return;
+		}
+		if (body.charAt(pos) == '{') {
+			consumer.accept(body);
+			return;
+		}
+		if (body.charAt(pos) != '[') {
+			return;
+		}
+		int depth = 0;
+		int start = -1;
+		boolean inString = false;
+		for (int i = pos + 1; i < length; i++) {
+			char c = body.charAt(i);
+			if (inString) {
+				if (c == '\\') {
+					i++;
+				} else if (c == '"') {
+					inString = false;
+				}
+				continue;
+			}
+			switch (c) {
+				case '"' -> inString = true;
+				case '{', '[' -> {
+					if (depth == 0) {
+						start = i;
+					}
+					depth++;
+				}
+				case '}', ']' -> {
+					if (depth == 0) {
+						return; // end of the outer array
+					}
+					depth--;
+					if (depth == 0 && c == '}') {
+						consumer.accept(CharBuffer.wrap(body, start, i + 1));
+					}
+				}
+				default -> {
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package io.github.kinsleykajiva.janus.client.transport;
+
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A connection to a Janus Gateway over one of its transports (WebSocket, HTTP REST, ...).
+ * <p>
+ * Implementations deliver every complete inbound message to the {@link JanusTransportListener} passed to
+ * {@link #connect(JanusTransportListener)}; requests and session/handle routing are expressed in the Janus
+ * JSON itself ({@code session_id}, {@code handle_id}), so sessions and handles work the same over any transport.
+ */
+public interface JanusTransport {
+	
+	/**
+	 * Opens the transport.
+	 *
+	 * @param listener Receives inbound messages and connection lifecycle callbacks.
+	 * @return A future that completes once messages can be sent.
+	 */
+	CompletableFuture<Void> connect(JanusTransportListener listener);
+	
+	/**
+	 * Sends a Janus request. Safe to call from any number of threads.
+	 *
+	 * @param message The request.
+	 * @return A future that completes once the message has been handed to the gateway.
+	 * @throws IllegalStateException if the transport is not connected.
+	 */
+	CompletableFuture<Void> send(JSONObject message);
+	
+	/**
+	 * Closes the transport. Messages that have not been written yet are failed.
+	 *
+	 * @return A future that completes once the transport is closed.
+	 */
+	CompletableFuture<Void> close();
+	
+	/**
+	 * @return true if the transport is open and can send.
+	 */
+	boolean isConnected();
+	
+	/**
+	 * @return The gateway endpoint this transport talks to.
+	 */
+	URI getUri();
+}
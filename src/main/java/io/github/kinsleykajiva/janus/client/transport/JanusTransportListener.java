@@ -0,0 +1,36 @@
+package io.github.kinsleykajiva.janus.client.transport;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Receives what a {@link JanusTransport} reads from the gateway.
+ */
+public interface JanusTransportListener {
+	
+	/**
+	 * Called with each complete inbound message.
+	 * <p>
+	 * The text may be a view over a transport-owned buffer and is only guaranteed to stay valid until the returned
+	 * stage completes. The WebSocket transport delivers messages serially; the HTTP transport may deliver messages
+	 * for different sessions concurrently.
+	 *
+	 * @param message The message text.
+	 * @return A stage that completes once nothing will read {@code message} any more.
+	 */
+	CompletionStage<?> onMessage(CharSequence message);
+	
+	/**
+	 * Called when the transport fails.
+	 *
+	 * @param error The failure.
+	 */
+	void onError(Throwable error);
+	
+	/**
+	 * Called when the transport is closed, by either side.
+	 *
+	 * @param statusCode The close status code.
+	 * @param reason     The close reason.
+	 */
+	void onClose(int statusCode, String reason);
+}
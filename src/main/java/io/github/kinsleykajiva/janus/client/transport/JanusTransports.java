@@ -0,0 +1,43 @@
+package io.github.kinsleykajiva.janus.client.transport;
+
+import io.github.kinsleykajiva.janus.utils.JanusCodec;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+
+/**
+ * Creates the {@link JanusTransport} matching a gateway URI.
+ */
+public final class JanusTransports {
+	
+	private JanusTransports() {
+	}
+	
+	/**
+	 * Picks the transport from the URI scheme:
+	 * <ul>
+	 *   <li>{@code ws}/{@code wss}: {@link WebSocketTransport}</li>
+	 *   <li>{@code http}/{@code https}: {@link HttpLongPollTransport}</li>
+	 * </ul>
+	 * {@code unix} URIs are rejected with an explanation: Janus's own Unix socket transport ({@code pfunix}) only offers
+	 * {@code SOCK_SEQPACKET} and {@code SOCK_DGRAM} sockets, which the JDK cannot open.
+	 *
+	 * @param uri               The gateway endpoint.
+	 * @param subprotocol       The WebSocket subprotocol, used only for WebSocket URIs.
+	 * @param httpClient        The client used by the WebSocket and HTTP transports.
+	 * @param codec             The codec used to serialize outbound messages.
+	 * @param longPollMaxEvents The {@code maxev} value, used only for HTTP URIs.
+	 * @return A transport that is not connected yet.
+	 * @throws IllegalArgumentException if the scheme is not supported.
+	 */
+	public static JanusTransport create(URI uri, String subprotocol, HttpClient httpClient, JanusCodec codec, int longPollMaxEvents) {
+		String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase();
+		return switch (scheme) {
+			case "ws", "wss" -> new WebSocketTransport(uri, subprotocol, httpClient, codec);
+			case "http", "https" -> new HttpLongPollTransport(uri, httpClient, codec, longPollMaxEvents);
+			case "unix" -> throw new IllegalArgumentException("Janus's Unix socket transport (pfunix) uses SOCK_SEQPACKET or "
+					+ "SOCK_DGRAM sockets, which the JDK cannot open; connect over ws:// or http:// instead: " + uri);
+			default -> throw new IllegalArgumentException("Unsupported Janus URI scheme: " + uri);
+		};
+	}
+}
@@ -0,0 +1,158 @@
+package io.github.kinsleykajiva.janus.client.transport;
+
+import io.github.kinsleykajiva.janus.utils.FragmentAssembler;
+import io.github.kinsleykajiva.janus.utils.JanusCodec;
+import io.github.kinsleykajiva.janus.utils.OutboundMessageQueue;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The {@code janus-protocol} WebSocket transport.
+ * <p>
+ * Outbound messages go through a single-writer {@link OutboundMessageQueue}; inbound fragments are reassembled by
+ * a {@link FragmentAssembler} and handed to the listener. The next frame is requested as soon as the current one
+ * has been handed over, without waiting for the listener to finish with it: the listener queues events per
+ * session, so waiting would let one slow session hold up every other session on the connection. The stage
+ * returned for a frame only keeps its text valid until the listener is done with it.
+ */
+public class WebSocketTransport implements JanusTransport, WebSocket.Listener {
+	private static final Logger logger        = LoggerFactory.getLogger(WebSocketTransport.class);
+	public static final String JANUS_PROTOCOL = "janus-protocol";
+	public static final String ADMIN_PROTOCOL = "janus-admin-protocol";
+	
+	private final URI uri;
+	private final String subprotocol;
+	private final HttpClient httpClient;
+	private final JanusCodec codec;
+	private final FragmentAssembler fragmentAssembler = new FragmentAssembler();
+	private volatile WebSocket webSocket;
+	private volatile OutboundMessageQueue outboundQueue;
+	private volatile JanusTransportListener listener;
+	
+	/**
+	 * @param uri         The WebSocket endpoint, e.g. {@code ws://localhost:8188/janus}.
+	 * @param subprotocol The WebSocket subprotocol, {@link #JANUS_PROTOCOL} or {@link #ADMIN_PROTOCOL}.
+	 * @param httpClient  The client used to open the WebSocket.
+	 * @param codec       The codec used to serialize outbound messages.
+	 */
+	public WebSocketTransport(URI uri, String subprotocol, HttpClient httpClient, JanusCodec codec) {
+		this.uri         = uri;
+		this.subprotocol = subprotocol;
+		this.httpClient  = httpClient;
+		this.codec       = codec;
+	}
+	
+	@Override
+	public CompletableFuture<Void> connect(JanusTransportListener listener) {
+		this.listener = listener;
+		fragmentAssembler.reset();
+		return httpClient.newWebSocketBuilder()
+				       .subprotocols(subprotocol)
+				       .buildAsync(uri, this)
+				       .thenAccept(ws -> {
+					       this.outboundQueue = new OutboundMessageQueue(text -> ws.sendText(text, true));
+					       this.webSocket     = ws;
+				       });
+	}
+	
+	@Override
+	public CompletableFuture<Void> send(JSONObject message) {
+		WebSocket socket = webSocket;
+		if (socket == null || socket.isOutputClosed()) {
+			throw new IllegalStateException("WebSocket is not connected.");
+		}
+		return outboundQueue.enqueue(codec.encode(message));
+	}
+	
+	@Override
+	public CompletableFuture<Void> close() {
+		OutboundMessageQueue queue = outboundQueue;
+		if (queue != null) {
+			queue.close();
+		}
+		WebSocket socket = webSocket;
+		if (socket == null || socket.isOutputClosed()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return socket.sendClose(WebSocket.NORMAL_CLOSURE, "Client requested disconnect").thenAccept(ws -> {});
+	}
+	
+	@Override
+	public boolean isConnected() {
+		WebSocket socket = webSocket;
+		return socket != null && !socket.isOutputClosed();
+	}
+	
+	@Override
+	public URI getUri() {
+		return uri;
+	}
+	
+	@Override
+	public void onOpen(WebSocket webSocket) {
+		logger.info("Successfully connected to Janus Gateway at {}", uri);
+		webSocket.request(1);
+	}
+	
+	@Override
+	public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+		logger.debug("Received WebSocket message fragment: length={}, last={}", data.length(), last);
+		FragmentAssembler.Message message = fragmentAssembler.append(data, last);
+		CompletionStage<?> processed;
+		
+		if (message != null) {
+			// The text may be a view over the WebSocket's own buffer or a pooled one; both stay valid until
+			// the listener is done with it.
+			processed = listener.onMessage(message.text()).whenComplete((ignored, throwable) -> message.release());
+		} else {
+			logger.debug("Waiting for more fragments, current buffer length: {}", fragmentAssembler.pendingLength());
+			processed = CompletableFuture.completedFuture(null);
+		}
+		
+		webSocket.request(1);
+		return processed;
+	}
+	
+	@Override
+	public void onError(WebSocket webSocket, Throwable error) {
+		if (isStale(webSocket)) {
+			return;
+		}
+		fragmentAssembler.reset();
+		closeQueue();
+		listener.onError(error);
+	}
+	
+	@Override
+	public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+		if (isStale(webSocket)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		fragmentAssembler.reset();
+		closeQueue();
+		listener.onClose(statusCode, reason);
+		return CompletableFuture.completedFuture(null);
+	}
+	
+	/**
+	 * @return true for callbacks from a socket that has since been replaced by a reconnect.
+	 */
+	private boolean isStale(WebSocket socket) {
+		WebSocket current = webSocket;
+		return current != null && current != socket;
+	}
+	
+	private void closeQueue() {
+		OutboundMessageQueue queue = outboundQueue;
+		if (queue != null) {
+			queue.close();
+		}
+	}
+}
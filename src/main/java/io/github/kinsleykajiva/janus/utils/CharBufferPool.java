@@ -0,0 +1,67 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A small pool of {@code char[]} buffers in fixed size classes.
+ * <p>
+ * Requests are rounded up to the next size class; anything larger than the biggest class is allocated exactly
+ * and simply dropped on release, so a single oversized message never inflates the pool. Each class keeps at most
+ * a handful of idle buffers.
+ */
+public final class CharBufferPool {
+	private static final int[] SIZE_CLASSES        = {8 * 1024, 32 * 1024, 128 * 1024, 512 * 1024};
+	private static final int MAX_IDLE_PER_CLASS    = 4;
+	private static final CharBufferPool SHARED     = new CharBufferPool();
+
+	@SuppressWarnings("unchecked")
+	private final ArrayBlockingQueue<char[]>[] idle = (ArrayBlockingQueue<char[]>[]) new ArrayBlockingQueue<?>[SIZE_CLASSES.length];
+
+	public CharBufferPool() {
+		for (int i = 0; i < SIZE_CLASSES.length; i++) {
+			idle[i] = new ArrayBlockingQueue<>(MAX_IDLE_PER_CLASS);
+		}
+	}
+
+	/**
+	 * @return The pool shared by all connections in this JVM.
+	 */
+	public static CharBufferPool shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Returns a buffer of at least {@code minCapacity} chars.
+	 */
+	public char[] acquire(int minCapacity) {
+		int sizeClass = sizeClassFor(minCapacity);
+		if (sizeClass < 0) {
+			return new char[minCapacity];
+		}
+		char[] buffer = idle[sizeClass].poll();
+		return buffer != null ? buffer : new char[SIZE_CLASSES[sizeClass]];
+	}
+
+	/**
+	 * Hands a buffer back. Buffers that are not exactly one of the size classes, or that arrive while their class
+	 * is already full, are left to the garbage collector.
+	 */
+	public void release(char[] buffer) {
+		if (buffer == null) {
+			return;
+		}
+		int sizeClass = sizeClassFor(buffer.length);
+		if (sizeClass >= 0 && SIZE_CLASSES[sizeClass] == buffer.length) {
+			idle[sizeClass].offer(buffer);
+		}
+	}
+
+	private static int sizeClassFor(int capacity) {
+		for (int i = 0; i < SIZE_CLASSES.length; i++) {
+			if (capacity <= SIZE_CLASSES[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
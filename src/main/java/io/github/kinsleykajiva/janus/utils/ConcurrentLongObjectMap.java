@@ -0,0 +1,243 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A concurrent map from primitive {@code long} keys to objects.
+ * <p>
+ * Keys are spread over a fixed number of stripes, each an open-addressing table (linear probing, backward-shift
+ * deletion) guarded by its own monitor. There is no boxing of keys and no per-entry node object, and operations
+ * on different stripes never contend. Null values are not permitted.
+ *
+ * @param <V> The value type.
+ */
+public final class ConcurrentLongObjectMap<V> {
+	private static final int DEFAULT_STRIPES = 32;
+	
+	private final Stripe<V>[] stripes;
+	private final int stripeMask;
+	
+	public ConcurrentLongObjectMap() {
+		this(DEFAULT_STRIPES);
+	}
+	
+	/**
+	 * @param stripes The number of independently locked stripes, rounded up to a power of two.
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentLongObjectMap(int stripes) {
+		int count = 1;
+		while (count < stripes) {
+			count <<= 1;
+		}
+		this.stripes    = (Stripe<V>[]) new Stripe<?>[count];
+		this.stripeMask = count - 1;
+		for (int i = 0; i < count; i++) {
+			this.stripes[i] = new Stripe<>();
+		}
+	}
+	
+	public V get(long key) {
+		long hash = mix(key);
+		return stripes[(int) hash & stripeMask].get(key, hash);
+	}
+	
+	/**
+	 * @return The previous value, or {@code null}.
+	 */
+	public V put(long key, V value) {
+		if (value == null) {
+			throw new NullPointerException("Null values are not permitted");
+		}
+		long hash = mix(key);
+		return stripes[(int) hash & stripeMask].put(key, hash, value, false);
+	}
+	
+	/**
+	 * Maps {@code key} to {@code value} unless it is already mapped.
+	 *
+	 * @return The current value, or {@code null} if {@code value} was added.
+	 */
+	public V putIfAbsent(long key, V value) {
+		if (value == null) {
+			throw new NullPointerException("Null values are not permitted");
+		}
+		long hash = mix(key);
+		return stripes[(int) hash & stripeMask].put(key, hash, value, true);
+	}
+	
+	/**
+	 * @return The removed value, or {@code null}.
+	 */
+	public V remove(long key) {
+		long hash = mix(key);
+		return stripes[(int) hash & stripeMask].remove(key, hash, null);
+	}
+	
+	/**
+	 * Removes the entry only if it is currently mapped to {@code value} (compared by identity).
+	 *
+	 * @return true if the entry was removed.
+	 */
+	public boolean remove(long key, V value) {
+		long hash = mix(key);
+		return stripes[(int) hash & stripeMask].remove(key, hash, value) != null;
+	}
+	
+	public int size() {
+		int size = 0;
+		for (Stripe<V> stripe : stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		for (Stripe<V> stripe : stripes) {
+			if (stripe.size() > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Calls {@code action} for a snapshot of the values, taken stripe by stripe; the action runs outside any lock,
+	 * so it may modify the map.
+	 */
+	public void forEachValue(Consumer<? super V> action) {
+		for (Stripe<V> stripe : stripes) {
+			stripe.values().forEach(action);
+		}
+	}
+	
+	/**
+	 * MurmurHash3's 64-bit finalizer: sequential keys (such as counters) end up evenly spread over stripes and slots.
+	 */
+	static long mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return key;
+	}
+	
+	private static final class Stripe<V> {
+		private static final int INITIAL_CAPACITY = 16;
+		private long[] keys     = new long[INITIAL_CAPACITY];
+		private Object[] values = new Object[INITIAL_CAPACITY];
+		private int size;
+		
+		synchronized int size() {
+			return size;
+		}
+		
+		@SuppressWarnings("unchecked")
+		synchronized V get(long key, long hash) {
+			int mask = keys.length - 1;
+			for (int i = slot(hash, mask); values[i] != null; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					return (V) values[i];
+				}
+			}
+			return null;
+		}
+		
+		@SuppressWarnings("unchecked")
+		synchronized V put(long key, long hash, V value, boolean onlyIfAbsent) {
+			int mask = keys.length - 1;
+			int i = slot(hash, mask);
+			for (; values[i] != null; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					V previous = (V) values[i];
+					if (!onlyIfAbsent) {
+						values[i] = value;
+					}
+					return previous;
+				}
+			}
+			keys[i]   = key;
+			values[i] = value;
+			if (++size * 2 > keys.length) {
+				resize();
+			}
+			return null;
+		}
+		
+		@SuppressWarnings("unchecked")
+		synchronized V remove(long key, long hash, V expected) {
+			int mask = keys.length - 1;
+			int i = slot(hash, mask);
+			for (; values[i] != null; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					V current = (V) values[i];
+					if (expected != null && current != expected) {
+						return null;
+					}
+					deleteAt(i, mask);
+					size--;
+					return current;
+				}
+			}
+			return null;
+		}
+		
+		synchronized List<V> values() {
+			List<V> snapshot = new ArrayList<>(size);
+			for (Object value : values) {
+				if (value != null) {
+					@SuppressWarnings("unchecked") V v = (V) value;
+					snapshot.add(v);
+				}
+			}
+			return snapshot;
+		}
+		
+		/**
+		 * Backward-shift deletion: pulls later entries of the probe run into the gap so lookups never need
+		 * tombstones.
+		 */
+		private void deleteAt(int gap, int mask) {
+			int i = gap;
+			while (true) {
+				i = (i + 1) & mask;
+				if (values[i] == null) {
+					break;
+				}
+				int home = slot(mix(keys[i]), mask);
+				// Move the entry if its home slot is not within (gap, i]
+				if (((i - home) & mask) >= ((i - gap) & mask)) {
+					keys[gap]   = keys[i];
+					values[gap] = values[i];
+					gap = i;
+				}
+			}
+			values[gap] = null;
+		}
+		
+		private void resize() {
+			long[] oldKeys     = keys;
+			Object[] oldValues = values;
+			keys   = new long[oldKeys.length * 2];
+			values = new Object[oldValues.length * 2];
+			int mask = keys.length - 1;
+			for (int j = 0; j < oldKeys.length; j++) {
+				if (oldValues[j] != null) {
+					int i = slot(mix(oldKeys[j]), mask);
+					while (values[i] != null) {
+						i = (i + 1) & mask;
+					}
+					keys[i]   = oldKeys[j];
+					values[i] = oldValues[j];
+				}
+			}
+		}
+		
+		private static int slot(long hash, int mask) {
+			return (int) (hash >>> 32) & mask;
+		}
+	}
+}
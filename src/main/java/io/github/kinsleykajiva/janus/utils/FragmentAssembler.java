@@ -0,0 +1,115 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import java.nio.CharBuffer;
+
+/**
+ * Reassembles fragmented text frames into complete messages without redundant copies.
+ * <p>
+ * A message that arrives in a single fragment (the common case) is passed through as-is. Multi-fragment
+ * messages are accumulated in a pooled buffer from {@link CharBufferPool} and exposed as a {@link CharSequence}
+ * view over it; the buffer goes back to the pool when the message is {@linkplain Message#release() released}.
+ * <p>
+ * Not thread-safe: a connection delivers its fragments serially, so each connection owns one assembler.
+ */
+public final class FragmentAssembler {
+	private final CharBufferPool pool;
+	private char[] buffer;
+	private int length;
+
+	public FragmentAssembler() {
+		this(CharBufferPool.shared());
+	}
+
+	public FragmentAssembler(CharBufferPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Adds a fragment.
+	 *
+	 * @param data The fragment text.
+	 * @param last Whether this fragment completes the message.
+	 * @return The complete message when {@code last} is true, otherwise {@code null}.
+	 */
+	public Message append(CharSequence data, boolean last) {
+		if (last && buffer == null) {
+			return new Message(data, null, null);
+		}
+		ensureCapacity(length + data.length());
+		if (data instanceof CharBuffer charBuffer) {
+			charBuffer.duplicate().get(buffer, length, data.length());
+		} else {
+			for (int i = 0; i < data.length(); i++) {
+				buffer[length + i] = data.charAt(i);
+			}
+		}
+		length += data.length();
+		if (!last) {
+			return null;
+		}
+		Message message = new Message(CharBuffer.wrap(buffer, 0, length), buffer, pool);
+		buffer = null;
+		length = 0;
+		return message;
+	}
+
+	/**
+	 * @return The number of chars buffered for the message currently being assembled.
+	 */
+	public int pendingLength() {
+		return length;
+	}
+
+	/**
+	 * Drops any partially assembled message, e.g. when the connection closes mid-message.
+	 */
+	public void reset() {
+		pool.release(buffer);
+		buffer = null;
+		length = 0;
+	}
+
+	private void ensureCapacity(int required) {
+		if (buffer != null && buffer.length >= required) {
+			return;
+		}
+		char[] grown = pool.acquire(Math.max(required, buffer == null ? 0 : buffer.length * 2));
+		if (buffer != null) {
+			System.arraycopy(buffer, 0, grown, 0, length);
+			pool.release(buffer);
+		}
+		buffer = grown;
+	}
+
+	/**
+	 * A complete inbound message.
+	 */
+	public static final class Message {
+		private final CharSequence text;
+		private final CharBufferPool pool;
+		private char[] pooled;
+
+		private Message(CharSequence text, char[] pooled, CharBufferPool pool) {
+			this.text   = text;
+			this.pooled = pooled;
+			this.pool   = pool;
+		}
+
+		/**
+		 * @return The message text. Only valid until {@link #release()} is called.
+		 */
+		public CharSequence text() {
+			return text;
+		}
+
+		/**
+		 * Returns the backing buffer, if any, to the pool. Safe to call more than once.
+		 */
+		public synchronized void release() {
+			if (pooled != null) {
+				pool.release(pooled);
+				pooled = null;
+			}
+		}
+	}
+}
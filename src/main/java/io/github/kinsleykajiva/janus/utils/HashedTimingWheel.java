@@ -0,0 +1,233 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel for large numbers of coarse timers.
+ * <p>
+ * Timers are dropped into one of {@code wheelSize} buckets by deadline and a single worker thread advances one
+ * bucket per tick, firing whatever is due there. Scheduling and cancelling are O(1) and lock-free regardless of
+ * how many timers are pending, unlike a {@link java.util.concurrent.ScheduledThreadPoolExecutor}, whose heap costs
+ * O(log n) per operation and holds a future object per timer. The price is precision: a timer fires up to one tick
+ * late.
+ * <p>
+ * Tasks run on the worker thread and must be short and non-blocking; hand anything heavier to an executor.
+ */
+public final class HashedTimingWheel implements AutoCloseable {
+	private static final Logger logger = LoggerFactory.getLogger(HashedTimingWheel.class);
+	
+	private final long tickNanos;
+	private final Bucket[] wheel;
+	private final int mask;
+	private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private final long startNanos;
+	private final Thread worker;
+	private volatile boolean running = true;
+	// Only touched by the worker
+	private long tick;
+	
+	/**
+	 * Creates a wheel with a daemon worker thread.
+	 *
+	 * @param tickDuration The tick length, i.e. the timer resolution.
+	 * @param unit         The unit of {@code tickDuration}.
+	 * @param wheelSize    The number of buckets, rounded up to a power of two. A full revolution should cover the
+	 *                     usual timer delay so most timers fire on their first pass.
+	 */
+	public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+		this(tickDuration, unit, wheelSize, Thread.ofPlatform().daemon().name("janus-timer-", 0).factory());
+	}
+	
+	public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize, ThreadFactory threadFactory) {
+		if (tickDuration <= 0) {
+			throw new IllegalArgumentException("tickDuration must be positive");
+		}
+		if (wheelSize < 1 || wheelSize > (1 << 30)) {
+			throw new IllegalArgumentException("wheelSize must be between 1 and 2^30");
+		}
+		int size = 1;
+		while (size < wheelSize) {
+			size <<= 1;
+		}
+		this.tickNanos  = unit.toNanos(tickDuration);
+		this.wheel      = new Bucket[size];
+		this.mask       = size - 1;
+		for (int i = 0; i < size; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.startNanos = System.nanoTime();
+		this.worker     = threadFactory.newThread(this::run);
+		this.worker.start();
+	}
+	
+	/**
+	 * Schedules a one-shot task.
+	 *
+	 * @param task  The task; runs on the wheel's worker thread.
+	 * @param delay The delay, rounded up to the next tick.
+	 * @param unit  The unit of {@code delay}.
+	 * @return A handle to cancel the task.
+	 * @throws IllegalStateException if the wheel has been closed.
+	 */
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		if (!running) {
+			throw new IllegalStateException("Timing wheel is closed.");
+		}
+		long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+		Timeout timeout = new Timeout(task, deadline);
+		pendingCount.incrementAndGet();
+		pending.offer(timeout);
+		return timeout;
+	}
+	
+	/**
+	 * @return The number of timers scheduled and neither fired nor cancelled yet (approximately, while the worker
+	 *         is running).
+	 */
+	public int pendingTimeouts() {
+		return pendingCount.get();
+	}
+	
+	/**
+	 * Stops the worker. Timers that have not fired yet never will.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(worker);
+	}
+	
+	private void run() {
+		while (running) {
+			long deadline = tickNanos * (tick + 1);
+			long sleep;
+			while (running && (sleep = deadline - (System.nanoTime() - startNanos)) > 0) {
+				LockSupport.parkNanos(this, sleep);
+			}
+			if (!running) {
+				return;
+			}
+			transferPending();
+			expire(wheel[(int) (tick & mask)], deadline);
+			tick++;
+		}
+	}
+	
+	private void transferPending() {
+		Timeout timeout;
+		while ((timeout = pending.poll()) != null) {
+			if (timeout.state.get() != Timeout.PENDING) {
+				continue;
+			}
+			long dueTick = timeout.deadline / tickNanos;
+			timeout.remainingRounds = (dueTick - tick) / wheel.length;
+			// Already overdue timers go into the current bucket and fire on this tick
+			wheel[(int) (Math.max(dueTick, tick) & mask)].add(timeout);
+		}
+	}
+	
+	private void expire(Bucket bucket, long deadline) {
+		Timeout previous = null;
+		Timeout timeout = bucket.head;
+		while (timeout != null) {
+			Timeout next = timeout.next;
+			boolean remove;
+			if (timeout.state.get() == Timeout.CANCELLED) {
+				remove = true;
+			} else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+				remove = true;
+				if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+					pendingCount.decrementAndGet();
+					try {
+						timeout.task.run();
+					} catch (Throwable t) {
+						logger.warn("Timer task failed: {}", t.getMessage(), t);
+					}
+				}
+			} else {
+				remove = false;
+				timeout.remainingRounds--;
+			}
+			if (remove) {
+				if (previous == null) {
+					bucket.head = next;
+				} else {
+					previous.next = next;
+				}
+				if (bucket.tail == timeout) {
+					bucket.tail = previous;
+				}
+				timeout.next = null;
+			} else {
+				previous = timeout;
+			}
+			timeout = next;
+		}
+	}
+	
+	/**
+	 * A scheduled task.
+	 */
+	public final class Timeout {
+		private static final int PENDING   = 0;
+		private static final int CANCELLED = 1;
+		private static final int EXPIRED   = 2;
+		
+		private final Runnable task;
+		private final long deadline;
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+		// Only touched by the worker
+		private long remainingRounds;
+		private Timeout next;
+		
+		private Timeout(Runnable task, long deadline) {
+			this.task     = task;
+			this.deadline = deadline;
+		}
+		
+		/**
+		 * Cancels the task if it has not fired yet. The entry itself is dropped lazily, the next time the worker
+		 * passes its bucket.
+		 *
+		 * @return true if this call cancelled the task.
+		 */
+		public boolean cancel() {
+			if (state.compareAndSet(PENDING, CANCELLED)) {
+				pendingCount.decrementAndGet();
+				return true;
+			}
+			return false;
+		}
+		
+		public boolean isCancelled() {
+			return state.get() == CANCELLED;
+		}
+		
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+	}
+	
+	private static final class Bucket {
+		private Timeout head;
+		private Timeout tail;
+		
+		private void add(Timeout timeout) {
+			if (head == null) {
+				head = tail = timeout;
+			} else {
+				tail.next = timeout;
+				tail = timeout;
+			}
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.json.JSONObject;
+
+/**
+ * The wire codec used to turn Janus messages into text and back.
+ * <p>
+ * The transports serialize every outbound message through {@link #encode(JSONObject)} when they write it, and
+ * every inbound message that actually needs a tree is materialized through {@link #decode(CharSequence)}. Request
+ * and event models are not involved: they still build and read {@link JSONObject} trees through their own
+ * {@code toJson()}/{@code fromJson()}. Implementations must be thread-safe.
+ *
+ * @see OrgJsonCodec
+ * @see StreamingJanusCodec
+ */
+public interface JanusCodec {
+
+	/**
+	 * Serializes an outbound message.
+	 *
+	 * @param message The message to serialize.
+	 * @return The JSON text to put on the wire.
+	 */
+	String encode(JSONObject message);
+
+	/**
+	 * Parses an inbound message.
+	 *
+	 * @param message The raw JSON text.
+	 * @return The parsed message.
+	 * @throws org.json.JSONException if the text is not a valid JSON object.
+	 */
+	JSONObject decode(CharSequence message);
+
+	/**
+	 * @return The codec used when none is configured, backed directly by org.json.
+	 */
+	static JanusCodec defaultCodec() {
+		return OrgJsonCodec.INSTANCE;
+	}
+}
@@ -0,0 +1,412 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.json.JSONObject;
+
+/**
+ * The routing envelope of an inbound Janus message.
+ * <p>
+ * {@link #scan(CharSequence)} walks the raw text once and picks out the top-level {@code janus},
+ * {@code transaction}, {@code session_id} and {@code sender} fields, skipping over every other value
+ * (including nested objects such as {@code plugindata}) without building anything. The full
+ * {@link JSONObject} is only materialized, once and through the configured {@link JanusCodec}, when
+ * {@link #json()} is first called; frames that only need
+ * routing (keep-alive acks, trickle acks, responses nobody waits for) are never parsed into a tree.
+ */
+public final class JanusEnvelope {
+	private final CharSequence raw;
+	private final JanusCodec codec;
+	private final int janusStart;
+	private final int janusEnd;
+	private final int transactionStart;
+	private final int transactionEnd;
+	private final boolean escapedTransaction;
+	private final long sessionId;
+	private final long sender;
+	private String transactionId;
+	private volatile JSONObject json;
+
+	private JanusEnvelope(CharSequence raw, JanusCodec codec, int janusStart, int janusEnd, int transactionStart, int transactionEnd,
+	                      boolean escapedTransaction, long sessionId, long sender) {
+		this.raw                = raw;
+		this.codec              = codec;
+		this.janusStart         = janusStart;
+		this.janusEnd           = janusEnd;
+		this.transactionStart   = transactionStart;
+		this.transactionEnd     = transactionEnd;
+		this.escapedTransaction = escapedTransaction;
+		this.sessionId          = sessionId;
+		this.sender             = sender;
+	}
+
+	/**
+	 * Scans the routing fields of a message.
+	 *
+	 * @param message The raw message text.
+	 * @return The envelope, or {@code null} if the message is empty or not a well-formed JSON object.
+	 */
+	public static JanusEnvelope scan(CharSequence message) {
+		return scan(message, JanusCodec.defaultCodec());
+	}
+
+	/**
+	 * Scans the routing fields of a message.
+	 *
+	 * @param message The raw message text.
+	 * @param codec   The codec used if and when the full message is materialized.
+	 * @return The envelope, or {@code null} if the message is empty or not a well-formed JSON object.
+	 */
+	public static JanusEnvelope scan(CharSequence message, JanusCodec codec) {
+		if (message == null) {
+			return null;
+		}
+		return new Scanner(message, codec).scan();
+	}
+
+	/**
+	 * @return The raw message text this envelope was scanned from.
+	 */
+	public CharSequence raw() {
+		return raw;
+	}
+
+	/**
+	 * Checks the {@code janus} message type without allocating.
+	 *
+	 * @param type The expected type, e.g. {@code "ack"} or {@code "error"}.
+	 * @return true if the message's {@code janus} field equals {@code type}.
+	 */
+	public boolean isJanus(String type) {
+		return janusStart >= 0 && regionEquals(janusStart, janusEnd, type);
+	}
+
+	/**
+	 * @return The {@code janus} message type, or {@code null} if absent.
+	 */
+	public String janus() {
+		return janusStart >= 0 ? raw.subSequence(janusStart, janusEnd).toString() : null;
+	}
+
+	/**
+	 * @return true if the message carries a non-empty {@code transaction}.
+	 */
+	public boolean hasTransaction() {
+		return transactionStart >= 0 && transactionEnd > transactionStart;
+	}
+
+	/**
+	 * @return The {@code transaction} value, or {@code null} if absent or empty.
+	 */
+	public String transactionId() {
+		if (!hasTransaction()) {
+			return null;
+		}
+		String id = transactionId;
+		if (id == null) {
+			id = escapedTransaction
+					     ? json().optString("transaction", null)
+					     : raw.subSequence(transactionStart, transactionEnd).toString();
+			transactionId = id;
+		}
+		return id;
+	}
+
+	/**
+	 * Checks the {@code transaction} value without allocating.
+	 *
+	 * @param transaction The expected transaction id.
+	 * @return true if the message's {@code transaction} equals {@code transaction}.
+	 */
+	public boolean isTransaction(String transaction) {
+		return hasTransaction() && !escapedTransaction && regionEquals(transactionStart, transactionEnd, transaction);
+	}
+
+	/**
+	 * Parses a counter-based transaction id ({@code prefix} followed by a base-36 number, as generated by
+	 * {@link TransactionManager#createTransaction()}) without allocating.
+	 *
+	 * @param prefix The expected id prefix.
+	 * @return The counter value, or -1 if the transaction is absent or not of that form.
+	 */
+	public long transactionCounter(String prefix) {
+		if (!hasTransaction() || escapedTransaction) {
+			return -1;
+		}
+		int start = transactionStart + prefix.length();
+		if (start >= transactionEnd || !regionEquals(transactionStart, start, prefix)) {
+			return -1;
+		}
+		return TransactionManager.parseCounter(raw, start, transactionEnd);
+	}
+
+	/**
+	 * @return The top-level {@code session_id}, or -1 if absent.
+	 */
+	public long sessionId() {
+		return sessionId;
+	}
+
+	/**
+	 * @return The top-level {@code sender} (handle id), or -1 if absent.
+	 */
+	public long sender() {
+		return sender;
+	}
+
+	/**
+	 * Materializes the full message. The tree is built at most once and shared by all callers.
+	 *
+	 * @return The parsed message.
+	 * @throws org.json.JSONException if the message is not valid JSON.
+	 */
+	public JSONObject json() {
+		JSONObject result = json;
+		if (result == null) {
+			synchronized (this) {
+				result = json;
+				if (result == null) {
+					result = codec.decode(raw);
+					json = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	private boolean regionEquals(int start, int end, String value) {
+		if (end - start != value.length()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (raw.charAt(start + i) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A single-pass scanner over the top level of a JSON object.
+	 */
+	private static final class Scanner {
+		private final CharSequence in;
+		private final JanusCodec codec;
+		private final int length;
+		private int pos;
+		private int janusStart       = -1;
+		private int janusEnd         = -1;
+		private int transactionStart = -1;
+		private int transactionEnd   = -1;
+		private boolean escapedTransaction;
+		private long sessionId       = -1;
+		private long sender          = -1;
+		// Set by readString(): whether the last string contained escape sequences
+		private boolean lastEscaped;
+
+		Scanner(CharSequence in, JanusCodec codec) {
+			this.in     = in;
+			this.codec  = codec;
+			this.length = in.length();
+		}
+
+		JanusEnvelope scan() {
+			skipWhitespace();
+			if (pos >= length || in.charAt(pos) != '{') {
+				return null;
+			}
+			pos++;
+			skipWhitespace();
+			if (pos < length && in.charAt(pos) == '}') {
+				return build();
+			}
+			while (true) {
+				skipWhitespace();
+				if (pos >= length || in.charAt(pos) != '"') {
+					return null;
+				}
+				int keyStart = pos + 1;
+				if (!readString()) {
+					return null;
+				}
+				int keyEnd = pos - 1;
+				skipWhitespace();
+				if (pos >= length || in.charAt(pos) != ':') {
+					return null;
+				}
+				pos++;
+				skipWhitespace();
+				if (pos >= length) {
+					return null;
+				}
+				if (!readValue(keyStart, keyEnd)) {
+					return null;
+				}
+				skipWhitespace();
+				if (pos >= length) {
+					return null;
+				}
+				char c = in.charAt(pos++);
+				if (c == '}') {
+					return build();
+				}
+				if (c != ',') {
+					return null;
+				}
+			}
+		}
+
+		private JanusEnvelope build() {
+			return new JanusEnvelope(in, codec, janusStart, janusEnd, transactionStart, transactionEnd,
+					escapedTransaction, sessionId, sender);
+		}
+
+		private boolean readValue(int keyStart, int keyEnd) {
+			char c = in.charAt(pos);
+			if (c == '"') {
+				int valueStart = pos + 1;
+				if (!readString()) {
+					return false;
+				}
+				if (keyIs(keyStart, keyEnd, "janus")) {
+					janusStart = valueStart;
+					janusEnd   = pos - 1;
+				} else if (keyIs(keyStart, keyEnd, "transaction")) {
+					transactionStart   = valueStart;
+					transactionEnd     = pos - 1;
+					escapedTransaction = lastEscaped;
+				}
+				return true;
+			}
+			if (c == '-' || (c >= '0' && c <= '9')) {
+				if (keyIs(keyStart, keyEnd, "session_id")) {
+					sessionId = readLong();
+					return sessionId != Long.MIN_VALUE;
+				}
+				if (keyIs(keyStart, keyEnd, "sender")) {
+					sender = readLong();
+					return sender != Long.MIN_VALUE;
+				}
+			}
+			return skipValue();
+		}
+
+		private boolean keyIs(int start, int end, String key) {
+			if (end - start != key.length()) {
+				return false;
+			}
+			for (int i = 0; i < key.length(); i++) {
+				if (in.charAt(start + i) != key.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Reads an integer value; falls back to skipping if it turns out to be fractional or out of range.
+		 *
+		 * @return The value, -1 if it is not a plain long, or {@link Long#MIN_VALUE} if malformed.
+		 */
+		private long readLong() {
+			int start = pos;
+			boolean negative = in.charAt(pos) == '-';
+			if (negative) {
+				pos++;
+			}
+			long value = 0;
+			int digits = 0;
+			while (pos < length) {
+				char c = in.charAt(pos);
+				if (c < '0' || c > '9') {
+					break;
+				}
+				if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+					pos = start;
+					return skipValue() ? -1 : Long.MIN_VALUE;
+				}
+				value = value * 10 + (c - '0');
+				digits++;
+				pos++;
+			}
+			if (digits == 0) {
+				return Long.MIN_VALUE;
+			}
+			if (pos < length && (in.charAt(pos) == '.' || in.charAt(pos) == 'e' || in.charAt(pos) == 'E')) {
+				pos = start;
+				return skipValue() ? -1 : Long.MIN_VALUE;
+			}
+			return negative ? -value : value;
+		}
+
+		/**
+		 * Advances past a string starting at the current opening quote.
+		 */
+		private boolean readString() {
+			pos++;
+			lastEscaped = false;
+			while (pos < length) {
+				char c = in.charAt(pos++);
+				if (c == '"') {
+					return true;
+				}
+				if (c == '\\') {
+					lastEscaped = true;
+					pos++;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Advances past any JSON value, tracking nesting for objects and arrays.
+		 */
+		private boolean skipValue() {
+			int depth = 0;
+			while (pos < length) {
+				char c = in.charAt(pos);
+				switch (c) {
+					case '"':
+						if (!readString()) {
+							return false;
+						}
+						if (depth == 0) {
+							return true;
+						}
+						continue;
+					case '{':
+					case '[':
+						depth++;
+						break;
+					case '}':
+					case ']':
+						if (depth == 0) {
+							return true; // end of a scalar that runs up to the enclosing object's brace
+						}
+						depth--;
+						if (depth == 0) {
+							pos++;
+							return true;
+						}
+						break;
+					case ',':
+						if (depth == 0) {
+							return true;
+						}
+						break;
+					default:
+						if (depth == 0 && Character.isWhitespace(c)) {
+							return true;
+						}
+						break;
+				}
+				pos++;
+			}
+			return false;
+		}
+
+		private void skipWhitespace() {
+			while (pos < length && Character.isWhitespace(in.charAt(pos))) {
+				pos++;
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.json.JSONObject;
+
+/**
+ * The default {@link JanusCodec}, delegating straight to org.json's own serializer and parser.
+ */
+public final class OrgJsonCodec implements JanusCodec {
+	public static final OrgJsonCodec INSTANCE = new OrgJsonCodec();
+
+	private OrgJsonCodec() {
+	}
+
+	@Override
+	public String encode(JSONObject message) {
+		return message.toString();
+	}
+
+	@Override
+	public JSONObject decode(CharSequence message) {
+		return new JSONObject(message.toString());
+	}
+}
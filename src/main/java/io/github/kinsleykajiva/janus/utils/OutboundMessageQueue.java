@@ -0,0 +1,123 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A single-writer outbound pipeline for a message-oriented connection.
+ * <p>
+ * Any number of threads may {@link #enqueue(String)} concurrently; messages are placed on a lock-free
+ * multi-producer queue and drained by exactly one writer at a time. Each send is chained on the completion
+ * of the previous one, so the underlying connection (e.g. {@link java.net.http.WebSocket#sendText}) never sees
+ * overlapping sends. Every enqueued message gets its own completion future.
+ */
+public class OutboundMessageQueue {
+	private final Queue<PendingMessage> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean writing = new AtomicBoolean(false);
+	private final Function<String, CompletableFuture<?>> sender;
+	private volatile boolean closed;
+
+	/**
+	 * @param sender The function that performs the actual send. It is only ever invoked by one thread at a time
+	 *               and never again before the future it returned has completed.
+	 */
+	public OutboundMessageQueue(Function<String, CompletableFuture<?>> sender) {
+		this.sender = sender;
+	}
+
+	/**
+	 * Queues a message for sending.
+	 *
+	 * @param message The serialized message.
+	 * @return A future that completes once the message has been handed to the connection, or exceptionally if the
+	 *         send failed or the queue was closed before the message went out.
+	 */
+	public CompletableFuture<Void> enqueue(String message) {
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		if (closed) {
+			future.completeExceptionally(new IllegalStateException("Outbound queue is closed."));
+			return future;
+		}
+		queue.offer(new PendingMessage(message, future));
+		if (writing.compareAndSet(false, true)) {
+			drain();
+		}
+		return future;
+	}
+
+	/**
+	 * @return The number of messages waiting to be written.
+	 */
+	public int size() {
+		return queue.size();
+	}
+
+	/**
+	 * Closes the queue. Messages that have not been written yet are failed.
+	 */
+	public void close() {
+		closed = true;
+		PendingMessage pending;
+		while ((pending = queue.poll()) != null) {
+			pending.future().completeExceptionally(new IllegalStateException("Outbound queue is closed."));
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			PendingMessage pending = queue.poll();
+			if (pending == null) {
+				writing.set(false);
+				// A producer may have enqueued between poll() and set(false) and lost the CAS; pick it up here.
+				if (queue.isEmpty() || !writing.compareAndSet(false, true)) {
+					return;
+				}
+				continue;
+			}
+			if (closed) {
+				pending.future().completeExceptionally(new IllegalStateException("Outbound queue is closed."));
+				continue;
+			}
+
+			CompletableFuture<?> sent;
+			try {
+				sent = sender.apply(pending.message());
+			} catch (Throwable t) {
+				sent = CompletableFuture.failedFuture(t);
+			}
+
+			if (sent.isDone()) {
+				// Stay in the loop instead of recursing through callbacks to keep the stack flat.
+				complete(pending, sent);
+				continue;
+			}
+			sent.whenComplete((result, throwable) -> {
+				complete(pending, throwable);
+				drain();
+			});
+			return;
+		}
+	}
+
+	private static void complete(PendingMessage pending, CompletableFuture<?> sent) {
+		try {
+			sent.join();
+			pending.future().complete(null);
+		} catch (Throwable t) {
+			pending.future().completeExceptionally(t.getCause() != null ? t.getCause() : t);
+		}
+	}
+
+	private static void complete(PendingMessage pending, Throwable throwable) {
+		if (throwable == null) {
+			pending.future().complete(null);
+		} else {
+			pending.future().completeExceptionally(throwable);
+		}
+	}
+
+	private record PendingMessage(String message, CompletableFuture<Void> future) {}
+}
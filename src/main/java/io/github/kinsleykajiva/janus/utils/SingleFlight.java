@@ -0,0 +1,128 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests into one.
+ * <p>
+ * While a request for a key is in flight, further calls for the same key wait for its result instead of issuing
+ * their own. With a positive TTL, successful results are also kept for that long and handed out without a request
+ * at all. Any {@linkplain #invalidate(Object) invalidation} drops cached entries and stops results already in
+ * flight from being cached, so a change observed while a request was outstanding is never papered over.
+ * <p>
+ * Results are shared between callers and must be treated as read-only.
+ *
+ * @param <K> The request key.
+ * @param <V> The result type.
+ */
+public final class SingleFlight<K, V> {
+	private static final int PURGE_THRESHOLD = 1024;
+	
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<K, Cached<V>> cache               = new ConcurrentHashMap<>();
+	private final AtomicLong generation                               = new AtomicLong();
+	private final long ttlNanos;
+	
+	/**
+	 * Creates an instance that only coalesces requests in flight.
+	 */
+	public SingleFlight() {
+		this(0, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * @param ttl How long successful results are reused; 0 disables caching.
+	 */
+	public SingleFlight(long ttl, TimeUnit unit) {
+		this.ttlNanos = unit.toNanos(ttl);
+	}
+	
+	/**
+	 * Returns the result for {@code key}: from the cache if fresh, from the request already in flight if there is
+	 * one, or by calling {@code loader}.
+	 *
+	 * @param key    The request key; requests with equal keys must be interchangeable.
+	 * @param loader Issues the request.
+	 * @return A future for the result. Cancelling it does not affect other callers.
+	 */
+	public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+		if (ttlNanos > 0) {
+			Cached<V> cached = cache.get(key);
+			if (cached != null) {
+				if (System.nanoTime() - cached.expiresAtNanos < 0) {
+					return CompletableFuture.completedFuture(cached.value);
+				}
+				cache.remove(key, cached);
+			}
+		}
+		CompletableFuture<V> shared = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+		if (existing != null) {
+			return existing.copy();
+		}
+		long startGeneration = generation.get();
+		CompletableFuture<V> loaded;
+		try {
+			loaded = loader.get();
+		} catch (Throwable t) {
+			loaded = CompletableFuture.failedFuture(t);
+		}
+		loaded.whenComplete((value, throwable) -> {
+			// Cache before leaving the in-flight map, so no caller slips through the gap and issues a duplicate
+			if (throwable == null && ttlNanos > 0 && generation.get() == startGeneration) {
+				if (cache.size() >= PURGE_THRESHOLD) {
+					purgeExpired();
+				}
+				cache.put(key, new Cached<>(value, System.nanoTime() + ttlNanos));
+			}
+			inFlight.remove(key, shared);
+			if (throwable != null) {
+				shared.completeExceptionally(throwable);
+			} else {
+				shared.complete(value);
+			}
+		});
+		return shared.copy();
+	}
+	
+	/**
+	 * Drops the cached result for a key.
+	 */
+	public void invalidate(K key) {
+		generation.incrementAndGet();
+		cache.remove(key);
+	}
+	
+	/**
+	 * Drops the cached results whose keys match.
+	 */
+	public void invalidateIf(Predicate<? super K> matches) {
+		generation.incrementAndGet();
+		cache.keySet().removeIf(matches);
+	}
+	
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		cache.clear();
+	}
+	
+	/**
+	 * @return The number of distinct requests currently in flight.
+	 */
+	public int inFlightCount() {
+		return inFlight.size();
+	}
+	
+	private void purgeExpired() {
+		long now = System.nanoTime();
+		cache.values().removeIf(cached -> now - cached.expiresAtNanos >= 0);
+	}
+	
+	private record Cached<V>(V value, long expiresAtNanos) {
+	}
+}
@@ -0,0 +1,448 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONString;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link JanusCodec} tuned for the hot path.
+ * <p>
+ * Encoding walks the message and appends directly into a per-thread reusable buffer, so a request costs a
+ * single {@code String} copy instead of org.json's writer and intermediate strings. Decoding is a
+ * recursive-descent parser that reads straight from the {@link CharSequence} (no {@code toString()} copy of the
+ * frame, no tokenizer) and reuses canonical instances for the keys Janus sends on almost every message.
+ */
+public final class StreamingJanusCodec implements JanusCodec {
+	public static final StreamingJanusCodec INSTANCE = new StreamingJanusCodec();
+
+	// Buffers that grew past this are dropped instead of being kept for the thread's lifetime.
+	private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+	private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+	private static final String[] COMMON_KEYS = {
+			"janus", "transaction", "session_id", "sender", "plugindata", "plugin", "data", "jsep", "type", "sdp",
+			"id", "room", "display", "description", "error", "error_code", "reason", "code", "videoroom",
+			"audiobridge", "result", "event", "publishers", "participants", "attendees", "streams", "mid", "mindex",
+			"feed_id", "feed_mid", "codec", "talking", "muted", "setup", "suspended", "private_id", "leaving",
+			"unpublished", "configured", "started", "paused", "switched", "changes", "audio_codec", "video_codec",
+			"list", "metadata", "dummy", "publisher", "spatial_position", "candidate", "completed", "media",
+			"receiving", "uplink", "lost", "nacks", "seconds", "server_info", "name", "version", "version_string"
+	};
+	private static final String[] KEY_TABLE = new String[256];
+
+	static {
+		for (String key : COMMON_KEYS) {
+			int slot = key.hashCode() & (KEY_TABLE.length - 1);
+			while (KEY_TABLE[slot] != null && !KEY_TABLE[slot].equals(key)) {
+				slot = (slot + 1) & (KEY_TABLE.length - 1);
+			}
+			KEY_TABLE[slot] = key;
+		}
+	}
+
+	private StreamingJanusCodec() {
+	}
+
+	@Override
+	public String encode(JSONObject message) {
+		StringBuilder buffer = BUFFER.get();
+		buffer.setLength(0);
+		writeObject(buffer, message);
+		String encoded = buffer.toString();
+		if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+			BUFFER.remove();
+		}
+		return encoded;
+	}
+
+	@Override
+	public JSONObject decode(CharSequence message) {
+		Parser parser = new Parser(message);
+		parser.skipWhitespace();
+		JSONObject result = parser.readObject();
+		parser.skipWhitespace();
+		if (parser.pos != parser.length) {
+			throw parser.error("Unexpected trailing content");
+		}
+		return result;
+	}
+
+	// --- Encoding ---
+
+	private static void writeObject(StringBuilder out, JSONObject object) {
+		out.append('{');
+		boolean first = true;
+		for (String key : object.keySet()) {
+			if (!first) {
+				out.append(',');
+			}
+			first = false;
+			writeString(out, key);
+			out.append(':');
+			writeValue(out, object.opt(key));
+		}
+		out.append('}');
+	}
+
+	private static void writeArray(StringBuilder out, JSONArray array) {
+		out.append('[');
+		for (int i = 0; i < array.length(); i++) {
+			if (i > 0) {
+				out.append(',');
+			}
+			writeValue(out, array.opt(i));
+		}
+		out.append(']');
+	}
+
+	private static void writeValue(StringBuilder out, Object value) {
+		if (value == null || JSONObject.NULL.equals(value)) {
+			out.append("null");
+		} else if (value instanceof String string) {
+			writeString(out, string);
+		} else if (value instanceof JSONObject object) {
+			writeObject(out, object);
+		} else if (value instanceof JSONArray array) {
+			writeArray(out, array);
+		} else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			out.append(((Number) value).longValue());
+		} else if (value instanceof Boolean bool) {
+			out.append(bool.booleanValue());
+		} else if (value instanceof Number number) {
+			out.append(JSONObject.numberToString(number));
+		} else if (value instanceof JSONString jsonString) {
+			out.append(jsonString.toJSONString());
+		} else if (value instanceof Map<?, ?> map) {
+			writeObject(out, new JSONObject(map));
+		} else if (value instanceof Collection<?> collection) {
+			writeArray(out, new JSONArray(collection));
+		} else {
+			out.append(JSONObject.valueToString(value));
+		}
+	}
+
+	private static void writeString(StringBuilder out, String value) {
+		out.append('"');
+		int runStart = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\' && c != 0x2028 && c != 0x2029) {
+				continue;
+			}
+			out.append(value, runStart, i);
+			switch (c) {
+				case '"' -> out.append("\\\"");
+				case '\\' -> out.append("\\\\");
+				case '\n' -> out.append("\\n");
+				case '\r' -> out.append("\\r");
+				case '\t' -> out.append("\\t");
+				case '\b' -> out.append("\\b");
+				case '\f' -> out.append("\\f");
+				default -> {
+					out.append("\\u");
+					String hex = Integer.toHexString(c);
+					out.append("0000", 0, 4 - hex.length()).append(hex);
+				}
+			}
+			runStart = i + 1;
+		}
+		out.append(value, runStart, value.length());
+		out.append('"');
+	}
+
+	// --- Decoding ---
+
+	private static final class Parser {
+		private final CharSequence in;
+		private final int length;
+		private int pos;
+		private StringBuilder scratch;
+
+		Parser(CharSequence in) {
+			this.in     = in;
+			this.length = in.length();
+		}
+
+		JSONObject readObject() {
+			expect('{');
+			JSONObject object = new JSONObject();
+			skipWhitespace();
+			if (peek() == '}') {
+				pos++;
+				return object;
+			}
+			while (true) {
+				skipWhitespace();
+				if (peek() != '"') {
+					throw error("Expected a key");
+				}
+				String key = readKey();
+				skipWhitespace();
+				expect(':');
+				skipWhitespace();
+				object.put(key, readValue());
+				skipWhitespace();
+				char c = next();
+				if (c == '}') {
+					return object;
+				}
+				if (c != ',') {
+					throw error("Expected ',' or '}'");
+				}
+			}
+		}
+
+		JSONArray readArray() {
+			expect('[');
+			JSONArray array = new JSONArray();
+			skipWhitespace();
+			if (peek() == ']') {
+				pos++;
+				return array;
+			}
+			while (true) {
+				skipWhitespace();
+				array.put(readValue());
+				skipWhitespace();
+				char c = next();
+				if (c == ']') {
+					return array;
+				}
+				if (c != ',') {
+					throw error("Expected ',' or ']'");
+				}
+			}
+		}
+
+		Object readValue() {
+			char c = peek();
+			switch (c) {
+				case '{':
+					return readObject();
+				case '[':
+					return readArray();
+				case '"':
+					return readString();
+				case 't':
+					expectLiteral("true");
+					return Boolean.TRUE;
+				case 'f':
+					expectLiteral("false");
+					return Boolean.FALSE;
+				case 'n':
+					expectLiteral("null");
+					return JSONObject.NULL;
+				default:
+					if (c == '-' || (c >= '0' && c <= '9')) {
+						return readNumber();
+					}
+					throw error("Unexpected character '" + c + "'");
+			}
+		}
+
+		/**
+		 * Reads a key, returning the canonical instance for common Janus keys without allocating.
+		 */
+		String readKey() {
+			int start = pos + 1;
+			int hash = 0;
+			int i = start;
+			while (i < length) {
+				char c = in.charAt(i);
+				if (c == '"') {
+					String known = lookupKey(start, i, hash);
+					if (known != null) {
+						pos = i + 1;
+						return known;
+					}
+					break;
+				}
+				if (c == '\\') {
+					break;
+				}
+				hash = 31 * hash + c;
+				i++;
+			}
+			return readString();
+		}
+
+		private String lookupKey(int start, int end, int hash) {
+			int slot = hash & (KEY_TABLE.length - 1);
+			String candidate;
+			while ((candidate = KEY_TABLE[slot]) != null) {
+				if (candidate.length() == end - start && regionEquals(candidate, start)) {
+					return candidate;
+				}
+				slot = (slot + 1) & (KEY_TABLE.length - 1);
+			}
+			return null;
+		}
+
+		private boolean regionEquals(String candidate, int start) {
+			for (int i = 0; i < candidate.length(); i++) {
+				if (in.charAt(start + i) != candidate.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		String readString() {
+			expect('"');
+			int start = pos;
+			// Fast path: no escapes, copy the run in one go
+			while (pos < length) {
+				char c = in.charAt(pos);
+				if (c == '"') {
+					String value = in.subSequence(start, pos).toString();
+					pos++;
+					return value;
+				}
+				if (c == '\\') {
+					break;
+				}
+				pos++;
+			}
+			StringBuilder sb = scratch == null ? (scratch = new StringBuilder()) : scratch;
+			sb.setLength(0);
+			sb.append(in, start, pos);
+			while (pos < length) {
+				char c = in.charAt(pos++);
+				if (c == '"') {
+					return sb.toString();
+				}
+				if (c != '\\') {
+					sb.append(c);
+					continue;
+				}
+				char escaped = next();
+				switch (escaped) {
+					case '"', '\\', '/' -> sb.append(escaped);
+					case 'n' -> sb.append('\n');
+					case 'r' -> sb.append('\r');
+					case 't' -> sb.append('\t');
+					case 'b' -> sb.append('\b');
+					case 'f' -> sb.append('\f');
+					case 'u' -> {
+						if (pos + 4 > length) {
+							throw error("Truncated unicode escape");
+						}
+						int code = 0;
+						for (int i = 0; i < 4; i++) {
+							int digit = Character.digit(in.charAt(pos++), 16);
+							if (digit < 0) {
+								throw error("Invalid unicode escape");
+							}
+							code = (code << 4) | digit;
+						}
+						sb.append((char) code);
+					}
+					default -> throw error("Invalid escape '\\" + escaped + "'");
+				}
+			}
+			throw error("Unterminated string");
+		}
+
+		Number readNumber() {
+			int start = pos;
+			boolean negative = false;
+			if (peek() == '-') {
+				negative = true;
+				pos++;
+			}
+			long value = 0;
+			boolean overflow = false;
+			int digits = 0;
+			while (pos < length) {
+				char c = in.charAt(pos);
+				if (c < '0' || c > '9') {
+					break;
+				}
+				if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+					overflow = true;
+				}
+				value = value * 10 + (c - '0');
+				digits++;
+				pos++;
+			}
+			if (digits == 0) {
+				throw error("Invalid number");
+			}
+			boolean decimal = false;
+			while (pos < length) {
+				char c = in.charAt(pos);
+				if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+					decimal = true;
+					pos++;
+				} else {
+					break;
+				}
+			}
+			if (decimal) {
+				String text = in.subSequence(start, pos).toString();
+				try {
+					BigDecimal big = new BigDecimal(text);
+					double d = big.doubleValue();
+					return Double.isInfinite(d) ? big : d;
+				} catch (NumberFormatException e) {
+					throw error("Invalid number '" + text + "'");
+				}
+			}
+			if (overflow) {
+				return new BigInteger(in.subSequence(start, pos).toString());
+			}
+			long signed = negative ? -value : value;
+			if (signed >= Integer.MIN_VALUE && signed <= Integer.MAX_VALUE) {
+				return (int) signed;
+			}
+			return signed;
+		}
+
+		void skipWhitespace() {
+			while (pos < length) {
+				char c = in.charAt(pos);
+				if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+					return;
+				}
+				pos++;
+			}
+		}
+
+		private void expectLiteral(String literal) {
+			for (int i = 0; i < literal.length(); i++) {
+				if (next() != literal.charAt(i)) {
+					throw error("Expected '" + literal + "'");
+				}
+			}
+		}
+
+		private void expect(char expected) {
+			if (next() != expected) {
+				throw error("Expected '" + expected + "'");
+			}
+		}
+
+		private char peek() {
+			if (pos >= length) {
+				throw error("Unexpected end of input");
+			}
+			return in.charAt(pos);
+		}
+
+		private char next() {
+			char c = peek();
+			pos++;
+			return c;
+		}
+
+		JSONException error(String message) {
+			return new JSONException(message + " at character " + pos);
+		}
+	}
+}
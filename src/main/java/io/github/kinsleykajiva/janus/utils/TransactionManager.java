@@ -2,31 +2,191 @@ package io.github.kinsleykajiva.janus.utils;
 
 import org.json.JSONObject;
 
-import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Tracks requests that are waiting for a response from Janus.
+ * <p>
+ * When created with a {@link HashedTimingWheel}, every registered transaction has a deadline: if no response has
+ * arrived by then its future fails with a {@link TimeoutException}. Whichever way a transaction ends (response,
+ * failure, timeout or the caller cancelling the future) its entry is removed and its timer cancelled, so the map
+ * only ever holds requests that are genuinely outstanding. The number of outstanding transactions is capped; once
+ * the cap is reached {@link #registerTransaction(String)} fails straight away with a
+ * {@link TransientJanusException}, pushing back on senders instead of letting memory grow without bound. It never
+ * waits for a slot: registration often runs on the thread that delivers responses, and only a response can free
+ * one.
+ * <p>
+ * Ids from {@link #createTransaction()} are a short per-manager prefix followed by a base-36 counter, and are
+ * tracked in a table keyed by the counter as a primitive {@code long}; inbound responses are matched by parsing
+ * the counter straight out of the raw frame, see {@link JanusEnvelope#transactionCounter(String)}. Ids created
+ * elsewhere can still be registered and fall back to a table keyed by the string.
+ * <p>
+ * Asynchronous plugin requests are answered twice: an {@code ack} as soon as Janus has queued the message, and
+ * later the plugin's {@code event} with the same transaction. Transactions registered through
+ * {@link #registerPluginTransaction(String)} treat the ack as progress only and complete with that final event
+ * (or with the {@code success} of requests the plugin handles synchronously).
+ * <p>
+ * Responses are usually matched on the thread that delivers them from the transport. A manager created with a
+ * completion executor completes futures on that executor instead, so a dependent stage that blocks (for instance
+ * on another response from the same connection) cannot stall delivery.
+ */
 public class TransactionManager {
-	private final ConcurrentHashMap<String, CompletableFuture<JSONObject>> transactions = new ConcurrentHashMap<>();
+	public static final long DEFAULT_TIMEOUT_MS    = 30_000;
+	public static final int DEFAULT_MAX_IN_FLIGHT  = 10_000;
+	private static final int PREFIX_LENGTH         = 4;
+	private static final int RADIX                 = 36;
+	private static final CompletionStage<Void> DONE = CompletableFuture.completedStage(null);
+	
+	private final ConcurrentLongObjectMap<CompletableFuture<JSONObject>> transactions = new ConcurrentLongObjectMap<>();
+	private final ConcurrentHashMap<String, CompletableFuture<JSONObject>> foreignTransactions = new ConcurrentHashMap<>();
+	private final AtomicLong counter = new AtomicLong();
+	private final String prefix;
+	private final HashedTimingWheel timer;
+	private final long defaultTimeoutMs;
+	private final Semaphore inFlight;
+	private final Executor completionExecutor;
+	
+	/**
+	 * Creates a manager without deadlines or an in-flight cap.
+	 */
+	public TransactionManager() {
+		this(null, 0, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * @param timer            The wheel enforcing deadlines, or {@code null} for no deadlines.
+	 * @param defaultTimeoutMs The deadline of transactions registered without an explicit timeout.
+	 * @param maxInFlight      The maximum number of outstanding transactions.
+	 */
+	public TransactionManager(HashedTimingWheel timer, long defaultTimeoutMs, int maxInFlight) {
+		this(timer, defaultTimeoutMs, maxInFlight, null);
+	}
+	
+	/**
+	 * @param timer              The wheel enforcing deadlines, or {@code null} for no deadlines.
+	 * @param defaultTimeoutMs   The deadline of transactions registered without an explicit timeout.
+	 * @param maxInFlight        The maximum number of outstanding transactions.
+	 * @param completionExecutor Where futures are completed, or {@code null} to complete them on the calling thread.
+	 */
+	public TransactionManager(HashedTimingWheel timer, long defaultTimeoutMs, int maxInFlight, Executor completionExecutor) {
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be at least 1");
+		}
+		this.timer              = timer;
+		this.defaultTimeoutMs   = defaultTimeoutMs;
+		this.inFlight           = new Semaphore(maxInFlight);
+		this.completionExecutor = completionExecutor;
+		// A random prefix keeps ids from different managers (clients, connections) apart in gateway logs
+		StringBuilder prefix = new StringBuilder(PREFIX_LENGTH);
+		for (int i = 0; i < PREFIX_LENGTH; i++) {
+			prefix.append(Character.forDigit(ThreadLocalRandom.current().nextInt(RADIX), RADIX));
+		}
+		this.prefix = prefix.toString();
+	}
 	
 	/**
 	 * This is where createTransaction is defined.
-	 * It generates a unique ID for a request.
+	 * It generates a unique ID for a request: this manager's prefix followed by the next value of its counter in
+	 * base 36.
 	 */
 	public String createTransaction() {
-		return UUID.randomUUID().toString().replace("-", "");
+		return prefix + Long.toString(counter.getAndIncrement(), RADIX);
+	}
+	
+	/**
+	 * @return The prefix of the ids generated by this manager.
+	 */
+	public String getPrefix() {
+		return prefix;
 	}
 	
 	/**
 	 * This is where registerTransaction is defined.
-	 * It creates a placeholder (a CompletableFuture) for a response we expect from Janus.
+	 * It creates a placeholder (a CompletableFuture) for a response we expect from Janus, failing it if no response
+	 * arrives within the default timeout.
 	 * @return A CompletableFuture that will eventually hold the JSONObject response.
+	 * @throws TransientJanusException if the in-flight cap is reached, in which case the request should not be sent.
 	 */
 	public CompletableFuture<JSONObject> registerTransaction(String transactionId) {
-		CompletableFuture<JSONObject> future = new CompletableFuture<>();
-		transactions.put(transactionId, future);
+		return registerTransaction(transactionId, defaultTimeoutMs, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Registers a transaction with its own deadline.
+	 *
+	 * @param timeout The time to wait for a response; ignored if this manager has no timer or if not positive.
+	 * @return A CompletableFuture that will eventually hold the JSONObject response.
+	 * @throws TransientJanusException if the in-flight cap is reached, in which case the request should not be sent.
+	 */
+	public CompletableFuture<JSONObject> registerTransaction(String transactionId, long timeout, TimeUnit unit) {
+		return register(transactionId, timeout, unit, false);
+	}
+	
+	/**
+	 * Registers a transaction for a plugin message. The {@code ack} Janus sends first does not complete it; the
+	 * future completes with the plugin's {@code event} (which carries the {@code plugindata} and any {@code jsep})
+	 * or with a {@code success} response, and fails on an {@code error}.
+	 *
+	 * @return A CompletableFuture that will eventually hold the final response.
+	 * @throws TransientJanusException if the in-flight cap is reached, in which case the request should not be sent.
+	 */
+	public CompletableFuture<JSONObject> registerPluginTransaction(String transactionId) {
+		return register(transactionId, defaultTimeoutMs, TimeUnit.MILLISECONDS, true);
+	}
+	
+	/**
+	 * Registers a transaction for a plugin message with its own deadline, see
+	 * {@link #registerPluginTransaction(String)}.
+	 */
+	public CompletableFuture<JSONObject> registerPluginTransaction(String transactionId, long timeout, TimeUnit unit) {
+		return register(transactionId, timeout, unit, true);
+	}
+	
+	private CompletableFuture<JSONObject> register(String transactionId, long timeout, TimeUnit unit, boolean twoPhase) {
+		acquireSlot();
+		CompletableFuture<JSONObject> future = twoPhase ? new PluginTransaction() : new CompletableFuture<>();
+		long key = keyOf(transactionId);
+		CompletableFuture<JSONObject> previous = key >= 0
+				                                         ? transactions.put(key, future)
+				                                         : foreignTransactions.put(transactionId, future);
+		if (previous != null) {
+			previous.completeExceptionally(new JanusException("Transaction " + transactionId + " was registered again"));
+		}
+		
+		HashedTimingWheel.Timeout deadline = null;
+		if (timer != null && timeout > 0) {
+			try {
+				deadline = timer.schedule(() -> fail(future, new TimeoutException(
+						"Transaction " + transactionId + (isAcknowledged(future) ? " was acknowledged but got no event" : " timed out")
+								+ " after " + unit.toMillis(timeout) + "ms")), timeout, unit);
+			} catch (IllegalStateException e) {
+				// The timer is closed, so the owner is shutting down
+				future.completeExceptionally(e);
+			}
+		}
+		HashedTimingWheel.Timeout scheduled = deadline;
+		// The single cleanup path, whichever way the future ends; runs exactly once per registration
+		future.whenComplete((response, throwable) -> {
+			if (key >= 0) {
+				transactions.remove(key, future);
+			} else {
+				foreignTransactions.remove(transactionId, future);
+			}
+			inFlight.release();
+			if (scheduled != null) {
+				scheduled.cancel();
+			}
+		});
 		return future;
 	}
 	
@@ -34,16 +194,91 @@ public class TransactionManager {
 	 * Completes a transaction when a response with a matching transaction ID is received.
 	 */
 	public void completeTransaction(String transactionId, JSONObject response) {
-		CompletableFuture<JSONObject> future = transactions.remove(transactionId);
+		CompletableFuture<JSONObject> future = lookup(transactionId);
+		if (future instanceof PluginTransaction plugin && "ack".equals(response.optString("janus"))) {
+			plugin.acknowledged = true;
+			return;
+		}
 		if (future != null) {
 			if ("error".equals(response.optString("janus"))) {
-				future.completeExceptionally(new JanusException(response.getJSONObject("error").optString("reason")));
+				fail(future, new JanusException(response.getJSONObject("error").optString("reason")));
 			} else {
-				future.complete(response);
+				succeed(future, response);
 			}
 		}
 	}
 	
+	/**
+	 * Completes a transaction from a scanned envelope. The message is only materialized into a
+	 * {@link JSONObject} if a future is actually waiting for it.
+	 *
+	 * @return A stage that completes once the transaction's future has been completed, i.e. after the dependents
+	 *         attached directly to it have run.
+	 */
+	public CompletionStage<Void> completeTransaction(JanusEnvelope envelope) {
+		CompletableFuture<JSONObject> future;
+		long key = envelope.transactionCounter(prefix);
+		if (key >= 0) {
+			future = transactions.get(key);
+		} else if (!foreignTransactions.isEmpty() && envelope.hasTransaction()) {
+			future = foreignTransactions.get(envelope.transactionId());
+		} else {
+			return DONE;
+		}
+		if (future instanceof PluginTransaction plugin && envelope.isJanus("ack")) {
+			plugin.acknowledged = true;
+			return DONE;
+		}
+		if (future == null) {
+			return DONE;
+		}
+		JSONObject response = envelope.json();
+		if (envelope.isJanus("error")) {
+			return fail(future, new JanusException(response.getJSONObject("error").optString("reason")));
+		}
+		return succeed(future, response);
+	}
+	
+	/**
+	 * Fails a pending transaction, e.g. when its request could not be written to the connection.
+	 * Shaped to be used directly from {@code exceptionally(...)} on a send future.
+	 *
+	 * @return Always {@code null}.
+	 */
+	public Void failTransaction(String transactionId, Throwable cause) {
+		CompletableFuture<JSONObject> future = lookup(transactionId);
+		if (future != null) {
+			fail(future, cause);
+		}
+		return null;
+	}
+	
+	/**
+	 * Stops waiting for a transaction; its future fails with a {@link CancellationException}.
+	 *
+	 * @return true if the transaction was still pending.
+	 */
+	public boolean cancelTransaction(String transactionId) {
+		CompletableFuture<JSONObject> future = lookup(transactionId);
+		return future != null && future.cancel(false);
+	}
+	
+	/**
+	 * Fails every pending transaction, e.g. when the connection they were sent on is lost and their
+	 * responses can no longer arrive.
+	 */
+	public void failAll(Throwable cause) {
+		transactions.forEachValue(future -> fail(future, cause));
+		foreignTransactions.values().forEach(future -> fail(future, cause));
+	}
+	
+	/**
+	 * @return The number of transactions waiting for a response.
+	 */
+	public int pendingCount() {
+		return transactions.size() + foreignTransactions.size();
+	}
+	
 	/**
 	 * A helper for implementing blocking calls.
 	 */
@@ -52,10 +287,88 @@ public class TransactionManager {
 		try {
 			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
 		} catch (TimeoutException e) {
-			transactions.remove(transactionId);
+			cancelTransaction(transactionId);
 			throw e;
 		} catch (Exception e) {
 			throw new JanusException("Request failed while waiting for response", e);
 		}
 	}
-}
\ No newline at end of file
+	
+	private CompletionStage<Void> succeed(CompletableFuture<JSONObject> future, JSONObject response) {
+		return complete(() -> future.complete(response));
+	}
+	
+	private CompletionStage<Void> fail(CompletableFuture<JSONObject> future, Throwable cause) {
+		return complete(() -> future.completeExceptionally(cause));
+	}
+	
+	private CompletionStage<Void> complete(Runnable completion) {
+		if (completionExecutor != null) {
+			try {
+				return CompletableFuture.runAsync(completion, completionExecutor);
+			} catch (RejectedExecutionException e) {
+				// The executor is shutting down; nothing left to protect
+			}
+		}
+		completion.run();
+		return DONE;
+	}
+	
+	private void acquireSlot() {
+		if (!inFlight.tryAcquire()) {
+			throw new TransientJanusException("Too many transactions in flight (" + pendingCount() + "), request not sent");
+		}
+	}
+	
+	/**
+	 * Parses a base-36 counter (digits and lower-case letters, as written by {@link Long#toString(long, int)}).
+	 *
+	 * @return The value, or -1 if the region is empty, is not in canonical form (leading zeros), holds another
+	 *         character or overflows a long.
+	 */
+	static long parseCounter(CharSequence text, int start, int end) {
+		if (start >= end || (text.charAt(start) == '0' && end - start > 1)) {
+			return -1;
+		}
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			int digit;
+			if (c >= '0' && c <= '9') {
+				digit = c - '0';
+			} else if (c >= 'a' && c <= 'z') {
+				digit = c - 'a' + 10;
+			} else {
+				return -1;
+			}
+			if (value > (Long.MAX_VALUE - digit) / RADIX) {
+				return -1;
+			}
+			value = value * RADIX + digit;
+		}
+		return value;
+	}
+	
+	private static boolean isAcknowledged(CompletableFuture<JSONObject> future) {
+		return future instanceof PluginTransaction plugin && plugin.acknowledged;
+	}
+	
+	private long keyOf(String transactionId) {
+		if (transactionId == null || !transactionId.startsWith(prefix)) {
+			return -1;
+		}
+		return parseCounter(transactionId, prefix.length(), transactionId.length());
+	}
+	
+	private CompletableFuture<JSONObject> lookup(String transactionId) {
+		long key = keyOf(transactionId);
+		return key >= 0 ? transactions.get(key) : foreignTransactions.get(transactionId);
+	}
+	
+	/**
+	 * A two-phase transaction: remembers the {@code ack} and waits for the final response.
+	 */
+	private static final class PluginTransaction extends CompletableFuture<JSONObject> {
+		private volatile boolean acknowledged;
+	}
+}
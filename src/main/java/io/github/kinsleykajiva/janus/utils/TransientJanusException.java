@@ -0,0 +1,17 @@
+package io.github.kinsleykajiva.janus.utils;
+
+/**
+ * A failure of the transport rather than of the request itself: the request was not sent, or its response was
+ * lost with the connection. Retrying the request may succeed.
+ */
+public class TransientJanusException extends JanusException {
+	private static final long serialVersionUID = 1L;
+	
+	public TransientJanusException(String message) {
+		super(message);
+	}
+	
+	public TransientJanusException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
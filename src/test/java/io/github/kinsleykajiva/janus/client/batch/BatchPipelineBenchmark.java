@@ -0,0 +1,49 @@
+package io.github.kinsleykajiva.janus.client.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures batch throughput against a simulated gateway that answers every request after a fixed latency, for a
+ * range of windows. Skipped unless run explicitly:
+ * <pre>
+ * mvn test -Dtest=BatchPipelineBenchmark -Dbenchmark=true
+ * </pre>
+ * The latency and batch size can be changed with {@code -Dbenchmark.latencyMs} and {@code -Dbenchmark.requests}.
+ * Only the pipeline is measured; encoding, the transport and the gateway itself are not.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BatchPipelineBenchmark {
+	private static final int[] WINDOWS = {1, 8, 32, 128};
+
+	private final long latencyMs = Long.getLong("benchmark.latencyMs", 5);
+	private final int requests   = Integer.getInteger("benchmark.requests", 1000);
+
+	@Test
+	void throughputByWindow() throws Exception {
+		List<Integer> rooms = IntStream.range(0, requests).boxed().toList();
+		Executor gateway = CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS);
+
+		// Warm up the pipeline and the delayed executor before measuring
+		BatchPipeline.run(rooms, 32, room -> CompletableFuture.supplyAsync(() -> room, gateway)).get(1, TimeUnit.MINUTES);
+
+		System.out.printf(Locale.ROOT, "%d requests, %d ms simulated latency%n", requests, latencyMs);
+		for (int window : WINDOWS) {
+			BatchResult<Integer, Integer> result = BatchPipeline.run(rooms, window,
+					room -> CompletableFuture.supplyAsync(() -> room, gateway)).get(5, TimeUnit.MINUTES);
+
+			assertEquals(requests, result.successCount());
+			System.out.printf(Locale.ROOT, "window %4d: %8.0f requests/s (%d ms)%n", window, result.requestsPerSecond(),
+					TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()));
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package io.github.kinsleykajiva.janus.client.transport;
+
+import io.github.kinsleykajiva.janus.utils.JanusCodec;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JanusTransportsTest {
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@Test
+	void picksTransportFromScheme() {
+		assertInstanceOf(WebSocketTransport.class, create("ws://localhost:8188/janus"));
+		assertInstanceOf(WebSocketTransport.class, create("wss://localhost:8989/janus"));
+		assertInstanceOf(HttpLongPollTransport.class, create("http://localhost:8088/janus"));
+		assertInstanceOf(HttpLongPollTransport.class, create("https://localhost:8089/janus"));
+	}
+
+	@Test
+	void rejectsPfunixSockets() {
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+				() -> create("unix:///var/run/janus/janus.sock"));
+
+		assertTrue(error.getMessage().contains("SOCK_SEQPACKET"), error.getMessage());
+	}
+
+	@Test
+	void rejectsUnknownSchemes() {
+		assertThrows(IllegalArgumentException.class, () -> create("ftp://localhost/janus"));
+		assertThrows(IllegalArgumentException.class, () -> create("unix+stream:///var/run/janus/relay.sock"));
+	}
+
+	private JanusTransport create(String uri) {
+		return JanusTransports.create(URI.create(uri), WebSocketTransport.JANUS_PROTOCOL, httpClient, JanusCodec.defaultCodec(),
+				HttpLongPollTransport.DEFAULT_MAX_EVENTS);
+	}
+}
@@ -0,0 +1,196 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLongObjectMapTest {
+	// A fresh stripe has 16 slots and grows once it is more than half full
+	private static final int INITIAL_CAPACITY = 16;
+
+	@Test
+	void probeRunsWrapAroundTheTable() {
+		ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>(1);
+		long[] last = keysWithHomeSlot(INITIAL_CAPACITY - 1, 3);
+		long first  = keysWithHomeSlot(0, 1)[0];
+		// Fills slots 15, 0 and 1, then pushes the entry whose home is slot 0 on to slot 2
+		for (long key : last) {
+			map.put(key, "last-" + key);
+		}
+		map.put(first, "first");
+
+		for (long key : last) {
+			assertEquals("last-" + key, map.get(key));
+		}
+		assertEquals("first", map.get(first));
+		assertEquals(4, map.size());
+	}
+
+	@Test
+	void removalShiftsWrappedEntriesBack() {
+		ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>(1);
+		long[] last = keysWithHomeSlot(INITIAL_CAPACITY - 1, 3);
+		long first  = keysWithHomeSlot(0, 1)[0];
+		for (long key : last) {
+			map.put(key, "last-" + key);
+		}
+		map.put(first, "first");
+
+		// Removing the run's head shifts every later entry back by one, across the end of the table
+		assertEquals("last-" + last[0], map.remove(last[0]));
+		assertNull(map.get(last[0]));
+		assertEquals("last-" + last[1], map.get(last[1]));
+		assertEquals("last-" + last[2], map.get(last[2]));
+		assertEquals("first", map.get(first));
+
+		// Removing from the middle of the run must not strand the entry behind it
+		assertEquals("last-" + last[2], map.remove(last[2]));
+		assertEquals("last-" + last[1], map.get(last[1]));
+		assertEquals("first", map.get(first));
+		assertEquals(2, map.size());
+
+		assertEquals("first", map.remove(first));
+		assertEquals("last-" + last[1], map.remove(last[1]));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	void removalDoesNotMoveEntriesAheadOfTheirHome() {
+		ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>(1);
+		long[] three = keysWithHomeSlot(3, 2);
+		long four    = keysWithHomeSlot(4, 1)[0];
+		long five    = keysWithHomeSlot(5, 1)[0];
+		// Slots 3, 4, 5 and 6 hold three[0], three[1], four and five
+		map.put(three[0], "a");
+		map.put(three[1], "b");
+		map.put(four, "c");
+		map.put(five, "d");
+
+		map.remove(three[0]);
+
+		assertEquals("b", map.get(three[1]));
+		assertEquals("c", map.get(four));
+		assertEquals("d", map.get(five));
+		assertNull(map.get(three[0]));
+		assertEquals(3, map.size());
+	}
+
+	@Test
+	void resizeKeepsEveryEntry() {
+		ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(1);
+		int count = 10_000;
+		for (long key = 0; key < count; key++) {
+			assertNull(map.put(key, key * 7));
+		}
+
+		assertEquals(count, map.size());
+		for (long key = 0; key < count; key++) {
+			assertEquals(Long.valueOf(key * 7), map.get(key));
+		}
+		assertNull(map.get(count));
+		AtomicInteger visited = new AtomicInteger();
+		map.forEachValue(value -> visited.incrementAndGet());
+		assertEquals(count, visited.get());
+	}
+
+	@Test
+	void matchesHashMapUnderRandomOperations() {
+		ConcurrentLongObjectMap<Integer> map = new ConcurrentLongObjectMap<>(2);
+		Map<Long, Integer> reference = new HashMap<>();
+		Random random = new Random(42);
+		for (int op = 0; op < 200_000; op++) {
+			// A small key space keeps probe runs long and deletions frequent; negative keys included
+			long key = random.nextInt(300) - 150;
+			Integer value = random.nextInt(1_000);
+			switch (random.nextInt(5)) {
+				case 0, 1 -> assertEquals(reference.put(key, value), map.put(key, value));
+				case 2 -> assertEquals(reference.putIfAbsent(key, value), map.putIfAbsent(key, value));
+				case 3 -> assertEquals(reference.remove(key), map.remove(key));
+				default -> assertEquals(reference.get(key), map.get(key));
+			}
+			if (op % 10_000 == 0) {
+				assertEquals(reference.size(), map.size());
+				for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+					assertEquals(entry.getValue(), map.get(entry.getKey()));
+				}
+			}
+		}
+		assertEquals(reference.size(), map.size());
+	}
+
+	@Test
+	void conditionalOperations() {
+		ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+		String value = new String("value");
+
+		assertNull(map.putIfAbsent(Long.MIN_VALUE, value));
+		assertSame(value, map.putIfAbsent(Long.MIN_VALUE, "other"));
+		assertFalse(map.remove(Long.MIN_VALUE, new String("value")), "removal compares by identity");
+		assertTrue(map.remove(Long.MIN_VALUE, value));
+		assertTrue(map.isEmpty());
+		assertThrows(NullPointerException.class, () -> map.put(1, null));
+		assertThrows(NullPointerException.class, () -> map.putIfAbsent(1, null));
+	}
+
+	@Test
+	void concurrentWritersOnDisjointKeys() throws Exception {
+		ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(4);
+		int threads = 8;
+		int perThread = 20_000;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long base = (long) t * perThread;
+			workers.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (long key = base; key < base + perThread; key++) {
+					map.put(key, key);
+				}
+				// Remove every other key again, shifting entries while other threads insert
+				for (long key = base; key < base + perThread; key += 2) {
+					map.remove(key);
+				}
+			}));
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		assertEquals(threads * perThread / 2, map.size());
+		for (long key = 0; key < (long) threads * perThread; key++) {
+			assertEquals(key % 2 == 0 ? null : key, map.get(key));
+		}
+	}
+
+	/**
+	 * Finds keys whose home slot in a fresh stripe is {@code slot}, using the map's own hash.
+	 */
+	private static long[] keysWithHomeSlot(int slot, int count) {
+		long[] keys = new long[count];
+		int found = 0;
+		for (long key = 0; found < count; key++) {
+			if (((int) (ConcurrentLongObjectMap.mix(key) >>> 32) & (INITIAL_CAPACITY - 1)) == slot) {
+				keys[found++] = key;
+			}
+		}
+		return keys;
+	}
+}
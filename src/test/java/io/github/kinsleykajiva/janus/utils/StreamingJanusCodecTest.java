@@ -0,0 +1,184 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingJanusCodecTest {
+	private final StreamingJanusCodec codec = StreamingJanusCodec.INSTANCE;
+
+	@Test
+	void decodesPluginEvent() {
+		JSONObject event = codec.decode("""
+				{"janus": "event", "session_id": 1234567890123, "sender": 42, "transaction": "ab12c",
+				 "plugindata": {"plugin": "janus.plugin.videoroom",
+				                "data": {"videoroom": "joined", "room": 1234, "publishers": [
+				                    {"id": 7, "display": "alice", "streams": [{"mid": "0", "type": "audio"}]}]}},
+				 "jsep": {"type": "answer", "sdp": "v=0\\r\\n"}}
+				""");
+
+		assertEquals("event", event.getString("janus"));
+		assertEquals(1234567890123L, event.getLong("session_id"));
+		JSONObject data = event.getJSONObject("plugindata").getJSONObject("data");
+		assertEquals(1234, data.getInt("room"));
+		JSONObject publisher = data.getJSONArray("publishers").getJSONObject(0);
+		assertEquals("alice", publisher.getString("display"));
+		assertEquals("audio", publisher.getJSONArray("streams").getJSONObject(0).getString("type"));
+		assertEquals("v=0\r\n", event.getJSONObject("jsep").getString("sdp"));
+	}
+
+	@Test
+	void decodesEscapes() {
+		JSONObject decoded = codec.decode("{\"s\": \"q\\\" b\\\\ s\\/ \\b\\f\\n\\r\\t \\u0041\\u00e9\"}");
+
+		assertEquals("q\" b\\ s/ \b\f\n\r\t Aé", decoded.getString("s"));
+	}
+
+	@Test
+	void decodesSurrogatePairs() {
+		JSONObject decoded = codec.decode("{\"escaped\": \"\\ud83d\\ude00\", \"raw\": \"\uD83D\uDE00\"}");
+
+		assertEquals("\uD83D\uDE00", decoded.getString("escaped"));
+		assertEquals(1, decoded.getString("escaped").codePointCount(0, 2));
+		assertEquals("\uD83D\uDE00", decoded.getString("raw"));
+	}
+
+	@Test
+	void decodesEscapedCommonKey() {
+		JSONObject decoded = codec.decode("{\"ja\\u006eus\": \"ack\"}");
+
+		assertEquals("ack", decoded.getString("janus"));
+	}
+
+	@Test
+	void decodesNumbers() {
+		JSONObject decoded = codec.decode("""
+				{"zero": 0, "negative": -1, "maxInt": 2147483647, "aboveInt": 2147483648, "minInt": -2147483648,
+				 "maxLong": 9223372036854775807, "aboveLong": 9223372036854775808, "fraction": 1.5,
+				 "exponent": -2.5e3, "huge": 1e400}
+				""");
+
+		assertEquals(0, decoded.get("zero"));
+		assertEquals(-1, decoded.get("negative"));
+		assertEquals(Integer.MAX_VALUE, decoded.get("maxInt"));
+		assertEquals(2147483648L, decoded.get("aboveInt"));
+		assertEquals(Integer.MIN_VALUE, decoded.get("minInt"));
+		assertEquals(Long.MAX_VALUE, decoded.get("maxLong"));
+		assertEquals(new BigInteger("9223372036854775808"), decoded.get("aboveLong"));
+		assertEquals(1.5, decoded.getDouble("fraction"));
+		assertEquals(-2500.0, decoded.getDouble("exponent"));
+		assertInstanceOf(BigDecimal.class, decoded.get("huge"));
+	}
+
+	@Test
+	void decodesLiterals() {
+		JSONObject decoded = codec.decode("{\"yes\":true,\"no\":false,\"nothing\":null,\"empty\":{},\"none\":[]}");
+
+		assertEquals(Boolean.TRUE, decoded.get("yes"));
+		assertEquals(Boolean.FALSE, decoded.get("no"));
+		assertTrue(decoded.isNull("nothing"));
+		assertTrue(decoded.getJSONObject("empty").isEmpty());
+		assertTrue(decoded.getJSONArray("none").isEmpty());
+	}
+
+	@Test
+	void decodesDeepNesting() {
+		int depth = 200;
+		String text = "{\"a\":".repeat(depth) + "[[1]]" + "}".repeat(depth);
+
+		JSONObject node = codec.decode("{\"root\":" + text + "}").getJSONObject("root");
+		for (int i = 1; i < depth; i++) {
+			node = node.getJSONObject("a");
+		}
+		assertEquals(1, node.getJSONArray("a").getJSONArray(0).getInt(0));
+	}
+
+	@Test
+	void decodesCharBufferSlice() {
+		CharBuffer frame = CharBuffer.wrap("xx{\"janus\":\"ack\"}yy").subSequence(2, 17);
+
+		assertEquals("ack", codec.decode(frame).getString("janus"));
+	}
+
+	@Test
+	void rejectsMalformedInput() {
+		List<String> malformed = List.of(
+				"",
+				"   ",
+				"[]",
+				"{",
+				"{\"a\"}",
+				"{\"a\":}",
+				"{\"a\":1,}",
+				"{\"a\":[1,]}",
+				"{a:1}",
+				"{\"a\":1} trailing",
+				"{\"a\":tru}",
+				"{\"a\":nul}",
+				"{\"a\":\"unterminated}",
+				"{\"a\":\"bad \\q escape\"}",
+				"{\"a\":\"\\u12\"}",
+				"{\"a\":\"\\u12G4\"}",
+				"{\"a\":-}",
+				"{\"a\":1e}",
+				"{\"a\":1.2.3}",
+				"{\"a\":+1}");
+
+		for (String text : malformed) {
+			assertThrows(JSONException.class, () -> codec.decode(text), text);
+		}
+	}
+
+	@Test
+	void encodesEscapesAndControlCharacters() {
+		JSONObject message = new JSONObject().put("s", "q\" b\\ \n\r\t\b\f \u0001 \u2028\u2029 é \uD83D\uDE00");
+
+		assertEquals("{\"s\":\"q\\\" b\\\\ \\n\\r\\t\\b\\f \\u0001 \\u2028\\u2029 é \uD83D\uDE00\"}", codec.encode(message));
+	}
+
+	@Test
+	void encodesValuesLikeOrgJson() {
+		JSONObject message = new JSONObject()
+				                     .put("janus", "message")
+				                     .put("session_id", 1234567890123L)
+				                     .put("handle_id", 42)
+				                     .put("ratio", 0.25)
+				                     .put("big", new BigInteger("123456789012345678901234567890"))
+				                     .put("flag", true)
+				                     .put("nothing", JSONObject.NULL)
+				                     .put("body", new JSONObject().put("request", "join").put("room", 1234)
+						                                  .put("list", new JSONArray().put(1).put("two").put(new JSONObject())))
+				                     .put("map", java.util.Map.of("k", "v"))
+				                     .put("collection", List.of(1, 2, 3));
+
+		String encoded = codec.encode(message);
+
+		assertTrue(new JSONObject(encoded).similar(new JSONObject(message.toString())), encoded);
+		assertTrue(codec.decode(encoded).similar(OrgJsonCodec.INSTANCE.decode(message.toString())), encoded);
+	}
+
+	@Test
+	void roundTripsStrings() {
+		StringBuilder every = new StringBuilder();
+		for (char c = 0; c < 0x3000; c++) {
+			if (!Character.isSurrogate(c)) {
+				every.append(c);
+			}
+		}
+		JSONObject message = new JSONObject().put("s", every.toString());
+
+		assertEquals(every.toString(), codec.decode(codec.encode(message)).getString("s"));
+		assertEquals(every.toString(), new JSONObject(codec.encode(message)).getString("s"));
+	}
+}
@@ -0,0 +1,125 @@
+package io.github.kinsleykajiva.janus.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares creating, registering and matching transaction ids the way {@link TransactionManager} does (prefixed
+ * base-36 counter, primitive-keyed {@link ConcurrentLongObjectMap}) with the previous scheme (dashless random UUID,
+ * String-keyed {@link ConcurrentHashMap}). Skipped unless run explicitly:
+ * <pre>
+ * mvn test -Dtest=TransactionIdBenchmark -Dbenchmark=true
+ * </pre>
+ * Each thread keeps {@code benchmark.outstanding} transactions in flight (default 1000): it creates and registers an
+ * id, then matches and removes the one registered that many operations earlier. {@code benchmark.operations} sets
+ * the operations per thread (default 2,000,000). Decoding the frame the id arrives in is not measured for either.
+ * This is a plain timing loop rather than JMH, so compare the rows with each other, not with other machines.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionIdBenchmark {
+	private static final int[] THREADS = {1, 8};
+	private static final int ROUNDS    = 5;
+
+	private final int outstanding = Integer.getInteger("benchmark.outstanding", 1000);
+	private final int operations  = Integer.getInteger("benchmark.operations", 2_000_000);
+
+	@Test
+	void counterIdsAgainstUuids() throws Exception {
+		System.out.printf(Locale.ROOT, "%d operations per thread, %d outstanding%n", operations, outstanding);
+		for (int threads : THREADS) {
+			// Alternating the two, and keeping the best round, evens out warm-up and noise
+			double counter = 0;
+			double uuid    = 0;
+			for (int round = 0; round < ROUNDS; round++) {
+				counter = Math.max(counter, run(threads, (manager, longTable, stringTable) -> counterIds(manager, longTable)));
+				uuid    = Math.max(uuid, run(threads, (manager, longTable, stringTable) -> uuidIds(stringTable)));
+			}
+			System.out.printf(Locale.ROOT, "%d thread(s): counter + long map %,12.0f ops/s, UUID + String map %,12.0f ops/s (%.1fx)%n",
+					threads, counter, uuid, counter / uuid);
+		}
+	}
+
+	private long counterIds(TransactionManager manager, ConcurrentLongObjectMap<Object> table) {
+		String prefix = manager.getPrefix();
+		String[] pending = new String[outstanding];
+		Object value = new Object();
+		long matched = 0;
+		for (int i = 0; i < operations; i++) {
+			int slot = i % outstanding;
+			String answered = pending[slot];
+			if (answered != null) {
+				long key = TransactionManager.parseCounter(answered, prefix.length(), answered.length());
+				if (table.get(key) != null && table.remove(key, value)) {
+					matched++;
+				}
+			}
+			String id = manager.createTransaction();
+			table.put(TransactionManager.parseCounter(id, prefix.length(), id.length()), value);
+			pending[slot] = id;
+		}
+		return matched;
+	}
+
+	private long uuidIds(ConcurrentHashMap<String, Object> table) {
+		String[] pending = new String[outstanding];
+		Object value = new Object();
+		long matched = 0;
+		for (int i = 0; i < operations; i++) {
+			int slot = i % outstanding;
+			String answered = pending[slot];
+			if (answered != null && table.get(answered) != null && table.remove(answered, value)) {
+				matched++;
+			}
+			String id = UUID.randomUUID().toString().replace("-", "");
+			table.put(id, value);
+			pending[slot] = id;
+		}
+		return matched;
+	}
+
+	/**
+	 * Runs one variant on every thread against one shared manager and table.
+	 *
+	 * @return The operations per second over all threads.
+	 */
+	private double run(int threads, Variant variant) throws InterruptedException {
+		TransactionManager manager = new TransactionManager();
+		ConcurrentLongObjectMap<Object> longTable = new ConcurrentLongObjectMap<>();
+		ConcurrentHashMap<String, Object> stringTable = new ConcurrentHashMap<>();
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		AtomicLong matched = new AtomicLong();
+		for (int t = 0; t < threads; t++) {
+			Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+					matched.addAndGet(variant.run(manager, longTable, stringTable));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		long startNanos = System.nanoTime();
+		start.countDown();
+		done.await();
+		long elapsedNanos = System.nanoTime() - startNanos;
+
+		assertEquals((long) threads * (operations - outstanding), matched.get());
+		return (double) threads * operations * 1_000_000_000.0 / elapsedNanos;
+	}
+
+	@FunctionalInterface
+	private interface Variant {
+		long run(TransactionManager manager, ConcurrentLongObjectMap<Object> longTable, ConcurrentHashMap<String, Object> stringTable);
+	}
+}